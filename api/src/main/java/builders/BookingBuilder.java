@@ -2,14 +2,16 @@ package builders;
 
 import io.qameta.allure.Step;
 import java.io.IOException;
-import java.time.LocalDate;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
 import models.booking.Booking;
-import models.booking.BookingDates;
-import net.datafaker.Faker;
 import static org.apache.commons.lang3.RandomStringUtils.randomNumeric;
+import static properties.PrivateProperties.BOOKING_SEED;
 import static utils.JsonMessageTestUtils.jsonMessage;
 
+@Slf4j
 public class BookingBuilder {
+    private static final BookingGenerator RANDOM_BOOKINGS = createRandomBookings();
 
     @Step("Creating default Booking")
     public static Booking createDefaultBooking(String randomIdentifier) {
@@ -43,22 +45,21 @@ public class BookingBuilder {
         );
     }
 
+    /**
+     * Returns the next Booking of the generator shared by all tests, seeded by bookingSeed property
+     * or randomly, e.g. for a parameter annotated with {@link RandomBooking}
+     */
     public static Booking createRandomBooking() {
-        Faker faker = new Faker();
-        LocalDate checkIn = LocalDate.now().minusDays(faker.random().nextLong(0, 365));
+        return RANDOM_BOOKINGS.next();
+    }
+
+    public static BookingGenerator getRandomBookings() {
+        return RANDOM_BOOKINGS;
+    }
 
-        return Booking.builder()
-                .firstname(faker.name().firstName())
-                .lastname(faker.name().lastName())
-                .totalprice(faker.random().nextInt(50, 5000))
-                .depositpaid(faker.random().nextBoolean())
-                .bookingdates(
-                        new BookingDates(
-                                checkIn.toString(),
-                                checkIn.plusDays(faker.random().nextLong(1, 30)).toString()
-                        )
-                )
-                .additionalneeds(faker.food().dish())
-                .build();
+    private static BookingGenerator createRandomBookings() {
+        long seed = BOOKING_SEED.isEmpty() ? new Random().nextLong() : Long.parseLong(BOOKING_SEED);
+        log.info("Generating random Bookings with seed {}, pass -DbookingSeed={} to repeat them", seed, seed);
+        return new BookingGenerator(seed);
     }
 }
@@ -0,0 +1,101 @@
+package builders;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import models.booking.Booking;
+import models.booking.BookingDates;
+import net.datafaker.Faker;
+
+/**
+ * A generator of random Bookings reusing one Faker per thread, as creating a Faker loads its locale
+ * and costs more than generating a Booking with it. Booking number {@code index} is a function of the seed
+ * and the index only, as the Faker random is reseeded from both before each Booking, so bulk generation
+ * gives the same Bookings sequentially or in parallel and in every run with the same seed and date
+ */
+
+public final class BookingGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final LocalDate today;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadLocal<SeededFaker> fakers = ThreadLocal.withInitial(SeededFaker::new);
+
+    public BookingGenerator(long seed) {
+        this(seed, LocalDate.now());
+    }
+
+    /**
+     * Creates a generator of check-in dates within a year before the date
+     */
+    public BookingGenerator(long seed, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the Booking of the index
+     */
+    public Booking booking(long index) {
+        SeededFaker seeded = fakers.get();
+        seeded.random.setSeed(mix(seed + index * GOLDEN_GAMMA));
+        Faker faker = seeded.faker;
+        LocalDate checkIn = today.minusDays(faker.random().nextLong(0, 365));
+
+        return Booking.builder()
+                .firstname(faker.name().firstName())
+                .lastname(faker.name().lastName())
+                .totalprice(faker.random().nextInt(50, 5000))
+                .depositpaid(faker.random().nextBoolean())
+                .bookingdates(
+                        new BookingDates(
+                                checkIn.toString(),
+                                checkIn.plusDays(faker.random().nextLong(1, 30)).toString()
+                        )
+                )
+                .additionalneeds(faker.food().dish())
+                .build();
+    }
+
+    /**
+     * Returns the Booking of the next index, shared by all threads
+     */
+    public Booking next() {
+        return booking(sequence.getAndIncrement());
+    }
+
+    /**
+     * Returns a stream of Bookings of the index range, which may be made parallel
+     */
+    public Stream<Booking> bookings(long fromIndex, long count) {
+        return LongStream.range(fromIndex, fromIndex + count).mapToObj(this::booking);
+    }
+
+    /**
+     * Returns Bookings of the index range generated in parallel
+     */
+    public Booking[] batch(long fromIndex, int count) {
+        return bookings(fromIndex, count).parallel().toArray(Booking[]::new);
+    }
+
+    /**
+     * Scrambles close seeds into unrelated ones, as {@link Random} gives similar first values for them
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ mixed >>> 27) * 0x94D049BB133111EBL;
+        return mixed ^ mixed >>> 31;
+    }
+
+    private static final class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
+    }
+}
@@ -0,0 +1,191 @@
+package load;
+
+import static builders.BookingBuilder.createRandomBooking;
+import static builders.BookingBuilder.getRandomBookings;
+import builders.BookingGenerator;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import static utils.JsonMessageTestUtils.toJson;
+
+/**
+ * Serialized random Bookings generated to a file before a load test and memory-mapped for its samplers,
+ * so sending a Booking costs no Faker generation and Jackson serialization on the load generator.
+ * A run reusing the file sends the same Bookings as the previous one, and the file is only reused by runs
+ * with the same count and seed of the {@link BookingGenerator}, e.g. the same bookingSeed property.
+ *
+ * <p>The file holds a format marker, the payload count, the generator seed, the offsets of every payload
+ * and one past the last, and the UTF-8 JSON of the payloads one after another. A payload is decoded
+ * from the shared mapping once, on its first use, and the same String is returned by later samples.
+ * {@link #slice(int)} returns its bytes as a view of the mapping without copying them</p>
+ */
+
+@Slf4j
+public final class BookingPayloads {
+    private static final int MAGIC = 0x424B5031;
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final ByteBuffer mapped;
+    private final int count;
+    private final long seed;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicReferenceArray<String> decoded;
+
+    private BookingPayloads(ByteBuffer mapped) {
+        this.mapped = mapped;
+        this.count = mapped.getInt(Integer.BYTES);
+        this.seed = mapped.getLong(Integer.BYTES + Integer.BYTES);
+        this.decoded = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * Returns Bookings pre-generated to a file of the directory reused by later runs,
+     * or random ones generated while sending when the count is 0
+     */
+    public static Supplier<String> supplier(Path directory, int count) {
+        return count == 0 ? () -> toJson(createRandomBooking()) :
+                load(directory.resolve("bookings-" + count + ".bin"), count)::next;
+    }
+
+    /**
+     * Maps the file of Bookings of the generator shared by all tests, see {@link #load(Path, int, BookingGenerator)}
+     */
+    public static BookingPayloads load(Path file, int count) {
+        return load(file, count, getRandomBookings());
+    }
+
+    /**
+     * Maps the file when it holds the expected number of payloads of the generator seed,
+     * otherwise generates it first
+     */
+    public static BookingPayloads load(Path file, int count, BookingGenerator generator) {
+        return isGenerated(file, count, generator.getSeed()) ? open(file) : generate(file, count, generator);
+    }
+
+    /**
+     * Generates the file with the number of random Bookings of the generator, replacing an existing one,
+     * and maps it
+     */
+    public static BookingPayloads generate(Path file, int count, BookingGenerator generator) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count of Booking payloads must be positive: " + count);
+        }
+        long start = System.nanoTime();
+        byte[][] payloads = generator.bookings(0, count).parallel()
+                .map(booking -> toJson(booking).getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+                output.writeInt(MAGIC);
+                output.writeInt(count);
+                output.writeLong(generator.getSeed());
+                int offset = HEADER_BYTES + (count + 1) * Integer.BYTES;
+                for (byte[] payload : payloads) {
+                    output.writeInt(offset);
+                    offset += payload.length;
+                }
+                output.writeInt(offset);
+                for (byte[] payload : payloads) {
+                    output.write(payload);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate Booking payloads to " + file, e);
+        }
+        log.info("Generated {} Booking payloads with seed {} to {} in {} ms", count, generator.getSeed(), file,
+                (System.nanoTime() - start) / 1_000_000);
+        return open(file);
+    }
+
+    /**
+     * Maps a file generated before. The mapping outlives the file channel and is released by garbage collection
+     */
+    public static BookingPayloads open(Path file) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a file of Booking payloads: " + file);
+            }
+            return new BookingPayloads(mapped);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map Booking payloads from " + file, e);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the payloads one by one in file order, starting over after the last one
+     */
+    public String next() {
+        return get(Math.floorMod(sequence.getAndIncrement(), count));
+    }
+
+    public String random() {
+        return get(ThreadLocalRandom.current().nextInt(count));
+    }
+
+    /**
+     * Returns the payload of the index, decoding it on its first use only
+     */
+    public String get(int index) {
+        String payload = decoded.get(Objects.checkIndex(index, count));
+        if (payload == null) {
+            payload = StandardCharsets.UTF_8.decode(slice(index)).toString();
+            decoded.lazySet(index, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * Returns the UTF-8 bytes of the payload of the index as a read-only view of the mapping
+     */
+    public ByteBuffer slice(int index) {
+        int offset = offset(Objects.checkIndex(index, count));
+        return mapped.slice(offset, offset(index + 1) - offset).asReadOnlyBuffer();
+    }
+
+    /**
+     * Checks the header of an existing file only, so a file of another format is regenerated rather than mapped
+     */
+    private static boolean isGenerated(Path file, int count, long seed) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            return input.readInt() == MAGIC && input.readInt() == count && input.readLong() == seed;
+        } catch (IOException e) {
+            log.warn("Failed to read Booking payloads header of {}, regenerating it: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private int offset(int index) {
+        return mapped.getInt(HEADER_BYTES + index * Integer.BYTES);
+    }
+}
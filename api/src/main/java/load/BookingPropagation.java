@@ -0,0 +1,87 @@
+package load;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.qameta.allure.Allure;
+import java.io.Closeable;
+import java.time.Duration;
+import mock.MockServer;
+import mock.PropagationLatency;
+import mock.StubSet;
+import org.junit.jupiter.api.Assertions;
+import us.abstracta.jmeter.javadsl.core.samplers.BaseSampler.SamplerChild;
+
+/**
+ * Measures how long Bookings created by a {@link BookingScenario} take to reach a downstream MockServer endpoint,
+ * which the system under test calls asynchronously with the id of the Booking in the bookingid field of the body.
+ * The system under test must be configured to call {@link #getUrl()}. Without an endpoint nothing is measured
+ */
+
+public class BookingPropagation implements Closeable {
+    private final String endpoint;
+    private final MockServer downstream;
+    private final PropagationLatency latency;
+    private int lost;
+
+    private BookingPropagation(String endpoint, MockServer downstream) {
+        this.endpoint = endpoint;
+        this.downstream = downstream;
+        this.latency = downstream == null ? null :
+                PropagationLatency.listening(endpoint, downstream, PropagationLatency.jsonField("bookingid"));
+    }
+
+    /**
+     * Starts MockServer serving the endpoint, or measures nothing when the endpoint is empty
+     */
+    public static BookingPropagation start(String endpoint) {
+        if (endpoint.isEmpty()) {
+            return new BookingPropagation(endpoint, null);
+        }
+        MockServer downstream = new MockServer();
+        downstream.importStubs(new StubSet().add(WireMock.post(endpoint).willReturn(WireMock.ok())));
+        return new BookingPropagation(endpoint, downstream);
+    }
+
+    public String getUrl() {
+        return downstream == null ? null : downstream.getPublicUrl() + endpoint;
+    }
+
+    /**
+     * Returns children of the Create Booking sampler stamping the created Booking with the start time of the sample
+     */
+    public SamplerChild[] stampOnCreate() {
+        return latency == null ? new SamplerChild[0] :
+                new SamplerChild[] {latency.stampOnSample(BookingScenario.BOOKING_ID)};
+    }
+
+    /**
+     * Waits until all created Bookings have reached the endpoint, or the timeout expires
+     */
+    public BookingPropagation await(Duration timeout) {
+        lost = latency == null ? 0 : latency.awaitArrivals(timeout);
+        return this;
+    }
+
+    /**
+     * Attaches latency percentiles and the number of Bookings which have not reached the endpoint
+     */
+    public BookingPropagation attach() {
+        if (latency != null) {
+            Allure.addAttachment("Propagation latency", "text/plain", String.format(
+                    "Endpoint: %s%nArrived: %d%nLost: %d%np50: %d ms%np95: %d ms%np99: %d ms%n", getUrl(),
+                    latency.getLatencies().getTotalCount(), lost, latency.getPercentileMillis(50),
+                    latency.getPercentileMillis(95), latency.getPercentileMillis(99)), "txt");
+        }
+        return this;
+    }
+
+    public void assertArrived() {
+        Assertions.assertEquals(0, lost, lost + " created Bookings have not reached " + getUrl());
+    }
+
+    @Override
+    public void close() {
+        if (downstream != null) {
+            downstream.close();
+        }
+    }
+}
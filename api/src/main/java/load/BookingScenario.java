@@ -0,0 +1,176 @@
+package load;
+
+import static builders.BookingBuilder.createRandomBooking;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import models.booking.Booking;
+import org.apache.http.entity.ContentType;
+import org.apache.jmeter.protocol.http.util.HTTPConstants;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.forLoopController;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonAssertion;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonExtractor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PostProcessor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.responseAssertion;
+import us.abstracta.jmeter.javadsl.core.samplers.BaseSampler.SamplerChild;
+import us.abstracta.jmeter.javadsl.core.threadgroups.BaseThreadGroup;
+import us.abstracta.jmeter.javadsl.http.DslHttpSampler;
+import static utils.JsonMessageTestUtils.toJson;
+
+/**
+ * An enum representing Restful-Booker user journeys as JMeter samplers, applicable to any {@link LoadProfile}.
+ * Every iteration creates its own Booking and deletes it at the end, so iterations are independent.
+ * Samplers are labelled as the requests of the Postman collection, e.g. "Create Booking"
+ */
+
+public enum BookingScenario {
+    /**
+     * Creates a Booking, gets it and deletes it
+     */
+    CREATE_READ_DELETE,
+    /**
+     * Creates a Booking, gets it {@value #READS_PER_ITERATION} times, searches for it by name and deletes it
+     */
+    READ_HEAVY,
+    /**
+     * Creates a Booking, updates it fully and partially {@value #UPDATES_PER_ITERATION} times each,
+     * gets it and deletes it
+     */
+    UPDATE_HEAVY;
+
+    public static final String CREATE_BOOKING = "Create Booking";
+    public static final String GET_BOOKING = "Get Booking by id";
+    public static final String GET_BOOKING_IDS = "Get Booking Ids";
+    public static final String UPDATE_BOOKING = "Update Booking";
+    public static final String PARTIAL_UPDATE_BOOKING = "Partial Update Booking";
+    public static final String DELETE_BOOKING = "Delete Booking";
+
+    /**
+     * The JMeter variable holding the id of the Booking created by the iteration
+     */
+    public static final String BOOKING_ID = "bookingidVariable";
+
+    private static final int READS_PER_ITERATION = 8;
+    private static final int UPDATES_PER_ITERATION = 3;
+    private static final String FIRSTNAME = "firstnameVariable";
+    /**
+     * Restful-Booker returns a plain id, while {@link models.booking.BookingSuccessResponse} wraps it into an object
+     */
+    private static final String BOOKING_ID_QUERY = "bookingid.bookingid || bookingid";
+
+    /**
+     * Returns the samplers of one iteration against the Restful-Booker URL,
+     * authorized by the Authorization header value for updates and deletes.
+     * Every created and updated Booking is generated randomly while sending
+     */
+    public BaseThreadGroup.ThreadGroupChild[] samplers(String bookerUrl, String authorization) {
+        return samplers(bookerUrl, authorization, () -> toJson(createRandomBooking()));
+    }
+
+    /**
+     * Returns the samplers of one iteration sending Booking JSON of the supplier,
+     * e.g. {@link BookingPayloads#next()}, to create and update Bookings
+     */
+    public BaseThreadGroup.ThreadGroupChild[] samplers(String bookerUrl, String authorization,
+                                                       Supplier<String> bookings) {
+        return samplers(bookerUrl, authorization, bookings, new SamplerChild[0]);
+    }
+
+    /**
+     * Returns the samplers of one iteration with the children added to the Create Booking sampler after
+     * the {@value #BOOKING_ID} variable is extracted, e.g. {@link mock.PropagationLatency#stampOnSample(String)}
+     * to measure how long the creation takes to reach a downstream mock
+     */
+    public BaseThreadGroup.ThreadGroupChild[] samplers(String bookerUrl, String authorization,
+                                                       Supplier<String> bookings, SamplerChild... createChildren) {
+        String bookingUrl = bookerUrl + "/booking/${" + BOOKING_ID + "}";
+        return switch (this) {
+            case CREATE_READ_DELETE -> new BaseThreadGroup.ThreadGroupChild[] {
+                    createBooking(bookerUrl, authorization, bookings, createChildren),
+                    getBooking(bookingUrl, authorization),
+                    deleteBooking(bookingUrl, authorization)};
+            case READ_HEAVY -> new BaseThreadGroup.ThreadGroupChild[] {
+                    createBooking(bookerUrl, authorization, bookings, createChildren),
+                    forLoopController(READS_PER_ITERATION, getBooking(bookingUrl, authorization)),
+                    getBookingIds(bookerUrl, authorization),
+                    deleteBooking(bookingUrl, authorization)};
+            case UPDATE_HEAVY -> new BaseThreadGroup.ThreadGroupChild[] {
+                    createBooking(bookerUrl, authorization, bookings, createChildren),
+                    forLoopController(UPDATES_PER_ITERATION,
+                            updateBooking(bookingUrl, authorization, bookings),
+                            partialUpdateBooking(bookingUrl, authorization)),
+                    getBooking(bookingUrl, authorization),
+                    deleteBooking(bookingUrl, authorization)};
+        };
+    }
+
+    /**
+     * Returns labels of the samplers of the scenario, in the order they are sent
+     */
+    public List<String> getLabels() {
+        return switch (this) {
+            case CREATE_READ_DELETE -> List.of(CREATE_BOOKING, GET_BOOKING, DELETE_BOOKING);
+            case READ_HEAVY -> List.of(CREATE_BOOKING, GET_BOOKING, GET_BOOKING_IDS, DELETE_BOOKING);
+            case UPDATE_HEAVY -> List.of(CREATE_BOOKING, UPDATE_BOOKING, PARTIAL_UPDATE_BOOKING, GET_BOOKING,
+                    DELETE_BOOKING);
+        };
+    }
+
+    private static DslHttpSampler createBooking(String bookerUrl, String authorization, Supplier<String> bookings,
+                                                SamplerChild... children) {
+        return sampler(CREATE_BOOKING, bookerUrl + "/booking", authorization)
+                .post(s -> bookings.get(), ContentType.APPLICATION_JSON)
+                .children(
+                        jsonExtractor(BOOKING_ID, BOOKING_ID_QUERY),
+                        jsonExtractor(FIRSTNAME, "booking.firstname"),
+                        jsonAssertion("booking")
+                )
+                .children(children);
+    }
+
+    private static DslHttpSampler getBooking(String bookingUrl, String authorization) {
+        return sampler(GET_BOOKING, bookingUrl, authorization)
+                .method(HTTPConstants.GET)
+                .children(jsonAssertion("firstname"));
+    }
+
+    private static DslHttpSampler getBookingIds(String bookerUrl, String authorization) {
+        String searchUrl = bookerUrl + "/booking?firstname=${__urlencode(${" + FIRSTNAME + "})}";
+        return sampler(GET_BOOKING_IDS, searchUrl, authorization)
+                .method(HTTPConstants.GET)
+                .children(responseAssertion().containsSubstrings("\"bookingid\":${" + BOOKING_ID + "}"));
+    }
+
+    private static DslHttpSampler updateBooking(String bookingUrl, String authorization, Supplier<String> bookings) {
+        return sampler(UPDATE_BOOKING, bookingUrl, authorization)
+                .method(HTTPConstants.PUT)
+                .body(s -> bookings.get())
+                .children(jsonAssertion("firstname"));
+    }
+
+    private static DslHttpSampler partialUpdateBooking(String bookingUrl, String authorization) {
+        return sampler(PARTIAL_UPDATE_BOOKING, bookingUrl, authorization)
+                .method(HTTPConstants.PATCH)
+                .body(s -> {
+                    Booking booking = createRandomBooking();
+                    return toJson(Map.of("firstname", booking.getFirstname(), "lastname", booking.getLastname()));
+                })
+                .children(jsonAssertion("firstname"));
+    }
+
+    private static DslHttpSampler deleteBooking(String bookingUrl, String authorization) {
+        return sampler(DELETE_BOOKING, bookingUrl, authorization)
+                .method(HTTPConstants.DELETE)
+                .children(jsr223PostProcessor(s -> s.prev.setSuccessful("201".equals(s.prev.getResponseCode()))));
+    }
+
+    private static DslHttpSampler sampler(String label, String url, String authorization) {
+        return httpSampler(label, url)
+                .header("Accept", "application/json")
+                .header("Authorization", authorization)
+                .contentType(ContentType.APPLICATION_JSON)
+                .encoding(StandardCharsets.UTF_8);
+    }
+}
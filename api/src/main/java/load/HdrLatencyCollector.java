@@ -0,0 +1,258 @@
+package load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.apache.jmeter.reporters.ResultCollector;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.threads.JMeterVariables;
+
+/**
+ * A JMeter listener of {@link HdrLatencyListener} recording every sample into HdrHistograms per label.
+ * JMeter shares one instance between all threads, as it does with any {@link ResultCollector},
+ * so samples are recorded through thread-safe {@link Recorder}s and their interval histograms are
+ * taken and logged by a single logging thread. Samples of every thread are gathered into its current iteration,
+ * which is corrected for coordinated omission once a sample of the next iteration of the thread arrives
+ * or the test ends
+ */
+
+@Slf4j
+class HdrLatencyCollector extends ResultCollector {
+    static final String HLOG_FILE = "latency.hlog";
+    static final String CORRECTED_SUFFIX = ".hgrm";
+    static final String RAW_SUFFIX = ".raw.hgrm";
+
+    private static final long serialVersionUID = 1L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final transient Path directory;
+    private final transient ToDoubleFunction<Duration> expectedRate;
+    private final long logIntervalMillis;
+    private final transient Map<String, LabelLatency> latencies = new ConcurrentHashMap<>();
+    private final transient Map<String, Iteration> iterations = new ConcurrentHashMap<>();
+    private transient ScheduledExecutorService logger;
+    private transient HistogramLogWriter hlog;
+    private transient PrintStream hlogStream;
+    private long startMillis;
+
+    HdrLatencyCollector(Path directory, ToDoubleFunction<Duration> expectedRate, long logIntervalMillis) {
+        this.directory = directory;
+        this.expectedRate = expectedRate;
+        this.logIntervalMillis = logIntervalMillis;
+    }
+
+    /**
+     * Returns latencies of every label and of all samples under {@link Slo#OVERALL}, sorted by label
+     */
+    Map<String, LabelLatency> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    @Override
+    public void testStarted(String host) {
+        startMillis = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+            hlogStream = new PrintStream(directory.resolve(HLOG_FILE).toFile(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create HdrHistogram log in " + directory, e);
+        }
+        hlog = new HistogramLogWriter(hlogStream);
+        hlog.outputLogFormatVersion();
+        hlog.outputComment("Sample time in ms of every label tagged, corrected for coordinated omission " +
+                "at the scheduled rate of iterations");
+        hlog.setBaseTime(startMillis);
+        hlog.outputStartTime(startMillis);
+        hlog.outputBaseTime(startMillis);
+        hlog.outputLegend();
+        logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hdr-latency-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.scheduleAtFixedRate(this::logInterval, logIntervalMillis, logIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the sample as it is and adds it to the current iteration of its thread, correcting
+     * the previous iteration of the thread when the sample starts a new one. Listeners are notified
+     * on the thread of the sampler, so its variables tell the iteration
+     */
+    @Override
+    public void sampleOccurred(SampleEvent event) {
+        SampleResult sample = event.getResult();
+        long micros = sample.getTime() * (long) MICROS_PER_MILLI;
+        latencies.computeIfAbsent(sample.getSampleLabel(), LabelLatency::new).add(micros);
+        latencies.computeIfAbsent(Slo.OVERALL, LabelLatency::new).add(micros);
+
+        JMeterVariables variables = JMeterContextService.getContext().getVariables();
+        int number = variables == null ? -1 : variables.getIteration();
+        Iteration iteration = iterations.get(sample.getThreadName());
+        if (iteration == null || iteration.number != number || number < 0) {
+            if (iteration != null) {
+                correct(iteration);
+            }
+            iteration = new Iteration(number, sample.getStartTime());
+            iterations.put(sample.getThreadName(), iteration);
+        }
+        iteration.add(sample);
+    }
+
+    @Override
+    public void testEnded(String host) {
+        iterations.values().forEach(this::correct);
+        iterations.clear();
+        logger.shutdownNow();
+        try {
+            logger.awaitTermination(logIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logInterval();
+        hlogStream.close();
+        for (LabelLatency latency : getLatencies().values()) {
+            writeDistribution(latency.getCorrected(), latency.getLabel() + CORRECTED_SUFFIX);
+            writeDistribution(latency.getRaw(), latency.getLabel() + RAW_SUFFIX);
+        }
+        log.info("Sample time percentiles written to {}", directory.toAbsolutePath());
+    }
+
+    static String fileName(String label) {
+        return label.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Adds sample times of the iterations the thread would have started at the expected interval while
+     * the iteration was running: like HdrHistogram, an iteration taking {@code t} adds {@code t - interval},
+     * {@code t - 2 * interval} and so on down to the interval to the corrected histogram of every label
+     * sampled in the iteration, once per sample
+     */
+    private void correct(Iteration iteration) {
+        double rate = expectedRate.applyAsDouble(Duration.ofMillis(iteration.startMillis - startMillis));
+        if (rate <= 0) {
+            return;
+        }
+        long expectedMicros = (long) (Math.max(iteration.groupThreads, 1) * MICROS_PER_SECOND / rate);
+        long micros = (iteration.endMillis - iteration.startMillis) * (long) MICROS_PER_MILLI;
+        for (long missing = micros - expectedMicros; missing >= expectedMicros; missing -= expectedMicros) {
+            for (String label : iteration.labels) {
+                latencies.get(label).addHeldBack(missing);
+                latencies.get(Slo.OVERALL).addHeldBack(missing);
+            }
+        }
+    }
+
+    private synchronized void logInterval() {
+        for (LabelLatency latency : getLatencies().values()) {
+            Histogram interval = latency.takeInterval();
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(latency.getLabel().replace(',', '_').replace(' ', '_'));
+                hlog.outputIntervalHistogram((interval.getStartTimeStamp() - startMillis) / MILLIS_PER_SECOND,
+                        (interval.getEndTimeStamp() - startMillis) / MILLIS_PER_SECOND, interval, MICROS_PER_MILLI);
+            }
+        }
+        hlogStream.flush();
+    }
+
+    private void writeDistribution(Histogram histogram, String file) {
+        try (PrintStream output = new PrintStream(directory.resolve(fileName(file)).toFile(),
+                StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(output, MICROS_PER_MILLI);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write percentile distribution to " + directory, e);
+        }
+    }
+
+    /**
+     * Sample times of one label in microseconds as sampled and corrected for coordinated omission,
+     * accumulated over the whole test from interval histograms
+     */
+    static final class LabelLatency {
+        private final String label;
+        private final Recorder rawRecorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder correctedRecorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram raw = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram corrected = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram rawInterval;
+        private Histogram correctedInterval;
+
+        private LabelLatency(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        synchronized Histogram getRaw() {
+            return raw.copy();
+        }
+
+        synchronized Histogram getCorrected() {
+            return corrected.copy();
+        }
+
+        private void add(long micros) {
+            rawRecorder.recordValue(micros);
+            correctedRecorder.recordValue(micros);
+        }
+
+        private void addHeldBack(long micros) {
+            correctedRecorder.recordValue(micros);
+        }
+
+        /**
+         * Returns corrected sample times since the previous call, adding them and raw ones to the totals
+         */
+        private synchronized Histogram takeInterval() {
+            rawInterval = rawRecorder.getIntervalHistogram(rawInterval);
+            correctedInterval = correctedRecorder.getIntervalHistogram(correctedInterval);
+            raw.add(rawInterval);
+            corrected.add(correctedInterval);
+            return correctedInterval;
+        }
+    }
+
+    /**
+     * Samples of one iteration of a thread, from the start of its first sample to the end of its last one
+     */
+    private static final class Iteration {
+        private final int number;
+        private final long startMillis;
+        private final List<String> labels = new ArrayList<>();
+        private long endMillis;
+        private int groupThreads;
+
+        private Iteration(int number, long startMillis) {
+            this.number = number;
+            this.startMillis = startMillis;
+        }
+
+        private void add(SampleResult sample) {
+            labels.add(sample.getSampleLabel());
+            endMillis = Math.max(endMillis, sample.getEndTime());
+            groupThreads = sample.getGroupThreads();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package load;
+
+import io.qameta.allure.Allure;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import org.HdrHistogram.Histogram;
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.visualizers.SimpleDataWriter;
+import us.abstracta.jmeter.javadsl.core.listeners.BaseListener;
+
+/**
+ * A test plan listener recording every sample time into HdrHistograms per sampler label, for honest tails
+ * where {@code TestPlanStats} percentiles are computed from raw samples. Under an rps thread group,
+ * an iteration slower than the interval its thread is expected to start iterations at, i.e. active threads
+ * of the group divided by the rate scheduled when the iteration started, see {@link #expectedRate(ToDoubleFunction)},
+ * has held back the iterations that thread would have started meanwhile. So, once per iteration, corrected
+ * histograms of every label of the iteration also get the times those would have waited, as HdrHistogram does
+ * for coordinated omission. Without an expected rate, as under a closed thread group, nothing is corrected.
+ *
+ * <p>The run writes {@value HdrLatencyCollector#HLOG_FILE} with interval histograms tagged by label, and
+ * corrected and raw percentile distributions of every label to {@code <label>.hgrm} and {@code <label>.raw.hgrm},
+ * all in milliseconds. All samples are under {@link Slo#OVERALL} label</p>
+ */
+
+public class HdrLatencyListener extends BaseListener {
+    private static final Duration DEFAULT_LOG_INTERVAL = Duration.ofSeconds(1);
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private final Path directory;
+    private ToDoubleFunction<Duration> expectedRate = elapsed -> 0;
+    private Duration logInterval = DEFAULT_LOG_INTERVAL;
+    private HdrLatencyCollector collector;
+
+    public HdrLatencyListener(Path directory) {
+        super("HdrHistogram Latency Listener", SimpleDataWriter.class);
+        this.directory = directory;
+    }
+
+    public static HdrLatencyListener hdrLatencyListener(String directory) {
+        return new HdrLatencyListener(Path.of(directory));
+    }
+
+    /**
+     * Sets the constant rate of iterations the thread group is scheduled at
+     */
+    public HdrLatencyListener expectedRate(double iterationsPerSecond) {
+        return expectedRate(elapsed -> iterationsPerSecond);
+    }
+
+    /**
+     * Sets the rate of iterations the thread group is scheduled at the time elapsed since the test started,
+     * e.g. {@link LoadProfile#getScheduledRps(Duration)}
+     */
+    public HdrLatencyListener expectedRate(ToDoubleFunction<Duration> iterationsPerSecond) {
+        this.expectedRate = iterationsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets how often interval histograms are logged, every second by default
+     */
+    public HdrLatencyListener logInterval(Duration interval) {
+        this.logInterval = interval;
+        return this;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path getHlogFile() {
+        return directory.resolve(HdrLatencyCollector.HLOG_FILE);
+    }
+
+    public Path getDistributionFile(String label) {
+        return directory.resolve(HdrLatencyCollector.fileName(label + HdrLatencyCollector.CORRECTED_SUFFIX));
+    }
+
+    /**
+     * Returns labels recorded by the last run, {@link Slo#OVERALL} included
+     */
+    public List<String> getLabels() {
+        return List.copyOf(latencies().keySet());
+    }
+
+    /**
+     * Returns sample times of the label in microseconds corrected for coordinated omission, or null for
+     * a label without samples
+     */
+    public Histogram getHistogram(String label) {
+        HdrLatencyCollector.LabelLatency latency = latencies().get(label);
+        return latency == null ? null : latency.getCorrected();
+    }
+
+    /**
+     * Returns sample times of the label in microseconds as sampled, or null for a label without samples
+     */
+    public Histogram getRawHistogram(String label) {
+        HdrLatencyCollector.LabelLatency latency = latencies().get(label);
+        return latency == null ? null : latency.getRaw();
+    }
+
+    /**
+     * Returns a table of raw and corrected sample counts and percentiles of every label in milliseconds
+     */
+    public String format() {
+        int labelWidth = latencies().keySet().stream().mapToInt(String::length).max().orElse(0) + 2;
+        StringBuilder table = new StringBuilder(String.format("%-" + labelWidth + "s%-11s%10s%10s%10s%10s%10s%n",
+                "ms", "", "count", "p50", "p99", "p99.9", "max"));
+        latencies().forEach((label, latency) -> {
+            appendRow(table, labelWidth, label, "raw", latency.getRaw());
+            appendRow(table, labelWidth, "", "corrected", latency.getCorrected());
+        });
+        return table.toString();
+    }
+
+    /**
+     * Attaches the table of percentiles of the last run to the Allure report
+     */
+    public HdrLatencyListener attach() {
+        Allure.addAttachment("HdrHistogram latency", "text/plain", format(), "txt");
+        return this;
+    }
+
+    @Override
+    protected TestElement buildTestElement() {
+        collector = new HdrLatencyCollector(directory, expectedRate, logInterval.toMillis());
+        return collector;
+    }
+
+    private Map<String, HdrLatencyCollector.LabelLatency> latencies() {
+        if (collector == null) {
+            throw new IllegalStateException("HdrHistogram latency listener has not been run in a test plan");
+        }
+        return collector.getLatencies();
+    }
+
+    private static void appendRow(StringBuilder table, int labelWidth, String label, String kind,
+                                  Histogram histogram) {
+        table.append(String.format("%-" + labelWidth + "s%-11s%10d", label, kind, histogram.getTotalCount()));
+        for (double percentile : PERCENTILES) {
+            table.append(String.format("%10.1f", histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        table.append(String.format("%10.1f%n", histogram.getMaxValue() / 1000.0));
+    }
+}
@@ -0,0 +1,167 @@
+package load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import us.abstracta.jmeter.javadsl.JmeterDsl;
+import us.abstracta.jmeter.javadsl.core.threadgroups.BaseThreadGroup;
+import us.abstracta.jmeter.javadsl.core.threadgroups.RpsThreadGroup;
+import utils.PropertiesManagerUtil;
+
+/**
+ * An enum representing named load shapes of JMeter thread groups, applicable to any {@link BookingScenario}.
+ * Threads, rates and durations are read per environment from {@code loadProfile.<name>.<setting>} properties,
+ * e.g. {@code loadProfile.stress.peakRps}, falling back to the defaults below. Rates count scenario iterations
+ */
+
+public enum LoadProfile {
+    /**
+     * A thread or a few iterating for a short while, to check the scenario works at all
+     */
+    SMOKE(1, 1, 1, 0, 10),
+    /**
+     * Ramps up to the expected rate and holds it
+     */
+    LOAD(50, 5, 5, 10, 60),
+    /**
+     * Ramps up to the expected rate, then climbs in three equal steps held for a while each up to the peak rate
+     */
+    STRESS(200, 5, 20, 10, 30),
+    /**
+     * Holds the expected rate for a long time, to reveal leaks and degradation
+     */
+    SOAK(50, 5, 5, 60, 3600),
+    /**
+     * Holds the expected rate, jumps to the peak rate at once for a short while and drops back to recover
+     */
+    SPIKE(200, 5, 30, 10, 30);
+
+    private static final int STRESS_STEPS = 3;
+    private static final Duration SPIKE_RAMP = Duration.ofSeconds(1);
+    private static final double INITIAL_RPS = 1;
+
+    private final int maxThreads;
+    private final double rps;
+    private final double peakRps;
+    private final Duration ramp;
+    private final Duration hold;
+
+    LoadProfile(int maxThreads, double rps, double peakRps, int rampSeconds, int holdSeconds) {
+        this.maxThreads = Integer.parseInt(setting("maxThreads", String.valueOf(maxThreads)));
+        this.rps = Double.parseDouble(setting("rps", String.valueOf(rps)));
+        this.peakRps = Double.parseDouble(setting("peakRps", String.valueOf(peakRps)));
+        this.ramp = Duration.ofSeconds(Long.parseLong(setting("rampSeconds", String.valueOf(rampSeconds))));
+        this.hold = Duration.ofSeconds(Long.parseLong(setting("holdSeconds", String.valueOf(holdSeconds))));
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public double getRps() {
+        return rps;
+    }
+
+    /**
+     * Returns the rate iterations are scheduled at the time elapsed since the start of the thread group,
+     * ramping linearly between the rates of its schedule, or 0 for a closed thread group sending them back to back
+     */
+    public double getScheduledRps(Duration elapsed) {
+        List<RateStep> steps = schedule();
+        double scheduled = steps.isEmpty() ? 0 : INITIAL_RPS;
+        long remaining = elapsed.toMillis();
+        for (int i = 0; i < steps.size() && remaining >= 0; i++) {
+            RateStep step = steps.get(i);
+            long rampMillis = step.ramp.toMillis();
+            if (remaining < rampMillis) {
+                return scheduled + (step.rps - scheduled) * remaining / rampMillis;
+            }
+            scheduled = step.rps;
+            remaining -= rampMillis + step.hold.toMillis();
+        }
+        return scheduled;
+    }
+
+    public double getPeakRps() {
+        return peakRps;
+    }
+
+    public Duration getRamp() {
+        return ramp;
+    }
+
+    public Duration getHold() {
+        return hold;
+    }
+
+    /**
+     * Returns a thread group of this shape running the children, e.g. the samplers of a {@link BookingScenario}
+     */
+    public BaseThreadGroup<?> threadGroup(BaseThreadGroup.ThreadGroupChild... children) {
+        return switch (this) {
+            case SMOKE -> JmeterDsl.threadGroup(maxThreads, hold, children);
+            case LOAD, SOAK, STRESS, SPIKE -> rpsThreadGroup(children);
+        };
+    }
+
+    /**
+     * Describes the shape for reports, e.g. "LOAD: 5.0 rps after 10 s ramp for 60 s, up to 50 threads"
+     */
+    public String describe() {
+        return switch (this) {
+            case SMOKE -> String.format("%s: %d threads for %d s", this, maxThreads, hold.toSeconds());
+            case LOAD, SOAK -> String.format("%s: %.1f rps after %d s ramp for %d s, up to %d threads",
+                    this, rps, ramp.toSeconds(), hold.toSeconds(), maxThreads);
+            case STRESS, SPIKE -> String.format("%s: %.1f rps, peak %.1f rps, %d s ramp, %d s holds, up to %d threads",
+                    this, rps, peakRps, ramp.toSeconds(), hold.toSeconds(), maxThreads);
+        };
+    }
+
+    /**
+     * Returns a thread group scheduling scenario iterations at the rates of the schedule
+     */
+    private RpsThreadGroup rpsThreadGroup(BaseThreadGroup.ThreadGroupChild... children) {
+        RpsThreadGroup group = JmeterDsl.rpsThreadGroup()
+                .counting(RpsThreadGroup.EventType.ITERATIONS)
+                .maxThreads(maxThreads);
+        for (RateStep step : schedule()) {
+            group.rampToAndHold(step.rps, step.ramp, step.hold);
+        }
+        return group.children(children);
+    }
+
+    /**
+     * Returns the steps of the shape, each ramping from the rate of the previous one to its rate and holding it.
+     * A closed thread group has no steps
+     */
+    private List<RateStep> schedule() {
+        List<RateStep> steps = new ArrayList<>();
+        if (this != SMOKE) {
+            steps.add(new RateStep(rps, ramp, hold));
+        }
+        if (this == STRESS) {
+            double step = (peakRps - rps) / STRESS_STEPS;
+            for (int i = 1; i <= STRESS_STEPS; i++) {
+                steps.add(new RateStep(rps + step * i, ramp, hold));
+            }
+        } else if (this == SPIKE) {
+            steps.add(new RateStep(peakRps, SPIKE_RAMP, hold));
+            steps.add(new RateStep(rps, SPIKE_RAMP, hold));
+        }
+        return steps;
+    }
+
+    private String setting(String name, String defaultValue) {
+        String property = "loadProfile." + name().toLowerCase(Locale.getDefault()) + "." + name;
+        return PropertiesManagerUtil.getProperty(property, defaultValue);
+    }
+
+    @RequiredArgsConstructor
+    private static final class RateStep {
+        private final double rps;
+        private final Duration ramp;
+        private final Duration hold;
+    }
+}
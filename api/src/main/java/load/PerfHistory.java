@@ -0,0 +1,108 @@
+package load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+/**
+ * An append-only local store of {@link PerfRun} summaries, a JSON line per run in the order of runs,
+ * so later runs can be compared with earlier ones. Only runs which have passed their checks should be appended,
+ * as every appended run becomes a part of the baseline. Lines are never rewritten, and a line that fails to parse,
+ * e.g. cut off by a killed run, is skipped
+ */
+
+@Slf4j
+public class PerfHistory {
+    private final Path file;
+
+    public PerfHistory(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Compares the run with up to the number of latest runs of the same test in the same environment
+     * by the default {@link PerfRegressionCheck}, without appending it
+     */
+    public PerfRegressionReport compare(PerfRun run, int baselineRuns) {
+        return new PerfRegressionCheck().compare(run, baseline(run, baselineRuns));
+    }
+
+    /**
+     * Compares the run as {@link #compare(PerfRun, int)} does, attaches and verifies the report, and then runs
+     * the other checks of the run. The run is appended only when all of them have passed and it has not regressed,
+     * so a failed run never becomes a part of the baseline of later ones
+     */
+    public PerfRegressionReport compareAndAppend(PerfRun run, int baselineRuns, boolean failOnRegression,
+                                                 Runnable checks) {
+        PerfRegressionReport report = compare(run, baselineRuns).attach();
+        boolean regressed = report.verify(failOnRegression);
+        checks.run();
+        if (!regressed) {
+            append(run);
+        }
+        return report;
+    }
+
+    public synchronized void append(PerfRun run) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Files.writeString(file, objectMapper.writeValueAsString(run) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append performance run to " + file, e);
+        }
+    }
+
+    /**
+     * Returns all runs, oldest first
+     */
+    public synchronized List<PerfRun> read() {
+        List<PerfRun> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                parse(line, runs);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read performance history from " + file, e);
+        }
+        return runs;
+    }
+
+    /**
+     * Returns up to the number of latest runs of the same test in the same environment, oldest first
+     */
+    public List<PerfRun> baseline(PerfRun run, int size) {
+        List<PerfRun> runs = read().stream()
+                .filter(previous -> previous.getTest().equals(run.getTest()))
+                .filter(previous -> previous.getEnvironment().equals(run.getEnvironment()))
+                .collect(Collectors.toList());
+        return runs.subList(Math.max(0, runs.size() - size), runs.size());
+    }
+
+    private void parse(String line, List<PerfRun> runs) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            runs.add(objectMapper.readValue(line, PerfRun.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable performance run in {}: {}", file, e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A comparison of one metric of one label of a run with the same metric in the baseline runs,
+ * with the p-value of the run being this much worse by chance. Without enough baseline runs
+ * the p-value is NaN and the metric is not judged
+ */
+
+@Getter
+@AllArgsConstructor
+public class PerfRegression {
+    private final String label;
+    private final SloMetric metric;
+    private final int baselineRuns;
+    private final double baselineMean;
+    private final double baselineDeviation;
+    private final double value;
+    private final double change;
+    private final double pValue;
+    private final boolean regressed;
+
+    public boolean isCompared() {
+        return !Double.isNaN(pValue);
+    }
+
+    /**
+     * Returns e.g. "Get Booking by id p95 1250 ms, 31% worse than 955 ms ± 40 ms of 10 runs, p=0.0001"
+     */
+    public String describe() {
+        return String.format("%s %s %s, %.0f%% worse than %s ± %s of %d runs, p=%.4f", label, metric.getTitle(),
+                metric.format(value), change * 100, metric.format(baselineMean), metric.format(baselineDeviation),
+                baselineRuns, pValue);
+    }
+}
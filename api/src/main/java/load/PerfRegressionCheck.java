@@ -0,0 +1,83 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+/**
+ * Detects regressions of a run against a rolling baseline of previous runs with a significance test
+ * instead of fixed thresholds. A metric regressed when a value this much worse than the baseline mean
+ * would be seen by chance with probability below {@code alpha}, by the one-sided Student's t prediction
+ * interval of the next run, and it is at least {@code minChange} worse relative to the mean. Changes of less
+ * than a millisecond or a sample per second are below JMeter stats resolution and never regressions
+ */
+
+public class PerfRegressionCheck {
+    public static final List<SloMetric> METRICS = List.of(SloMetric.P50, SloMetric.P95, SloMetric.P99,
+            SloMetric.THROUGHPUT);
+
+    private static final double RESOLUTION = 1;
+
+    private final double alpha;
+    private final double minChange;
+    private final int minRuns;
+
+    /**
+     * Creates a check at 1% significance of a 10% change against at least 5 baseline runs
+     */
+    public PerfRegressionCheck() {
+        this(0.01, 0.1, 5);
+    }
+
+    public PerfRegressionCheck(double alpha, double minChange, int minRuns) {
+        this.alpha = alpha;
+        this.minChange = minChange;
+        this.minRuns = Math.max(minRuns, 2);
+    }
+
+    /**
+     * Compares every metric of every label of the run with the baseline runs
+     */
+    public PerfRegressionReport compare(PerfRun run, List<PerfRun> baseline) {
+        List<PerfRegression> comparisons = new ArrayList<>();
+        for (Map.Entry<String, Map<SloMetric, Double>> label : run.getLabels().entrySet()) {
+            for (SloMetric metric : METRICS) {
+                Double value = label.getValue().get(metric);
+                if (value != null) {
+                    comparisons.add(compare(label.getKey(), metric, value, baseline));
+                }
+            }
+        }
+        return new PerfRegressionReport(run, baseline, comparisons);
+    }
+
+    private PerfRegression compare(String label, SloMetric metric, double value, List<PerfRun> baseline) {
+        SummaryStatistics statistics = new SummaryStatistics();
+        baseline.stream()
+                .map(previous -> previous.getValue(label, metric))
+                .filter(Objects::nonNull)
+                .filter(previous -> !previous.isNaN())
+                .forEach(statistics::addValue);
+        int runs = (int) statistics.getN();
+        double mean = statistics.getMean();
+        double deviation = statistics.getStandardDeviation();
+        double worse = metric.isMinimum() ? mean - value : value - mean;
+        double change = mean == 0 ? 0 : worse / Math.abs(mean);
+        if (runs < minRuns) {
+            return new PerfRegression(label, metric, runs, mean, deviation, value, change, Double.NaN, false);
+        }
+
+        double pValue;
+        if (deviation == 0) {
+            pValue = worse > 0 ? 0 : 1;
+        } else {
+            double t = worse / (deviation * Math.sqrt(1 + 1.0 / runs));
+            pValue = 1 - new TDistribution(runs - 1).cumulativeProbability(t);
+        }
+        boolean regressed = pValue < alpha && worse >= RESOLUTION && (mean == 0 || change >= minChange);
+        return new PerfRegression(label, metric, runs, mean, deviation, value, change, pValue, regressed);
+    }
+}
@@ -0,0 +1,95 @@
+package load;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Comparisons of all metrics of a run with its baseline by {@link PerfRegressionCheck}
+ */
+
+@Slf4j
+public class PerfRegressionReport {
+    private final PerfRun run;
+    private final List<PerfRun> baseline;
+    private final List<PerfRegression> comparisons;
+
+    PerfRegressionReport(PerfRun run, List<PerfRun> baseline, List<PerfRegression> comparisons) {
+        this.run = run;
+        this.baseline = List.copyOf(baseline);
+        this.comparisons = List.copyOf(comparisons);
+    }
+
+    public List<PerfRegression> getComparisons() {
+        return comparisons;
+    }
+
+    public List<PerfRegression> getRegressions() {
+        return comparisons.stream().filter(PerfRegression::isRegressed).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a table of all comparisons, a row per label and metric
+     */
+    public String format() {
+        int labelWidth = comparisons.stream().mapToInt(row -> row.getLabel().length()).max().orElse(0) + 2;
+        String row = "%-" + labelWidth + "s%-12s%22s%14s%9s%9s  %s%n";
+        StringBuilder table = new StringBuilder(String.format("Run %s of %s in %s against %d previous runs%n",
+                run.getRevision(), run.getTest(), run.getEnvironment(), baseline.size()));
+        table.append(String.format(row, "Label", "Metric", "Baseline", "Actual", "Change", "p", "Result"));
+        for (PerfRegression comparison : comparisons) {
+            SloMetric metric = comparison.getMetric();
+            table.append(String.format(row, comparison.getLabel(), metric.getTitle(),
+                    comparison.getBaselineRuns() == 0 ? "-" : metric.format(comparison.getBaselineMean()) + " ± " +
+                            metric.format(comparison.getBaselineDeviation()),
+                    metric.format(comparison.getValue()),
+                    String.format("%+.0f%%", comparison.getChange() * 100),
+                    comparison.isCompared() ? String.format("%.4f", comparison.getPValue()) : "-",
+                    result(comparison)));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Attaches the table and trend charts of baseline runs and this one to the current Allure test or step
+     */
+    public PerfRegressionReport attach() {
+        Allure.addAttachment("Performance regressions", "text/plain", format(), "txt");
+        List<PerfRun> runs = new ArrayList<>(baseline);
+        runs.add(run);
+        for (SloMetric metric : List.of(SloMetric.P95, SloMetric.THROUGHPUT)) {
+            Allure.addAttachment("Performance trend of " + metric.getTitle(), "image/svg+xml",
+                    PerfTrendChart.svg(runs, metric), "svg");
+        }
+        return this;
+    }
+
+    /**
+     * Fails naming every regressed metric, or only warns about them in the log and a broken Allure step.
+     * Returns whether any metric has regressed
+     */
+    public boolean verify(boolean fail) {
+        List<PerfRegression> regressions = getRegressions();
+        if (regressions.isEmpty()) {
+            return false;
+        }
+        String message = String.format("%d performance regressions: %s", regressions.size(),
+                regressions.stream().map(PerfRegression::describe).collect(Collectors.joining("; ")));
+        if (fail) {
+            throw new AssertionError(message);
+        }
+        log.warn(message);
+        Allure.step(message, Status.BROKEN);
+        return true;
+    }
+
+    private static String result(PerfRegression comparison) {
+        if (!comparison.isCompared()) {
+            return "NO BASELINE";
+        }
+        return comparison.isRegressed() ? "REGRESSED" : "OK";
+    }
+}
@@ -0,0 +1,83 @@
+package load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+import utils.PropertiesManagerUtil;
+
+/**
+ * A summary of one test plan run kept in {@link PerfHistory}: every {@link SloMetric} of every sampler label
+ * and of all samples under {@link Slo#OVERALL}, with the test environment and the git revision under test
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerfRun {
+    private static final String UNKNOWN_REVISION = "unknown";
+
+    private String test;
+    private String environment;
+    private String revision;
+    private String startedAt;
+    private Map<String, Map<SloMetric, Double>> labels;
+
+    /**
+     * Summarizes the run of the test, e.g. named by its scenario and load profile, in the current environment
+     */
+    public static PerfRun of(String test, TestPlanStats stats) {
+        Map<String, Map<SloMetric, Double>> labels = new LinkedHashMap<>();
+        labels.put(Slo.OVERALL, summarize(stats.overall()));
+        for (String label : stats.labels()) {
+            labels.put(label, summarize(stats.byLabel(label)));
+        }
+        Instant startedAt = stats.overall().firstTime();
+        return new PerfRun(test, PropertiesManagerUtil.getEnvironment(), gitRevision(),
+                (startedAt == null ? Instant.now() : startedAt).toString(), labels);
+    }
+
+    public Double getValue(String label, SloMetric metric) {
+        Map<SloMetric, Double> values = labels.get(label);
+        return values == null ? null : values.get(metric);
+    }
+
+    private static Map<SloMetric, Double> summarize(StatsSummary stats) {
+        Map<SloMetric, Double> values = new EnumMap<>(SloMetric.class);
+        for (SloMetric metric : SloMetric.values()) {
+            values.put(metric, metric.valueOf(stats));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the commit checked out in the working directory, or "unknown" outside a git repository
+     */
+    private static String gitRevision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            try (InputStream output = process.getInputStream()) {
+                String revision = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0 ? revision : UNKNOWN_REVISION;
+            }
+        } catch (IOException e) {
+            return UNKNOWN_REVISION;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UNKNOWN_REVISION;
+        }
+    }
+}
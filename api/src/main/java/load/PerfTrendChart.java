@@ -0,0 +1,81 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Draws a metric of every label over runs as an SVG line chart, a line per label, the last run on the right
+ */
+
+public final class PerfTrendChart {
+    private static final int WIDTH = 760;
+    private static final int HEIGHT = 340;
+    private static final int LEFT = 70;
+    private static final int RIGHT = 200;
+    private static final int TOP = 30;
+    private static final int BOTTOM = 30;
+    private static final List<String> COLORS = List.of("#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd",
+            "#8c564b", "#e377c2", "#7f7f7f");
+
+    private PerfTrendChart() {
+    }
+
+    public static String svg(List<PerfRun> runs, SloMetric metric) {
+        List<String> labels = new ArrayList<>();
+        double max = 0;
+        for (PerfRun run : runs) {
+            for (String label : run.getLabels().keySet()) {
+                if (!labels.contains(label)) {
+                    labels.add(label);
+                }
+                double value = value(run, label, metric);
+                max = Double.isNaN(value) ? max : Math.max(max, value);
+            }
+        }
+        double scale = max == 0 ? 0 : (HEIGHT - TOP - BOTTOM) / max;
+        double step = runs.size() < 2 ? 0 : (WIDTH - LEFT - RIGHT) / (double) (runs.size() - 1);
+
+        StringBuilder svg = new StringBuilder(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" " +
+                        "font-size=\"12\">%n<text x=\"%d\" y=\"18\">%s over %d runs, %s to %s</text>%n" +
+                        "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#999\"/>%n" +
+                        "<text x=\"4\" y=\"%d\">%s</text>%n<text x=\"4\" y=\"%d\">%s</text>%n",
+                WIDTH, HEIGHT, LEFT, metric.getTitle(), runs.size(), first(runs), last(runs),
+                LEFT, HEIGHT - BOTTOM, WIDTH - RIGHT, HEIGHT - BOTTOM,
+                TOP + 4, escape(metric.format(max)), HEIGHT - BOTTOM, escape(metric.format(0))));
+        for (int i = 0; i < labels.size(); i++) {
+            String color = COLORS.get(i % COLORS.size());
+            StringBuilder points = new StringBuilder();
+            for (int run = 0; run < runs.size(); run++) {
+                double value = value(runs.get(run), labels.get(i), metric);
+                if (!Double.isNaN(value)) {
+                    points.append(String.format(Locale.ROOT, "%.1f,%.1f ",
+                            LEFT + run * step, HEIGHT - BOTTOM - value * scale));
+                }
+            }
+            svg.append(String.format(Locale.ROOT, "<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"2\" " +
+                            "points=\"%s\"/>%n<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n",
+                    color, points.toString().trim(), WIDTH - RIGHT + 10, TOP + 16 * (i + 1), color,
+                    escape(labels.get(i))));
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    private static double value(PerfRun run, String label, SloMetric metric) {
+        Double value = run.getValue(label, metric);
+        return value == null ? Double.NaN : value;
+    }
+
+    private static String first(List<PerfRun> runs) {
+        return runs.isEmpty() ? "" : escape(runs.get(0).getRevision());
+    }
+
+    private static String last(List<PerfRun> runs) {
+        return runs.isEmpty() ? "" : escape(runs.get(runs.size() - 1).getRevision());
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
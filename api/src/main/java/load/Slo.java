@@ -0,0 +1,123 @@
+package load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+/**
+ * A fluent specification of service level objectives per sampler label, evaluated against
+ * {@link TestPlanStats#byLabel(String)}, so a slow request is not hidden behind fast ones in overall stats.
+ * Objectives apply to the labels chosen last, e.g.
+ * {@code Slo.spec().overall().maxErrorRate(0).label("Get Booking by id").p99(Duration.ofSeconds(1))}.
+ * A label without samples breaches all its objectives
+ */
+
+public final class Slo {
+    /**
+     * The label of all samples of the test plan, as JMeter names it in aggregate reports
+     */
+    public static final String OVERALL = "TOTAL";
+
+    private final Map<String, Map<SloMetric, Double>> objectives = new LinkedHashMap<>();
+    private List<String> current = List.of();
+
+    private Slo() {
+    }
+
+    public static Slo spec() {
+        return new Slo();
+    }
+
+    /**
+     * Chooses the label of all samples for the following objectives
+     */
+    public Slo overall() {
+        return label(OVERALL);
+    }
+
+    /**
+     * Chooses the label for the following objectives
+     */
+    public Slo label(String label) {
+        return labels(List.of(label));
+    }
+
+    /**
+     * Chooses the labels for the following objectives, each of them to be met by every label separately
+     */
+    public Slo labels(Collection<String> labels) {
+        current = List.copyOf(labels);
+        for (String label : current) {
+            objectives.computeIfAbsent(label, key -> new EnumMap<>(SloMetric.class));
+        }
+        return this;
+    }
+
+    public Slo p50(Duration max) {
+        return objective(SloMetric.P50, max.toMillis());
+    }
+
+    public Slo p90(Duration max) {
+        return objective(SloMetric.P90, max.toMillis());
+    }
+
+    public Slo p95(Duration max) {
+        return objective(SloMetric.P95, max.toMillis());
+    }
+
+    public Slo p99(Duration max) {
+        return objective(SloMetric.P99, max.toMillis());
+    }
+
+    public Slo max(Duration max) {
+        return objective(SloMetric.MAX, max.toMillis());
+    }
+
+    /**
+     * Sets the greatest acceptable fraction of failed samples, e.g. 0.01 for 1%
+     */
+    public Slo maxErrorRate(double rate) {
+        return objective(SloMetric.ERROR_RATE, rate);
+    }
+
+    /**
+     * Sets the least acceptable samples per second over the test plan duration
+     */
+    public Slo minThroughput(double perSecond) {
+        return objective(SloMetric.THROUGHPUT, perSecond);
+    }
+
+    /**
+     * Sets an objective of the chosen labels, replacing one of the same metric
+     */
+    public Slo objective(SloMetric metric, double value) {
+        if (current.isEmpty()) {
+            throw new IllegalStateException("Choose a label before setting " + metric.getTitle() + " objective");
+        }
+        for (String label : current) {
+            objectives.get(label).put(metric, value);
+        }
+        return this;
+    }
+
+    /**
+     * Evaluates every objective in the order labels were first chosen
+     */
+    public SloReport evaluate(TestPlanStats stats) {
+        List<SloResult> results = new ArrayList<>();
+        objectives.forEach((label, metrics) -> {
+            StatsSummary summary = OVERALL.equals(label) ? stats.overall() : stats.byLabel(label);
+            metrics.forEach((metric, objective) -> results.add(summary == null || summary.samplesCount() == 0 ?
+                    new SloResult(label, metric, objective, Double.NaN, false) :
+                    new SloResult(label, metric, objective, metric.valueOf(summary),
+                            metric.isMet(metric.valueOf(summary), objective))));
+        });
+        return new SloReport(results);
+    }
+}
@@ -0,0 +1,58 @@
+package load;
+
+import java.util.function.ToDoubleFunction;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+/**
+ * An enum representing metrics of a sampler label an {@link Slo} can put an objective on.
+ * Sample time percentiles are in milliseconds, error rate is a fraction of samples,
+ * and throughput is samples per second
+ */
+
+public enum SloMetric {
+    P50("p50", false, stats -> stats.sampleTime().median().toMillis()),
+    P90("p90", false, stats -> stats.sampleTime().perc90().toMillis()),
+    P95("p95", false, stats -> stats.sampleTime().perc95().toMillis()),
+    P99("p99", false, stats -> stats.sampleTime().perc99().toMillis()),
+    MAX("max", false, stats -> stats.sampleTime().max().toMillis()),
+    ERROR_RATE("error rate", false, stats -> stats.samplesCount() == 0 ?
+            0 : stats.errorsCount() / (double) stats.samplesCount()),
+    THROUGHPUT("throughput", true, stats -> stats.samples().perSecond());
+
+    private final String title;
+    private final boolean minimum;
+    private final ToDoubleFunction<StatsSummary> value;
+
+    SloMetric(String title, boolean minimum, ToDoubleFunction<StatsSummary> value) {
+        this.title = title;
+        this.minimum = minimum;
+        this.value = value;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns whether the objective is the least acceptable value rather than the greatest
+     */
+    public boolean isMinimum() {
+        return minimum;
+    }
+
+    public double valueOf(StatsSummary stats) {
+        return value.applyAsDouble(stats);
+    }
+
+    public boolean isMet(double actual, double objective) {
+        return minimum ? actual >= objective : actual <= objective;
+    }
+
+    public String format(double value) {
+        return switch (this) {
+            case ERROR_RATE -> String.format("%.2f%%", value * 100);
+            case THROUGHPUT -> String.format("%.1f/s", value);
+            default -> String.format("%.0f ms", value);
+        };
+    }
+}
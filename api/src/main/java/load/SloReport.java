@@ -0,0 +1,65 @@
+package load;
+
+import io.qameta.allure.Allure;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcomes of all objectives of an {@link Slo} evaluated against a test plan run
+ */
+
+public class SloReport {
+    private final List<SloResult> results;
+
+    SloReport(List<SloResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    public List<SloResult> getResults() {
+        return results;
+    }
+
+    public List<SloResult> getBreaches() {
+        return results.stream().filter(result -> !result.isMet()).collect(Collectors.toList());
+    }
+
+    public boolean isMet() {
+        return getBreaches().isEmpty();
+    }
+
+    /**
+     * Returns a pass/fail table of all objectives, a row per label and metric
+     */
+    public String format() {
+        int labelWidth = results.stream().mapToInt(result -> result.getLabel().length()).max().orElse(0) + 2;
+        String row = "%-" + labelWidth + "s%-12s%14s%14s  %s%n";
+        StringBuilder table = new StringBuilder(String.format(row, "Label", "Metric", "Objective", "Actual", "Result"));
+        for (SloResult result : results) {
+            SloMetric metric = result.getMetric();
+            table.append(String.format(row, result.getLabel(), metric.getTitle(),
+                    (metric.isMinimum() ? ">= " : "<= ") + metric.format(result.getObjective()),
+                    Double.isNaN(result.getActual()) ? "no samples" : metric.format(result.getActual()),
+                    result.isMet() ? "PASS" : "FAIL"));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Attaches the table to the current Allure test or step
+     */
+    public SloReport attach() {
+        Allure.addAttachment("SLO", "text/plain", format(), "txt");
+        return this;
+    }
+
+    /**
+     * Fails naming every breached objective with its label, metric, actual value and objective
+     */
+    public void assertMet() {
+        List<SloResult> breaches = getBreaches();
+        if (!breaches.isEmpty()) {
+            throw new AssertionError(String.format("%d of %d SLO breached: %s", breaches.size(), results.size(),
+                    breaches.stream().map(SloResult::describe).collect(Collectors.joining("; "))));
+        }
+    }
+}
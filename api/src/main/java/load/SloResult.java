@@ -0,0 +1,27 @@
+package load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An outcome of one objective of an {@link Slo}, with the actual value NaN when the label has no samples
+ */
+
+@Getter
+@AllArgsConstructor
+public class SloResult {
+    private final String label;
+    private final SloMetric metric;
+    private final double objective;
+    private final double actual;
+    private final boolean met;
+
+    /**
+     * Returns e.g. "Get Booking by id p99 1250 ms, expected at most 1000 ms"
+     */
+    public String describe() {
+        return String.format("%s %s %s, expected at %s %s", label, metric.getTitle(),
+                Double.isNaN(actual) ? "without samples" : metric.format(actual),
+                metric.isMinimum() ? "least" : "most", metric.format(objective));
+    }
+}
@@ -0,0 +1,105 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.admin.model.GetServeEventsResult;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.awaitility.core.ConditionTimeoutException;
+import utils.AwaitilityUtil;
+
+/**
+ * The same endpoint queries as {@link RequestJournal} answered from the WireMock own journal over the admin API,
+ * for WireMock running in Docker or as a {@link WireMockDaemon}, where no in-process journal can be registered.
+ * Awaiting polls the admin API instead of being woken up. A journal of a {@link WireMockDaemon} client
+ * only sees requests matched by stubs tagged with its owner, as the daemon journal is shared by all clients
+ */
+
+public class AdminRequestJournal {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+
+    private final WireMockClient wireMockClient;
+    private final String owner;
+
+    public AdminRequestJournal(WireMockClient wireMockClient) {
+        this(wireMockClient, null);
+    }
+
+    /**
+     * Creates a journal of requests matched by stubs with the {@value WireMockDaemon#OWNER_METADATA} metadata
+     * of the owner, or of all requests when the owner is null
+     */
+    public AdminRequestJournal(WireMockClient wireMockClient, String owner) {
+        this.wireMockClient = wireMockClient;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns all served requests, newest first
+     */
+    public List<ServeEvent> getAllEvents() {
+        String response = wireMockClient.sendGetRequestsRequest().getBody().asString();
+        List<ServeEvent> events = Json.read(response, GetServeEventsResult.class).getServeEvents();
+        return owner == null ? events : events.stream()
+                .filter(this::isOwned)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns served requests to the endpoint, oldest first
+     */
+    public List<ServeEvent> getEvents(String endpoint) {
+        List<ServeEvent> events = getAllEvents().stream()
+                .filter(event -> RequestJournal.matches(event.getRequest().getUrl(), endpoint))
+                .collect(Collectors.toList());
+        Collections.reverse(events);
+        return events;
+    }
+
+    public long countEvents(String endpoint) {
+        return getEvents(endpoint).size();
+    }
+
+    /**
+     * Polls until at least {@code count} requests to the endpoint have been served and returns them.
+     * Fails with {@link AssertionError} when the timeout expires first
+     */
+    public List<ServeEvent> awaitEvents(String endpoint, int count, Duration timeout) {
+        try {
+            return AwaitilityUtil.waitUntilAsserted(timeout, POLL_INTERVAL, () -> {
+                List<ServeEvent> events = getEvents(endpoint);
+                if (events.size() < count) {
+                    throw new AssertionError("Got " + events.size() + " requests to " + endpoint);
+                }
+                return events;
+            });
+        } catch (ConditionTimeoutException e) {
+            throw new AssertionError("Expected at least " + count + " requests to " + endpoint +
+                    " within " + timeout + ", but got " + countEvents(endpoint), e);
+        }
+    }
+
+    /**
+     * Returns hit counts and latency histograms by stub name of the requests still in the WireMock journal
+     */
+    public Map<String, StubStatistics> getStubStatistics() {
+        Map<String, StubStatistics> stubs = new HashMap<>();
+        for (ServeEvent event : getAllEvents()) {
+            Integer totalTime = event.getTiming() == null ? null : event.getTiming().getTotalTime();
+            stubs.computeIfAbsent(RequestJournal.stubNameOf(event), key -> new StubStatistics())
+                    .recordHit(totalTime == null ? 0 : totalTime);
+        }
+        return Map.copyOf(stubs);
+    }
+
+    private boolean isOwned(ServeEvent event) {
+        StubMapping stubMapping = event.getStubMapping();
+        return event.getWasMatched() && stubMapping != null && stubMapping.getMetadata() != null &&
+                owner.equals(stubMapping.getMetadata().getString(WireMockDaemon.OWNER_METADATA, null));
+    }
+}
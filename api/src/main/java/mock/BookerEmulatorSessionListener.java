@@ -0,0 +1,36 @@
+package mock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import static properties.PrivateProperties.BOOKER_EMULATOR;
+import static properties.PrivateProperties.BOOKER_EMULATOR_EXPECTED_BOOKINGS;
+import static properties.PrivateProperties.BOOKER_EMULATOR_PORT;
+import static properties.PrivateProperties.BOOKER_EMULATOR_SEED_BOOKINGS;
+
+/**
+ * A JUnit launcher session listener that starts the Restful-Booker emulator once per test JVM
+ * when the "bookerEmulator" private property is enabled, so every test using BOOKER_URL hits it instead of herokuapp
+ */
+
+@Slf4j
+public class BookerEmulatorSessionListener implements LauncherSessionListener {
+    private MockServer bookerEmulator;
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if (Boolean.parseBoolean(BOOKER_EMULATOR)) {
+            bookerEmulator = MockServer.startBookerEmulator(Integer.parseInt(BOOKER_EMULATOR_PORT),
+                    new BookerEmulator(Integer.parseInt(BOOKER_EMULATOR_EXPECTED_BOOKINGS))
+                            .seed(Integer.parseInt(BOOKER_EMULATOR_SEED_BOOKINGS)));
+        }
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (bookerEmulator != null) {
+            log.info("Stopping Restful-Booker emulator");
+            bookerEmulator.close();
+        }
+    }
+}
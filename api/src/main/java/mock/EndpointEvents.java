@@ -0,0 +1,132 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A store of serve events of a single endpoint, retaining them according to a {@link RequestJournalPolicy}.
+ * The total number of served requests is counted regardless of how many events are retained
+ */
+
+abstract class EndpointEvents {
+    private long total;
+
+    static EndpointEvents of(RequestJournalPolicy policy, int maxEntries, Duration timeWindow) {
+        return switch (policy) {
+            case UNBOUNDED -> new Unbounded();
+            case MAX_ENTRIES -> new Ring(maxEntries);
+            case TIME_WINDOW -> new TimeWindow(timeWindow);
+            case COUNTERS_ONLY -> new CountersOnly();
+        };
+    }
+
+    synchronized long total() {
+        return total;
+    }
+
+    synchronized void add(ServeEvent serveEvent) {
+        total++;
+        retain(serveEvent);
+    }
+
+    abstract void retain(ServeEvent serveEvent);
+
+    abstract List<ServeEvent> snapshot();
+
+    /**
+     * Retains every event
+     */
+    private static class Unbounded extends EndpointEvents {
+        private final List<ServeEvent> events = new ArrayList<>();
+
+        @Override
+        void retain(ServeEvent serveEvent) {
+            events.add(serveEvent);
+        }
+
+        @Override
+        synchronized List<ServeEvent> snapshot() {
+            return new ArrayList<>(events);
+        }
+    }
+
+    /**
+     * Retains the latest events in a fixed-size ring buffer
+     */
+    private static class Ring extends EndpointEvents {
+        private final ServeEvent[] events;
+        private long retained;
+
+        Ring(int capacity) {
+            this.events = new ServeEvent[capacity];
+        }
+
+        @Override
+        void retain(ServeEvent serveEvent) {
+            events[(int) (retained % events.length)] = serveEvent;
+            retained++;
+        }
+
+        @Override
+        synchronized List<ServeEvent> snapshot() {
+            int size = (int) Math.min(retained, events.length);
+            long start = retained - size;
+            List<ServeEvent> snapshot = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add(events[(int) ((start + i) % events.length)]);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Retains events logged within the latest time window
+     */
+    private static class TimeWindow extends EndpointEvents {
+        private final Deque<ServeEvent> events = new ArrayDeque<>();
+        private final long windowMillis;
+
+        TimeWindow(Duration window) {
+            this.windowMillis = window.toMillis();
+        }
+
+        @Override
+        void retain(ServeEvent serveEvent) {
+            events.addLast(serveEvent);
+            evictExpired();
+        }
+
+        @Override
+        synchronized List<ServeEvent> snapshot() {
+            evictExpired();
+            return new ArrayList<>(events);
+        }
+
+        private void evictExpired() {
+            long oldest = System.currentTimeMillis() - windowMillis;
+            while (!events.isEmpty() && events.peekFirst().getRequest().getLoggedDate().getTime() < oldest) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Retains nothing, only the total is counted
+     */
+    private static class CountersOnly extends EndpointEvents {
+
+        @Override
+        void retain(ServeEvent serveEvent) {
+            // Nothing is retained in counters-only mode
+        }
+
+        @Override
+        List<ServeEvent> snapshot() {
+            return List.of();
+        }
+    }
+}
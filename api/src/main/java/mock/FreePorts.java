@@ -0,0 +1,26 @@
+package mock;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A utility class picking a random free local port for WireMock and stand-ins of real services
+ */
+
+public final class FreePorts {
+    private static final int FROM = 8000;
+    private static final int TO = 9000;
+
+    private FreePorts() {
+    }
+
+    public static int find() {
+        int port = ThreadLocalRandom.current().nextInt(FROM, TO);
+        try (ServerSocket socket = new ServerSocket(port)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            return find();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.common.Urls;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.store.InMemoryStubMappingStore;
+import com.github.tomakehurst.wiremock.store.StubMappingStore;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A WireMock stub store which indexes stubs by method and exact URL or exact URL path, so a request is matched
+ * against the few stubs registered for its method and URL instead of scanning all of them.
+ * Stubs with URL patterns, path templates or no URL at all are kept in a fallback set, which is merged with
+ * the indexed candidates in WireMock order (priority, then newest first), so the first matching stub
+ * is the same one WireMock would pick. How many stubs were matched and how long it took is reported
+ * with the request, as a {@value StubRouter#SUB_EVENT} sub event per matching run, see {@link StubMatch}
+ */
+
+public class IndexedStubMappingStore implements StubMappingStore {
+    private static final Comparator<StubMapping> WIREMOCK_ORDER = (first, second) -> {
+        int priority = first.comparePriorityWith(second);
+        return priority != 0 ? priority : Long.compare(second.getInsertionIndex(), first.getInsertionIndex());
+    };
+
+    private final InMemoryStubMappingStore stubs = new InMemoryStubMappingStore();
+    private final Map<String, NavigableSet<StubMapping>> byUrl = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<StubMapping>> byUrlPath = new ConcurrentHashMap<>();
+    private final NavigableSet<StubMapping> unindexed = new ConcurrentSkipListSet<>(WIREMOCK_ORDER);
+
+    @Override
+    public Stream<StubMapping> getAll() {
+        return stubs.getAll();
+    }
+
+    @Override
+    public Optional<StubMapping> get(UUID id) {
+        return stubs.get(id);
+    }
+
+    /**
+     * Returns stubs matching the request in WireMock order, matching only the indexed candidates
+     * for its method and URL plus the unindexed stubs
+     */
+    @Override
+    public Stream<StubMapping> findAllMatchingRequest(Request request,
+                                                      Map<String, RequestMatcherExtension> customMatchers,
+                                                      Consumer<SubEvent> subEventConsumer) {
+        String method = request.getMethod().value();
+        String anyMethod = RequestMethod.ANY.value();
+        String url = request.getUrl();
+        String urlPath = Urls.getPath(url);
+        Iterator<StubMapping> candidates = new MergedIterator(List.of(
+                candidatesOf(byUrl, keyOf(method, url)),
+                candidatesOf(byUrl, keyOf(anyMethod, url)),
+                candidatesOf(byUrlPath, keyOf(method, urlPath)),
+                candidatesOf(byUrlPath, keyOf(anyMethod, urlPath)),
+                unindexed.iterator()));
+        Iterator<StubMapping> matching = new MatchingIterator(candidates, request, customMatchers, subEventConsumer);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(matching, Spliterator.ORDERED), false);
+    }
+
+    @Override
+    public void add(StubMapping stubMapping) {
+        stubs.add(stubMapping);
+        bucketOf(stubMapping).add(stubMapping);
+    }
+
+    @Override
+    public void replace(StubMapping existing, StubMapping updated) {
+        stubs.get(existing.getUuid()).ifPresent(stored -> bucketOf(stored).remove(stored));
+        stubs.replace(existing, updated);
+        stubs.get(updated.getUuid()).ifPresent(stored -> bucketOf(stored).add(stored));
+    }
+
+    @Override
+    public void remove(StubMapping stubMapping) {
+        stubs.get(stubMapping.getUuid()).ifPresent(stored -> bucketOf(stored).remove(stored));
+        stubs.remove(stubMapping);
+    }
+
+    @Override
+    public void clear() {
+        stubs.clear();
+        byUrl.clear();
+        byUrlPath.clear();
+        unindexed.clear();
+    }
+
+    /**
+     * Returns how many stubs have to be matched one by one for every request
+     */
+    public int countUnindexed() {
+        return unindexed.size();
+    }
+
+    private NavigableSet<StubMapping> bucketOf(StubMapping stubMapping) {
+        RequestPattern request = stubMapping.getRequest();
+        String method = request.getMethod() == null ? null : request.getMethod().value();
+        Map<String, NavigableSet<StubMapping>> index = null;
+        String url = null;
+        if (method != null && request.getUrl() != null) {
+            index = byUrl;
+            url = request.getUrl();
+        } else if (method != null && request.getUrlPath() != null) {
+            index = byUrlPath;
+            url = request.getUrlPath();
+        }
+        return index == null ? unindexed :
+                index.computeIfAbsent(keyOf(method, url), key -> new ConcurrentSkipListSet<>(WIREMOCK_ORDER));
+    }
+
+    private static Iterator<StubMapping> candidatesOf(Map<String, NavigableSet<StubMapping>> index, String key) {
+        NavigableSet<StubMapping> bucket = index.get(key);
+        return bucket == null ? Collections.emptyIterator() : bucket.iterator();
+    }
+
+    private static String keyOf(String method, String url) {
+        return method + " " + url;
+    }
+
+    /**
+     * Merges stubs of several sorted sets into one sequence in WireMock order, lazily
+     */
+    private static final class MergedIterator implements Iterator<StubMapping> {
+        private final List<Iterator<StubMapping>> sources;
+        private final StubMapping[] heads;
+
+        private MergedIterator(List<Iterator<StubMapping>> sources) {
+            this.sources = sources;
+            this.heads = new StubMapping[sources.size()];
+            for (int i = 0; i < heads.length; i++) {
+                heads[i] = sources.get(i).hasNext() ? sources.get(i).next() : null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (StubMapping head : heads) {
+                if (head != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public StubMapping next() {
+            int first = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (first < 0 || WIREMOCK_ORDER.compare(heads[i], heads[first]) < 0)) {
+                    first = i;
+                }
+            }
+            if (first < 0) {
+                throw new NoSuchElementException();
+            }
+            StubMapping next = heads[first];
+            heads[first] = sources.get(first).hasNext() ? sources.get(first).next() : null;
+            return next;
+        }
+    }
+
+    /**
+     * Matches candidates one by one on demand, so WireMock stops matching once it has picked a stub,
+     * and reports every run of matching up to the next matching stub as a sub event of the request
+     */
+    private static final class MatchingIterator implements Iterator<StubMapping> {
+        private final Iterator<StubMapping> candidates;
+        private final Request request;
+        private final Map<String, RequestMatcherExtension> customMatchers;
+        private final Consumer<SubEvent> subEventConsumer;
+        private StubMapping next;
+
+        private MatchingIterator(Iterator<StubMapping> candidates, Request request,
+                                 Map<String, RequestMatcherExtension> customMatchers,
+                                 Consumer<SubEvent> subEventConsumer) {
+            this.candidates = candidates;
+            this.request = request;
+            this.customMatchers = customMatchers;
+            this.subEventConsumer = subEventConsumer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            long startNanos = System.nanoTime();
+            int matched = 0;
+            while (next == null && candidates.hasNext()) {
+                StubMapping candidate = candidates.next();
+                MatchResult result = candidate.getRequest().match(request, customMatchers);
+                result.getSubEvents().forEach(subEventConsumer);
+                matched++;
+                if (result.isExactMatch()) {
+                    next = candidate;
+                }
+            }
+            subEventConsumer.accept(new SubEvent(StubRouter.SUB_EVENT, null, Map.of(
+                    StubRouter.CANDIDATES, matched,
+                    StubRouter.MATCH_NANOS, System.nanoTime() - startNanos)));
+            return next != null;
+        }
+
+        @Override
+        public StubMapping next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            StubMapping current = next;
+            next = null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A WireMock serve event listener exporting every served request to gzip-compressed JSON Lines files
+ * while the mock is running, so millions of requests can be analysed afterwards with {@link JournalExportReader}
+ * instead of pulling the whole journal over the admin API. Events are serialized and written by a background
+ * thread, flushed whenever it catches up, and files are rotated after {@code maxFileBytes} of uncompressed JSON.
+ * Events arriving while the queue is full are dropped and counted rather than slowing the mock down.
+ * Every event is one newline-terminated line. The export must be closed by its owner once the mock is stopped
+ */
+
+@Slf4j
+public class JournalExport implements ServeEventListener, Closeable {
+    public static final String NAME = "journal-export";
+    public static final String FILE_SUFFIX = ".jsonl.gz";
+
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int BATCH_SIZE = 1024;
+    private static final long POLL_MILLIS = 200;
+
+    private final Path directory;
+    private final String filePrefix;
+    private final long maxFileBytes;
+    private final BlockingQueue<ServeEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong exported = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<Path> files = new ArrayList<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private OutputStream output;
+    private long fileBytes;
+
+    /**
+     * Starts exporting into the directory, creating it when missing. Files of every export are named
+     * by its start time, so exports of several mocks can share a directory
+     */
+    public JournalExport(Path directory, long maxFileBytes) {
+        this.directory = directory;
+        this.filePrefix = "serve-events-" + System.currentTimeMillis() + "-" + ProcessHandle.current().pid() + "-" +
+                Integer.toHexString(System.identityHashCode(this)) + "-";
+        this.maxFileBytes = maxFileBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create journal export directory " + directory, e);
+        }
+        writer = new Thread(this::writeEvents, NAME);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Starts exporting into the directory into files of up to the given size of uncompressed JSON
+     */
+    public static JournalExport start(Path directory, long maxFileBytes) {
+        return new JournalExport(directory, maxFileBytes);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    public WireMockConfiguration configure(WireMockConfiguration configuration) {
+        return configuration.extensions(this);
+    }
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        if (closed || !queue.offer(serveEvent)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns files written so far, oldest first
+     */
+    public synchronized List<Path> getFiles() {
+        return List.copyOf(files);
+    }
+
+    public long getExported() {
+        return exported.get();
+    }
+
+    /**
+     * Returns how many events were not exported because the queue was full or the export was closed
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes queued events and completes the current file, so it can be read to the end
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Exported {} serve events to {}, dropped {}", exported.get(), directory, dropped.get());
+    }
+
+    private void writeEvents() {
+        List<ServeEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                ServeEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to export serve events to {}", directory, e);
+            closed = true;
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void write(List<ServeEvent> batch) throws IOException {
+        for (ServeEvent serveEvent : batch) {
+            byte[] line = (Json.getObjectMapper().writeValueAsString(serveEvent) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            if (output == null || fileBytes + line.length > maxFileBytes && fileBytes > 0) {
+                rotate();
+            }
+            output.write(line);
+            fileBytes += line.length;
+        }
+        output.flush();
+        exported.addAndGet(batch.size());
+    }
+
+    private synchronized void rotate() throws IOException {
+        closeFile();
+        Path file = directory.resolve(String.format("%s%05d%s", filePrefix, files.size(), FILE_SUFFIX));
+        output = new GZIPOutputStream(Files.newOutputStream(file), BATCH_SIZE * 64, true);
+        fileBytes = 0;
+        files.add(file);
+    }
+
+    private void closeFile() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                log.warn("Failed to complete journal export file in {}: {}", directory, e.getMessage());
+            }
+            output = null;
+        }
+    }
+}
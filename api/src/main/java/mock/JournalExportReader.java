@@ -0,0 +1,174 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.JsonException;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads serve events exported by {@link JournalExport} lazily, one line at a time, so the export can be
+ * filtered and aggregated without loading it into memory. Files are read in name order, which is
+ * the order they were written in. A file still being written is read up to its last complete event
+ */
+
+public final class JournalExportReader {
+
+    private JournalExportReader() {
+    }
+
+    /**
+     * Returns all exported events of the directory. The stream holds an open file and must be closed
+     */
+    public static Stream<ServeEvent> read(Path directory) {
+        return read(directory, "");
+    }
+
+    /**
+     * Returns exported events whose JSON line contains the text, e.g. a URL or a correlation id.
+     * Lines without the text are skipped without being parsed. The stream holds an open file and must be closed
+     */
+    public static Stream<ServeEvent> read(Path directory, String text) {
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed
+                    .filter(file -> file.getFileName().toString().endsWith(JournalExport.FILE_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list journal export files in " + directory, e);
+        }
+        EventIterator events = new EventIterator(files.iterator(), text);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events, Spliterator.ORDERED), false)
+                .onClose(events::close);
+    }
+
+    /**
+     * Iterates events of lines containing the text over files opened one at a time. Every event is written
+     * as a newline-terminated line, so a line without the newline at the end of a file is the last one
+     * of a file being written. It is skipped when its event is cut off and does not parse,
+     * while a newline-terminated line failing to parse is an error
+     */
+    private static final class EventIterator implements Iterator<ServeEvent> {
+        private final Iterator<Path> files;
+        private final String text;
+        private final StringBuilder line = new StringBuilder();
+        private BufferedReader reader;
+        private ServeEvent next;
+
+        private EventIterator(Iterator<Path> files, String text) {
+            this.files = files;
+            this.text = text;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && (reader != null || files.hasNext())) {
+                    if (reader == null) {
+                        reader = new BufferedReader(new InputStreamReader(new UnfinishedGzipInputStream(
+                                new GZIPInputStream(Files.newInputStream(files.next()))), StandardCharsets.UTF_8));
+                    }
+                    boolean terminated = readLine();
+                    if (!terminated && line.length() == 0) {
+                        close();
+                    } else if (line.indexOf(text) >= 0) {
+                        next = terminated ? Json.read(line.toString(), ServeEvent.class) : readUnterminated();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read journal export", e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public ServeEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ServeEvent current = next;
+            next = null;
+            return current;
+        }
+
+        /**
+         * Reads the next line of the current file without its newline, returning whether the newline was there
+         */
+        private boolean readLine() throws IOException {
+            line.setLength(0);
+            int character = reader.read();
+            while (character != -1 && character != '\n') {
+                line.append((char) character);
+                character = reader.read();
+            }
+            return character == '\n';
+        }
+
+        private ServeEvent readUnterminated() {
+            try {
+                return Json.read(line.toString(), ServeEvent.class);
+            } catch (JsonException e) {
+                return null;
+            }
+        }
+
+        private void close() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to close journal export file", e);
+                }
+                reader = null;
+            }
+        }
+    }
+
+    /**
+     * Ends a gzip stream quietly where a file being written ends, instead of failing
+     * on the missing end of the compressed data
+     */
+    private static final class UnfinishedGzipInputStream extends FilterInputStream {
+
+        private UnfinishedGzipInputStream(InputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            try {
+                return super.read(bytes, offset, length);
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+    }
+}
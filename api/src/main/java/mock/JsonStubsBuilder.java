@@ -8,10 +8,12 @@ import static utils.JsonMessageTestUtils.toJson;
 
 /**
  * A utility class for building JSON stubs for WireMock with customizable request and response parameters.
- * It supports creating stubs with URLs, methods, response bodies, headers, and status codes
+ * It supports creating stubs with URLs, methods, response bodies, headers, and status codes.
+ * Response templating is opt-in per stub, static bodies are served as is without going through Handlebars
  */
 
 public class JsonStubsBuilder {
+    public static final String RESPONSE_TEMPLATE = "response-template";
 
     private static final Map<String, String> DEFAULT_HEADERS = Map.of(
             "Content-Type", "application/json"
@@ -23,6 +25,19 @@ public class JsonStubsBuilder {
             Map<String, String> additionalHeaders,
             String method,
             Integer statusCode) {
+        return createJsonStub(stubUrl, responseBody, additionalHeaders, method, statusCode, false);
+    }
+
+    /**
+     * Stubs attached to a {@link LatencyProfile} are built with {@link StubTemplate#withLatencyProfile}
+     */
+    public static String createJsonStub(
+            String stubUrl,
+            String responseBody,
+            Map<String, String> additionalHeaders,
+            String method,
+            Integer statusCode,
+            boolean templated) {
 
         if (additionalHeaders == null) {
             additionalHeaders = new HashMap<>();
@@ -36,7 +51,9 @@ public class JsonStubsBuilder {
         response.put("status", statusCode);
         response.put("jsonBody", jsonMessageFromBody(responseBody, Object.class));
         response.put("headers", mergeHeaders(additionalHeaders));
-        response.put("transformers", List.of("response-template"));
+        if (templated) {
+            response.put("transformers", List.of(RESPONSE_TEMPLATE));
+        }
 
         Map<String, Object> stub = new HashMap<>();
         stub.put("request", request);
@@ -51,6 +68,16 @@ public class JsonStubsBuilder {
             Map<String, String> additionalHeaders,
             String method,
             int statusCode) {
+        return createJsonStubWithUrlPattern(stubUrlPattern, responseBody, additionalHeaders, method, statusCode, false);
+    }
+
+    public static String createJsonStubWithUrlPattern(
+            String stubUrlPattern,
+            String responseBody,
+            Map<String, String> additionalHeaders,
+            String method,
+            int statusCode,
+            boolean templated) {
 
         if (additionalHeaders == null) {
             additionalHeaders = new HashMap<>();
@@ -64,7 +91,9 @@ public class JsonStubsBuilder {
         response.put("status", statusCode);
         response.put("jsonBody", jsonMessageFromBody(responseBody, Object.class));
         response.put("headers", mergeHeaders(additionalHeaders));
-        response.put("transformers", List.of("response-template"));
+        if (templated) {
+            response.put("transformers", List.of(RESPONSE_TEMPLATE));
+        }
 
         Map<String, Object> stub = new HashMap<>();
         stub.put("request", request);
@@ -0,0 +1,98 @@
+package mock;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Requests of a load test split into {@link LatencyComponent}s by {@link LatencyDecomposition}, with latency
+ * histograms in milliseconds of every component and of the whole JMeter samples
+ */
+
+public class LatencyBreakdown {
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final List<RequestLatency> requests;
+    private final int unmatchedSamples;
+    private final Histogram sampleLatencies = new Histogram(HIGHEST_TRACKABLE_MILLIS, 3);
+    private final Map<LatencyComponent, Histogram> latencies = new EnumMap<>(LatencyComponent.class);
+
+    LatencyBreakdown(List<RequestLatency> requests, int unmatchedSamples) {
+        this.requests = List.copyOf(requests);
+        this.unmatchedSamples = unmatchedSamples;
+        for (LatencyComponent component : LatencyComponent.values()) {
+            latencies.put(component, new Histogram(HIGHEST_TRACKABLE_MILLIS, 3));
+        }
+        for (RequestLatency request : requests) {
+            sampleLatencies.recordValue(capped(request.getSampleMillis()));
+            for (LatencyComponent component : LatencyComponent.values()) {
+                latencies.get(component).recordValue(capped(request.getMillis(component)));
+            }
+        }
+    }
+
+    /**
+     * Returns requests joined with their serve events
+     */
+    public List<RequestLatency> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns how many JMeter samples had no serve event, e.g. failed before reaching the mock
+     * or evicted from the journal
+     */
+    public int getUnmatchedSamples() {
+        return unmatchedSamples;
+    }
+
+    public Histogram getSampleLatencies() {
+        return sampleLatencies.copy();
+    }
+
+    public Histogram getLatencies(LatencyComponent component) {
+        return latencies.get(component).copy();
+    }
+
+    public long getPercentileMillis(LatencyComponent component, double percentile) {
+        return latencies.get(component).getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the share of the summed sample time spent in the component, from 0 to 1
+     */
+    public double getShare(LatencyComponent component) {
+        long total = requests.stream().mapToLong(RequestLatency::getSampleMillis).sum();
+        long spent = requests.stream().mapToLong(request -> request.getMillis(component)).sum();
+        return total == 0 ? 0 : spent / (double) total;
+    }
+
+    /**
+     * Formats percentiles of every component as a plain text table
+     */
+    public String format() {
+        StringBuilder table = new StringBuilder(String.format("Requests: %d, samples without serve event: %d%n",
+                requests.size(), unmatchedSamples));
+        table.append(String.format("%-8s%8s%8s%8s%8s%8s%n", "ms", "p50", "p90", "p99", "max", "share"));
+        appendRow(table, "SAMPLE", sampleLatencies, 1);
+        for (LatencyComponent component : LatencyComponent.values()) {
+            appendRow(table, component.name(), latencies.get(component), getShare(component));
+        }
+        return table.toString();
+    }
+
+    private static void appendRow(StringBuilder table, String name, Histogram histogram, double share) {
+        table.append(String.format("%-8s", name));
+        for (double percentile : PERCENTILES) {
+            table.append(String.format("%8d", histogram.getValueAtPercentile(percentile)));
+        }
+        table.append(String.format("%8d%7.0f%%%n", histogram.getMaxValue(), share * 100));
+    }
+
+    private static long capped(long millis) {
+        return Math.min(Math.max(millis, 0), HIGHEST_TRACKABLE_MILLIS);
+    }
+}
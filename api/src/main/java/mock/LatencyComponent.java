@@ -0,0 +1,22 @@
+package mock;
+
+/**
+ * A part of the client-side latency of a request as split by {@link LatencyDecomposition}.
+ * The parts of a request add up to its JMeter sample time
+ */
+
+public enum LatencyComponent {
+    /**
+     * WireMock total time: matching and rendering the response, configured delays and writing the response
+     */
+    MOCK,
+    /**
+     * Time to the first response byte not spent by WireMock before sending: connecting, SSH tunnel and network
+     */
+    NETWORK,
+    /**
+     * Time after the first response byte not spent by WireMock writing the response: reading the rest
+     * of the body and JMeter overhead
+     */
+    CLIENT
+}
@@ -0,0 +1,107 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.common.Timing;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.jmeter.samplers.SampleResult;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpHeaders;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PostProcessor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PreProcessor;
+import us.abstracta.jmeter.javadsl.core.testelements.MultiLevelTestElement;
+
+/**
+ * Splits JMeter client-side latency of requests to a mock into the time spent by WireMock, by the network
+ * or SSH tunnel and by the client. Every request gets a unique {@value #CORRELATION_HEADER} header,
+ * its sample times are collected during the test and joined afterwards with the serve event
+ * carrying the same header, e.g. from {@link MockServer#getAllEvents()}
+ */
+
+public class LatencyDecomposition {
+    public static final String CORRELATION_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_VARIABLE = "correlationId";
+
+    private final Queue<ClientSample> samples = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Returns JMeter elements correlating and collecting samples in their scope,
+     * to be added as children of samplers or thread groups
+     */
+    public MultiLevelTestElement[] correlate() {
+        return new MultiLevelTestElement[] {
+                jsr223PreProcessor(s -> s.vars.put(CORRELATION_VARIABLE, UUID.randomUUID().toString())),
+                httpHeaders().header(CORRELATION_HEADER, "${" + CORRELATION_VARIABLE + "}"),
+                jsr223PostProcessor(s -> samples.add(new ClientSample(s.vars.get(CORRELATION_VARIABLE), s.prev)))};
+    }
+
+    /**
+     * Returns the number of samples collected so far
+     */
+    public int countSamples() {
+        return samples.size();
+    }
+
+    /**
+     * Joins collected samples with the serve events. The mock part of a request is the WireMock total time,
+     * the network part is the time to the first byte beyond WireMock time before sending the response,
+     * and the client part is the rest of the sample time beyond WireMock time of sending the response
+     */
+    public LatencyBreakdown decompose(List<ServeEvent> serveEvents) {
+        Map<String, Timing> timings = new HashMap<>();
+        for (ServeEvent serveEvent : serveEvents) {
+            String correlationId = serveEvent.getRequest().getHeader(CORRELATION_HEADER);
+            if (correlationId != null && serveEvent.getTiming().getTotalTime() != null) {
+                timings.put(correlationId, serveEvent.getTiming());
+            }
+        }
+        List<RequestLatency> requests = new ArrayList<>();
+        int unmatched = 0;
+        for (ClientSample sample : samples) {
+            Timing timing = timings.get(sample.correlationId);
+            if (timing == null) {
+                unmatched++;
+            } else {
+                long beforeSendMillis = millisOf(timing.getProcessTime()) + millisOf(timing.getAddedDelay());
+                long sendMillis = millisOf(timing.getResponseSendTime());
+                requests.add(new RequestLatency(sample.correlationId, sample.label, sample.elapsedMillis,
+                        timing.getTotalTime(),
+                        Math.max(0, sample.latencyMillis - beforeSendMillis),
+                        Math.max(0, sample.elapsedMillis - sample.latencyMillis - sendMillis)));
+            }
+        }
+        return new LatencyBreakdown(requests, unmatched);
+    }
+
+    /**
+     * Forgets collected samples, e.g. between test plans
+     */
+    public void clear() {
+        samples.clear();
+    }
+
+    private static long millisOf(Integer millis) {
+        return millis == null ? 0 : millis;
+    }
+
+    /**
+     * Client-side times of a single JMeter sample
+     */
+    private static final class ClientSample {
+        private final String correlationId;
+        private final String label;
+        private final long elapsedMillis;
+        private final long latencyMillis;
+
+        private ClientSample(String correlationId, SampleResult result) {
+            this.correlationId = correlationId;
+            this.label = result.getSampleLabel();
+            this.elapsedMillis = result.getTime();
+            this.latencyMillis = result.getLatency();
+        }
+    }
+}
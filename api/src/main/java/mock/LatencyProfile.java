@@ -0,0 +1,126 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * A performance profile of a mocked dependency: response delay distribution, chunked dribble,
+ * error rate and connection reset rate. Profiles are immutable, each request samples the profile independently.
+ * Attach a profile to stubs by name through {@link LatencyProfileTransformer}
+ */
+
+public final class LatencyProfile {
+    public static final LatencyProfile NONE = new LatencyProfile(() -> 0, 0, Duration.ZERO, 0, 0, 0);
+
+    private final LongSupplier delayMillis;
+    private final int dribbleChunks;
+    private final Duration dribbleDuration;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double connectionResetRate;
+
+    private LatencyProfile(LongSupplier delayMillis, int dribbleChunks, Duration dribbleDuration,
+                           double errorRate, int errorStatus, double connectionResetRate) {
+        this.delayMillis = delayMillis;
+        this.dribbleChunks = dribbleChunks;
+        this.dribbleDuration = dribbleDuration;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.connectionResetRate = connectionResetRate;
+    }
+
+    public static LatencyProfile fixed(Duration delay) {
+        long millis = delay.toMillis();
+        return NONE.withDelay(() -> millis);
+    }
+
+    public static LatencyProfile uniform(Duration min, Duration max) {
+        long minMillis = min.toMillis();
+        long maxMillis = max.toMillis();
+        return NONE.withDelay(() -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1));
+    }
+
+    /**
+     * Log-normal delays, the usual shape of real service latencies: most responses near the median
+     * and a long tail growing with sigma, cut at the max so a single draw never stalls a request past test timeouts
+     */
+    public static LatencyProfile logNormal(Duration median, double sigma, Duration max) {
+        double medianMillis = median.toMillis();
+        long maxMillis = max.toMillis();
+        return NONE.withDelay(() -> Math.min(maxMillis,
+                Math.round(medianMillis * Math.exp(ThreadLocalRandom.current().nextGaussian() * sigma))));
+    }
+
+    /**
+     * Delays sampled from an empirical histogram, e.g. one measured on a real dependency.
+     * Each latency is picked with probability proportional to its count
+     */
+    public static LatencyProfile empirical(long[] latenciesMillis, long[] counts) {
+        if (latenciesMillis.length == 0 || latenciesMillis.length != counts.length) {
+            throw new IllegalArgumentException("Latencies and counts must be non-empty arrays of the same length");
+        }
+
+        long[] latencies = latenciesMillis.clone();
+        long[] cumulativeCounts = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            cumulativeCounts[i] = total;
+        }
+        long totalCount = total;
+        return NONE.withDelay(() -> {
+            int index = Arrays.binarySearch(cumulativeCounts, ThreadLocalRandom.current().nextLong(totalCount) + 1);
+            return latencies[index >= 0 ? index : -index - 1];
+        });
+    }
+
+    /**
+     * Sends the response body in chunks spread over the duration, on top of the delay
+     */
+    public LatencyProfile withChunkedDribble(int chunks, Duration duration) {
+        return new LatencyProfile(delayMillis, chunks, duration, errorRate, errorStatus, connectionResetRate);
+    }
+
+    /**
+     * Replaces the stub status with the error status for the given share of requests
+     */
+    public LatencyProfile withErrorRate(double rate, int status) {
+        return new LatencyProfile(delayMillis, dribbleChunks, dribbleDuration, rate, status, connectionResetRate);
+    }
+
+    /**
+     * Resets the connection instead of responding for the given share of requests
+     */
+    public LatencyProfile withConnectionResetRate(double rate) {
+        return new LatencyProfile(delayMillis, dribbleChunks, dribbleDuration, errorRate, errorStatus, rate);
+    }
+
+    ResponseDefinition apply(ResponseDefinition responseDefinition) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition);
+        if (connectionResetRate > 0 && random.nextDouble() < connectionResetRate) {
+            return response.withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            response.withStatus(errorStatus);
+        }
+
+        long delay = delayMillis.getAsLong();
+        if (delay > 0) {
+            response.withFixedDelay((int) Math.min(delay, Integer.MAX_VALUE));
+        }
+        if (dribbleChunks > 0) {
+            response.withChunkedDribbleDelay(dribbleChunks, (int) dribbleDuration.toMillis());
+        }
+        return response.build();
+    }
+
+    private LatencyProfile withDelay(LongSupplier delay) {
+        return new LatencyProfile(delay, dribbleChunks, dribbleDuration, errorRate, errorStatus, connectionResetRate);
+    }
+}
@@ -0,0 +1,56 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A WireMock response transformer applying named {@link LatencyProfile}s to stubs.
+ * Stubs refer to a profile by name in the {@value #PARAMETER} transformer parameter, and the profile
+ * behind a name can be switched at runtime, e.g. to model a dependency degrading in the middle of a load test.
+ * Stubs whose profile is not set respond as is. Every WireMock server registers its own transformer,
+ * so profiles set on one server never delay stubs of another
+ */
+
+public class LatencyProfileTransformer implements ResponseDefinitionTransformerV2 {
+    public static final String NAME = "latency-profile";
+    public static final String PARAMETER = "latencyProfile";
+
+    private final Map<String, LatencyProfile> profiles = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        Parameters parameters = serveEvent.getTransformerParameters();
+        String profileName = parameters == null ? null : parameters.getString(PARAMETER, null);
+        LatencyProfile profile = profileName == null ? null : profiles.get(profileName);
+        return profile == null ? serveEvent.getResponseDefinition() : profile.apply(serveEvent.getResponseDefinition());
+    }
+
+    /**
+     * Sets or switches the profile of all stubs referring to the name, taking effect from the next request
+     */
+    public void setProfile(String name, LatencyProfile profile) {
+        profiles.put(name, profile);
+    }
+
+    public void removeProfile(String name) {
+        profiles.remove(name);
+    }
+
+    public void clearProfiles() {
+        profiles.clear();
+    }
+}
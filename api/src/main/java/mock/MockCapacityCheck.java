@@ -0,0 +1,51 @@
+package mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+/**
+ * A helper measuring the max RPS a mock endpoint can serve on this machine.
+ * It runs short closed-loop JMeter loads with a growing number of threads and reports the best throughput,
+ * so a load test can tell a slow system under test apart from a saturated mock
+ */
+
+@Slf4j
+public final class MockCapacityCheck {
+    private static final List<Integer> THREADS_STEPS = List.of(4, 16, 64);
+    private static final Duration STEP_DURATION = Duration.ofSeconds(3);
+
+    private MockCapacityCheck() {
+    }
+
+    public static long measureMaxRps(String url) {
+        long maxRps = 0;
+        for (int threads : THREADS_STEPS) {
+            long rps = measureRps(url, threads);
+            log.info("Mock capacity check: {} threads served {} rps", threads, rps);
+            maxRps = Math.max(maxRps, rps);
+        }
+        log.info("Mock capacity check: max {} rps on {}", maxRps, url);
+        return maxRps;
+    }
+
+    private static long measureRps(String url, int threads) {
+        try {
+            StatsSummary stats = testPlan(
+                    threadGroup(threads, STEP_DURATION, httpSampler(url))
+            ).run().overall();
+            if (stats.errorsCount() > 0) {
+                throw new IllegalStateException("Mock capacity check got " + stats.errorsCount() + " errors on " + url);
+            }
+            long durationMillis = Math.max(1, Duration.between(stats.firstTime(), stats.endTime()).toMillis());
+            return stats.samplesCount() * 1000 / durationMillis;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to run mock capacity check on " + url, e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An isolated tenant of a {@link MockServer}, so parallel test classes can share one WireMock and one SSH tunnel.
+ * Every namespace owns a unique URL prefix: its stubs are moved under the prefix, its URLs point inside it,
+ * and its journal queries, cleanups and removal only see requests under the prefix.
+ * Endpoints are passed to a namespace without the prefix, the same way as to a dedicated MockServer
+ */
+
+@Slf4j
+public class MockNamespace implements Closeable {
+    private static final String URL_PREFIX = "/ns/";
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final MockServer mockServer;
+    private final String urlPrefix;
+    private final Set<String> stubSetHashes = ConcurrentHashMap.newKeySet();
+
+    private MockNamespace(MockServer mockServer, String urlPrefix) {
+        this.mockServer = mockServer;
+        this.urlPrefix = urlPrefix;
+    }
+
+    /**
+     * Opens a namespace in the JVM-wide shared MockServer, which is started on the first call
+     * and stopped on JVM shutdown
+     */
+    public static MockNamespace open(String name) {
+        return open(SharedMockServer.INSTANCE, name);
+    }
+
+    /**
+     * Opens a namespace in the given MockServer. The name is only a readable part of the URL prefix,
+     * which is unique across JVMs sharing a {@link WireMockDaemon}
+     */
+    public static MockNamespace open(MockServer mockServer, String name) {
+        String urlPrefix = URL_PREFIX + name.replaceAll("[^\\w\\-]", "-") + "-" + ProcessHandle.current().pid() +
+                "-" + COUNTER.incrementAndGet();
+        log.info("Opening MockServer namespace {}", urlPrefix);
+        return new MockNamespace(mockServer, urlPrefix);
+    }
+
+    public String getUrlPrefix() {
+        return urlPrefix;
+    }
+
+    public String getPublicUrl() {
+        return mockServer.getPublicUrl() + urlPrefix;
+    }
+
+    public String getLocalUrl() {
+        return mockServer.getLocalUrl() + urlPrefix;
+    }
+
+    public MockServer getMockServer() {
+        return mockServer;
+    }
+
+    /**
+     * Imports the stub set moved under the namespace URL prefix, see {@link StubSet#withUrlPrefix(String)}
+     */
+    public boolean importStubs(StubSet stubSet) {
+        StubSet prefixed = stubSet.withUrlPrefix(urlPrefix);
+        stubSetHashes.add(prefixed.getHash());
+        return mockServer.importStubs(prefixed);
+    }
+
+    public List<String> getEndpointEvents(String endpoint) {
+        return mockServer.getEndpointEvents(urlPrefix + endpoint);
+    }
+
+    public long countEndpointEvents(String endpoint) {
+        return mockServer.countEndpointEvents(urlPrefix + endpoint);
+    }
+
+    public List<ServeEvent> awaitEvents(String endpoint, int count, Duration timeout) {
+        return mockServer.awaitEvents(urlPrefix + endpoint, count, timeout);
+    }
+
+    public void cleanAllEvents() {
+        mockServer.cleanEvents(urlPrefix);
+    }
+
+    /**
+     * Removes stubs and requests of this namespace, leaving the MockServer and other namespaces running
+     */
+    @Override
+    public void close() {
+        log.info("Closing MockServer namespace {}", urlPrefix);
+        mockServer.removeNamespace(urlPrefix, stubSetHashes);
+    }
+
+    /**
+     * A lazily started JVM-wide MockServer shared by namespaces
+     */
+    private static final class SharedMockServer {
+        private static final MockServer INSTANCE = start();
+
+        private static MockServer start() {
+            MockServer mockServer = new MockServer();
+            Runtime.getRuntime().addShutdownHook(new Thread(mockServer::close, "shared-mock-server-shutdown"));
+            return mockServer;
+        }
+    }
+}
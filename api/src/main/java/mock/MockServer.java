@@ -1,28 +1,38 @@
 package mock;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.admin.model.GetServeEventsResult;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
-import io.restassured.response.Response;
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
-import java.net.ConnectException;
-import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.awaitility.Awaitility;
-import org.awaitility.Durations;
-import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static properties.PrivateProperties.MOCK_CAPACITY_CHECK;
+import static properties.PrivateProperties.MOCK_DAEMON;
+import static properties.PrivateProperties.MOCK_DAEMON_IDLE_TIMEOUT_MINUTES;
+import static properties.PrivateProperties.MOCK_DAEMON_REGISTRY_FILE;
+import static properties.PrivateProperties.MOCK_JOURNAL_EXPORT_DIR;
+import static properties.PrivateProperties.MOCK_JOURNAL_EXPORT_MAX_FILE_MB;
+import static properties.PrivateProperties.MOCK_JOURNAL_MAX_ENTRIES;
+import static properties.PrivateProperties.MOCK_JOURNAL_POLICY;
+import static properties.PrivateProperties.MOCK_JOURNAL_WINDOW_SECONDS;
+import static properties.PrivateProperties.MOCK_SERVER_PROFILE;
+import static properties.PrivateProperties.SSH_TUNNEL_HEALTH_INTERVAL_SECONDS;
+import static properties.PrivateProperties.SSH_TUNNEL_MAX_FAILED_PROBES;
+import static properties.PrivateProperties.SSH_TUNNEL_RACE_TIMEOUT_SECONDS;
+import static properties.PrivateProperties.SSH_TUNNEL_STATS_FILE;
 import static properties.PrivateProperties.START_WIREMOCK_IN_DOCKER;
 import utils.AwaitilityUtil;
-import static utils.JsonMessageTestUtils.objectMapper;
 
 /**
  * A class for managing a WireMock server with SSH tunneling support.
@@ -32,45 +42,274 @@ import static utils.JsonMessageTestUtils.objectMapper;
 
 @Slf4j
 public class MockServer implements Closeable {
-    private static final int MAX_ATTEMPTS_TO_START_SSH_TUNNEL = 5;
+    private static final int MAX_SSH_TUNNEL_RACES = 2;
+    private static final int BOOKER_EMULATOR_CONTAINER_THREADS = 200;
+    private static final String CAPACITY_ENDPOINT = "/__capacity";
+    private static final long BYTES_PER_MB = 1024 * 1024;
     private int wireMockPort;
     private String dockerContainerId;
+    private WireMockDaemon wireMockDaemon;
     private WireMockServer wireMockServer;
-    private SshClient sshClient;
+    private SshTunnelMonitor sshTunnel;
     private WireMockClient wireMockClient;
+    private BookerEmulator bookerEmulator;
+    private RequestJournal requestJournal;
+    private AdminRequestJournal adminJournal;
+    private JournalExport journalExport;
+    private final Set<String> loadedStubSets = ConcurrentHashMap.newKeySet();
+    private final LatencyProfileTransformer latencyProfiles = new LatencyProfileTransformer();
+    private StartupPhases startupPhases;
+    private List<? extends SshTunnelProvider> sshTunnelProviders;
+    private long maxRps;
 
+    /**
+     * Starts WireMock with SSH tunnel and default stubs, blocking until all of them are ready.
+     * See {@link #startAsync()} to do other setup meanwhile
+     */
     public MockServer() {
-        startWireMock();
-        tryToStartSshTunnel();
-        prepareStubs();
+        this(new StartupPhases(), List.of(SshServers.values()));
+        StartupPhases.join(start());
     }
 
+    private MockServer(int port, BookerEmulator bookerEmulator) {
+        this.wireMockPort = port;
+        this.bookerEmulator = bookerEmulator;
+        startBookerEmulator();
+    }
+
+    private MockServer(StartupPhases startupPhases, List<? extends SshTunnelProvider> sshTunnelProviders) {
+        this.startupPhases = startupPhases;
+        this.sshTunnelProviders = sshTunnelProviders;
+    }
+
+    /**
+     * Starts WireMock with SSH tunnel and default stubs in the background. Once WireMock is up,
+     * stubs are registered while the SSH tunnel is being established. The future completes when everything
+     * is ready, or exceptionally after the mock is stopped when any phase fails
+     */
+    public static CompletableFuture<MockServer> startAsync() {
+        return startAsync(List.of(SshServers.values()));
+    }
+
+    /**
+     * Starts the mock in the background as {@link #startAsync()} does, exposing WireMock through tunnels
+     * of the given providers, e.g. fake local commands in tests
+     */
+    public static CompletableFuture<MockServer> startAsync(List<? extends SshTunnelProvider> sshTunnelProviders) {
+        MockServer mockServer = new MockServer(new StartupPhases(), sshTunnelProviders);
+        return mockServer.start().thenApply(started -> mockServer);
+    }
+
+    /**
+     * Starts a local stateful Restful-Booker emulator without SSH tunnel, so the booking helpers
+     * and JMeter plans can be pointed at {@link #getLocalUrl()} instead of the public service.
+     * Port 0 means any free port
+     */
+    public static MockServer startBookerEmulator(int port, BookerEmulator bookerEmulator) {
+        return new MockServer(port, bookerEmulator);
+    }
+
+    /**
+     * Returns the current public URL of the SSH tunnel, which changes when a dropped tunnel is re-established
+     */
     public String getPublicUrl() {
-        return sshClient.getSshServerUrl();
+        return sshTunnel.getPublicUrl();
+    }
+
+    /**
+     * Adds a listener called with the new public URL whenever the SSH tunnel is re-established under another one,
+     * e.g. to repoint clients that took the URL once
+     */
+    public void addPublicUrlListener(Consumer<String> listener) {
+        sshTunnel.addPublicUrlListener(listener);
     }
 
+    public SshTunnelMetrics getSshTunnelMetrics() {
+        return sshTunnel.getMetrics();
+    }
+
+    public String getLocalUrl() {
+        return "http://localhost:" + wireMockPort;
+    }
+
+    /**
+     * Returns the duration of every completed startup phase in the order they completed
+     */
+    public Map<String, Duration> getStartupTimings() {
+        return startupPhases == null ? Map.of() : startupPhases.getTimings();
+    }
+
+    public BookerEmulator getBookerEmulator() {
+        return bookerEmulator;
+    }
+
+    /**
+     * Returns latency profiles of stubs of this server, applied by local WireMock only
+     */
+    public LatencyProfileTransformer getLatencyProfiles() {
+        return latencyProfiles;
+    }
+
+    /**
+     * Measures the max RPS the mock can serve on this machine with a static stub, bypassing the SSH tunnel,
+     * once per server: later calls, e.g. after the check at startup, return the measured value.
+     * Compare it with the target load to tell a slow system under test apart from a saturated mock
+     */
+    public synchronized long checkCapacity() {
+        if (maxRps == 0) {
+            importStubs(new StubSet().add(StubTemplate.GET_JSON_OK.create(CAPACITY_ENDPOINT, "{}")));
+            maxRps = MockCapacityCheck.measureMaxRps(getLocalUrl() + CAPACITY_ENDPOINT);
+        }
+        return maxRps;
+    }
+
+    /**
+     * Registers a stub in WireMock JSON format, tagged with the owner when attached to a {@link WireMockDaemon}
+     */
     public void manageMockEndpoint(String stub) {
-        WireMockClient wireMockClient = new WireMockClient("http://localhost:" + wireMockPort);
-        wireMockClient.sendCreateStubRequest(stub);
+        importStubs(new StubSet().add(stub));
+    }
+
+    /**
+     * Registers the whole stub set with one import: in-process when WireMock is local,
+     * one admin API call when it runs in Docker. Returns false and skips the import
+     * when an identical stub set has already been loaded into this server and is still registered there.
+     * Stubs with streaming bodies are rejected by a remote WireMock, which cannot see the bodies registered
+     * in this JVM, see {@link StreamingBodyTransformer}
+     */
+    public boolean importStubs(StubSet stubSet) {
+        if (isRemote() && stubSet.usesTransformer(StreamingBodyTransformer.NAME)) {
+            throw new IllegalStateException("Streaming bodies are served by local WireMock only, " +
+                    "not by WireMock in Docker or a WireMock daemon");
+        }
+        String hash = stubSet.getHash();
+        StubSet imported = wireMockDaemon != null ?
+                stubSet.withMetadata(WireMockDaemon.OWNER_METADATA, wireMockDaemon.getOwner()) : stubSet;
+        if (loadedStubSets.contains(hash) && wireMockClient.isStubRegistered(imported.getLastId())) {
+            log.info("Stub set {} is already loaded, skipping import", hash);
+            return false;
+        }
+
+        log.info("Importing stub set {} of {} stubs", hash, stubSet.size());
+        if (isRemote()) {
+            wireMockClient.importStubs(imported.toImportJson());
+        } else {
+            wireMockServer.importStubs(imported.toStubImport());
+        }
+        loadedStubSets.add(hash);
+        return true;
+    }
+
+    /**
+     * Removes all stubs, or only own ones when attached to a {@link WireMockDaemon}, and forgets loaded
+     * stub sets, so they are imported again
+     */
+    public void resetStubs() {
+        if (wireMockDaemon != null) {
+            wireMockClient.sendRemoveStubsByMetadataRequest(wireMockDaemon.getOwnerPattern());
+        } else if (dockerContainerId != null) {
+            wireMockClient.sendResetStubsRequest();
+        } else {
+            wireMockServer.resetMappings();
+        }
+        loadedStubSets.clear();
+    }
+
+    /**
+     * Removes served requests under the URL prefix of a {@link MockNamespace}, leaving other namespaces intact
+     */
+    void cleanEvents(String urlPrefix) {
+        if (requestJournal != null) {
+            requestJournal.clear(urlPrefix);
+        } else {
+            wireMockClient.sendRemoveRequestsUnderPrefixRequest(urlPrefix);
+        }
+    }
+
+    /**
+     * Removes stubs and served requests of a {@link MockNamespace} and forgets its stub sets,
+     * so they can be imported again
+     */
+    void removeNamespace(String urlPrefix, Set<String> stubSetHashes) {
+        if (isRemote()) {
+            wireMockClient.sendRemoveStubsByMetadataRequest(StubSet.namespaceMetadataPattern(urlPrefix));
+        } else {
+            wireMockServer.removeStubsByMetadata(StubSet.namespaceMetadataPattern(urlPrefix));
+        }
+        cleanEvents(urlPrefix);
+        loadedStubSets.removeAll(stubSetHashes);
     }
 
     public List<ServeEvent> getAllEvents() {
-        String response = wireMockClient.sendGetRequestsRequest().getBody().asString();
-        try {
-            return objectMapper.readValue(response, GetServeEventsResult.class).getServeEvents();
-        } catch (IOException e) {
-            return null;
+        return requestJournal != null ? requestJournal.getAllEvents() : adminJournal.getAllEvents();
+    }
+
+    /**
+     * Passes every request served by local WireMock to the listener as soon as it has been served,
+     * whatever the journal policy and its eviction. Returns false for a remote WireMock,
+     * whose requests can only be polled with {@link #getAllEvents()}
+     */
+    public boolean addServeEventListener(Consumer<ServeEvent> listener) {
+        if (requestJournal == null) {
+            return false;
         }
+        requestJournal.addListener(listener);
+        return true;
     }
 
+    /**
+     * Removes all served requests, or only the ones matched by own stubs when attached to a {@link WireMockDaemon}
+     */
     public void cleanAllEvents() {
+        if (wireMockDaemon != null) {
+            wireMockClient.sendRemoveRequestsByMetadataRequest(wireMockDaemon.getOwnerPattern());
+            return;
+        }
         wireMockClient.sendCleanRequestsRequest();
+        if (requestJournal != null) {
+            requestJournal.clear();
+        }
+    }
+
+    /**
+     * Waits until at least {@code count} requests to the endpoint have been served. Returns as soon as
+     * the last matching request lands on local WireMock, or polls the admin API of a remote one
+     */
+    public List<ServeEvent> awaitEvents(String endpoint, int count, Duration timeout) {
+        return requestJournal != null ? requestJournal.awaitEvents(endpoint, count, timeout) :
+                adminJournal.awaitEvents(endpoint, count, timeout);
+    }
+
+    /**
+     * Returns how many requests to the endpoint have been served.
+     * Works under every journal policy of local WireMock, including counters-only
+     */
+    public long countEndpointEvents(String endpoint) {
+        return requestJournal != null ? requestJournal.countEvents(endpoint) : adminJournal.countEvents(endpoint);
+    }
+
+    /**
+     * Returns hit counts and latency histograms by stub name. A remote WireMock only has them
+     * for the requests still in its own journal
+     */
+    public Map<String, StubStatistics> getStubStatistics() {
+        return requestJournal != null ? requestJournal.getStubStatistics() : adminJournal.getStubStatistics();
     }
 
+    /**
+     * Waits until a request whose URL contains the endpoint has been served and returns bodies of all such
+     * requests, newest first. Fails under counters-only journal policy, which retains no bodies,
+     * see {@link #countEndpointEvents(String)}. Requests to exactly the endpoint are returned
+     * by {@link #awaitEvents(String, int, Duration)}
+     */
     public List<String> getEndpointEvents(String endpoint) {
+        if (requestJournal != null && requestJournal.getPolicy() == RequestJournalPolicy.COUNTERS_ONLY) {
+            throw new IllegalStateException("Request bodies are not retained under " +
+                    RequestJournalPolicy.COUNTERS_ONLY + " journal policy, count requests to " + endpoint +
+                    " with countEndpointEvents instead");
+        }
         return AwaitilityUtil.waitUntilAsserted(() -> {
-            List<ServeEvent> events = getAllEvents();
-            List<String> requests = events.stream()
+            List<String> requests = getAllEvents().stream()
                     .filter(event -> event.getRequest().getUrl().contains(endpoint))
                     .map(event -> event.getRequest().getBodyAsString())
                     .collect(Collectors.toList());
@@ -82,125 +321,160 @@ public class MockServer implements Closeable {
 
     @Override
     public void close() {
-        log.info("Stopping SSH tunnel");
-        sshClient.close();
+        if (sshTunnel != null) {
+            log.info("Stopping SSH tunnel");
+            sshTunnel.close();
+        }
         stopWireMock();
     }
 
+    /**
+     * Runs startup phases: WireMock first, then the SSH tunnel in parallel with stubs
+     * and the optional capacity check after stubs. WireMock is stopped when any later phase fails
+     */
+    private CompletableFuture<Void> start() {
+        CompletableFuture<Void> wireMock = startupPhases.run("wiremock", this::startWireMock);
+        CompletableFuture<Void> sshTunnel = startupPhases.run("ssh tunnel", this::tryToStartSshTunnel, wireMock);
+        CompletableFuture<Void> stubs = startupPhases.run("stubs", this::prepareStubs, wireMock);
+        CompletableFuture<Void> capacityCheck = Boolean.parseBoolean(MOCK_CAPACITY_CHECK) ?
+                startupPhases.run("capacity check", () -> checkCapacity(), stubs) : stubs;
+
+        return CompletableFuture.allOf(sshTunnel, capacityCheck).whenComplete((started, error) -> {
+            startupPhases.logTimings();
+            if (error != null && wireMock.isDone() && !wireMock.isCompletedExceptionally()) {
+                log.info("MockServer startup failed, stopping it. Error: {}", error.getMessage());
+                close();
+            }
+        });
+    }
+
+    /**
+     * Races tunnels of all SSH providers and keeps the first healthy one, preferring providers
+     * which were faster in previous runs according to the stats file. The tunnel is then monitored
+     * and re-established to the same WireMock port whenever it drops
+     */
     private void tryToStartSshTunnel() {
-        for (int attempt = 1; attempt <= MAX_ATTEMPTS_TO_START_SSH_TUNNEL; attempt++) {
+        Duration timeout = Duration.ofSeconds(Long.parseLong(SSH_TUNNEL_RACE_TIMEOUT_SECONDS));
+        for (int attempt = 1; attempt <= MAX_SSH_TUNNEL_RACES; attempt++) {
             try {
-                log.info("Starting SSH Tunnel, attempt: {}", attempt);
-                sshClient = new SshClient(wireMockPort);
-                Response response = wireMockClient.sendAreWiremockAndTunnelHealthyRequest(sshClient.getSshServerUrl());
-
-                log.info("Checking SSH tunnel availability on {}", sshClient.getSshServerUrl());
-                if (response.getStatusCode() != 200) {
-                    log.info("Failed to connect SSH tunnel, status code: {}, message: {}",
-                            response.getStatusCode(), response.asString());
-                    throw new ConnectException("Status code of health endpoint is " + response.getStatusCode());
-                }
-
+                log.info("Starting SSH tunnel race, attempt: {}", attempt);
+                sshTunnel = SshTunnelMonitor.start(sshTunnelProviders, wireMockPort, this::probeSshTunnel,
+                        SshTunnelStats.load(Path.of(SSH_TUNNEL_STATS_FILE)), timeout,
+                        Duration.ofSeconds(Long.parseLong(SSH_TUNNEL_HEALTH_INTERVAL_SECONDS)),
+                        Integer.parseInt(SSH_TUNNEL_MAX_FAILED_PROBES));
                 log.info("SSH tunnel is available");
                 return;
-
             } catch (IOException e) {
-                log.info("SSH tunnel is unavailable. Stopping it. Error: {}", e.getMessage());
-                sshClient.close();
-
-                if (attempt == MAX_ATTEMPTS_TO_START_SSH_TUNNEL) {
-                    stopWireMock();
-                    throw new RuntimeException("All attempts to start SSH tunnel are spent.");
-                }
+                log.info("SSH tunnel race is lost by all providers. Error: {}", e.getMessage());
             }
         }
+        throw new RuntimeException("All attempts to start SSH tunnel are spent.");
+    }
+
+    private long probeSshTunnel(String sshTunnelUrl) throws IOException {
+        log.info("Checking SSH tunnel availability on {}", sshTunnelUrl);
+        return wireMockClient.probeSshTunnel(sshTunnelUrl);
+    }
+
+    private boolean isRemote() {
+        return dockerContainerId != null || wireMockDaemon != null;
     }
 
     private void startWireMock() {
-        wireMockPort = getAvailablePort();
+        if (Boolean.parseBoolean(MOCK_DAEMON)) {
+            wireMockDaemon = WireMockDaemon.attach(Path.of(MOCK_DAEMON_REGISTRY_FILE),
+                    MockServerProfile.valueOf(MOCK_SERVER_PROFILE),
+                    Duration.ofMinutes(Long.parseLong(MOCK_DAEMON_IDLE_TIMEOUT_MINUTES)));
+            wireMockPort = wireMockDaemon.getPort();
+            wireMockClient = new WireMockClient(getLocalUrl());
+            adminJournal = new AdminRequestJournal(wireMockClient, wireMockDaemon.getOwner());
+            return;
+        }
+
+        wireMockPort = FreePorts.find();
         wireMockClient = new WireMockClient("http://localhost:" + wireMockPort);
+        adminJournal = new AdminRequestJournal(wireMockClient);
 
         if (Boolean.parseBoolean(START_WIREMOCK_IN_DOCKER)) {
-            log.info("Starting WireMock in Docker");
-            try {
-                ProcessBuilder processBuilder = new ProcessBuilder(
-                        "docker", "run", "-d", "--rm", "-p", wireMockPort + ":8080", "wiremock/wiremock:latest");
-                Process process = processBuilder.start();
-                process.waitFor(2, TimeUnit.MINUTES);
-                dockerContainerId = new String(process.getInputStream().readAllBytes()).trim();
-                process.destroyForcibly().waitFor();
-            } catch (IOException | InterruptedException e) {
-                throw new RuntimeException("Failed to start WireMock in Docker", e);
-            }
-            waitDockerStarted();
+            dockerContainerId = WireMockDocker.start(wireMockPort, wireMockClient);
             wireMockServer = new WireMockServer(wireMockPort);
         } else {
-            log.info("Starting local WireMock");
-            wireMockServer = new WireMockServer(
-                    WireMockConfiguration.wireMockConfig()
-                            .port(wireMockPort)
-                            .globalTemplating(true)
-            );
-            wireMockServer.start();
+            startLocalWireMock();
         }
     }
 
-    private void stopWireMock() {
-        if (Boolean.parseBoolean(START_WIREMOCK_IN_DOCKER)) {
-            log.info("Stopping WireMock in Docker");
-            try {
-                Process dockerStopProcess = new ProcessBuilder("docker", "stop", dockerContainerId)
-                        .redirectErrorStream(true)
-                        .start();
+    private void startLocalWireMock() {
+        int journalMaxEntries = Integer.parseInt(MOCK_JOURNAL_MAX_ENTRIES);
+        requestJournal = new RequestJournal(RequestJournalPolicy.valueOf(MOCK_JOURNAL_POLICY), journalMaxEntries,
+                Duration.ofSeconds(Long.parseLong(MOCK_JOURNAL_WINDOW_SECONDS)));
+        log.info("Starting local WireMock with {} profile and {} journal policy",
+                MOCK_SERVER_PROFILE, requestJournal.getPolicy());
+        // The in-process journal owns retention, so WireMock keeps no journal of its own
+        WireMockConfiguration configuration = MockServerProfile.valueOf(MOCK_SERVER_PROFILE)
+                .configure(WireMockConfiguration.wireMockConfig().disableRequestJournal());
+        if (!MOCK_JOURNAL_EXPORT_DIR.isEmpty()) {
+            journalExport = JournalExport.start(Path.of(MOCK_JOURNAL_EXPORT_DIR),
+                    Long.parseLong(MOCK_JOURNAL_EXPORT_MAX_FILE_MB) * BYTES_PER_MB);
+            journalExport.configure(configuration);
+        }
+        wireMockServer = new WireMockServer(
+                configuration
+                        .port(wireMockPort)
+                        .templatingEnabled(true)
+                        .globalTemplating(false)
+                        .extensions(requestJournal, latencyProfiles)
+        );
+        wireMockServer.start();
+    }
 
-                try (BufferedReader reader = new BufferedReader(dockerStopProcess.inputReader())) {
-                    reader.lines().forEach(log::info);
-                }
+    private void startBookerEmulator() {
+        log.info("Starting local Restful-Booker emulator");
+        wireMockServer = new WireMockServer(
+                WireMockConfiguration.wireMockConfig()
+                        .port(wireMockPort)
+                        .containerThreads(BOOKER_EMULATOR_CONTAINER_THREADS)
+                        .disableRequestJournal()
+                        .extensions(bookerEmulator)
+        );
+        wireMockServer.start();
+        wireMockPort = wireMockServer.port();
+        wireMockClient = new WireMockClient(getLocalUrl());
 
-                dockerStopProcess.waitFor();
-            } catch (IOException | InterruptedException e) {
-                log.error("Failed to stop WireMock in Docker", e);
-            }
+        wireMockServer.stubFor(WireMock.any(WireMock.anyUrl())
+                .willReturn(WireMock.aResponse().withTransformers(BookerEmulator.NAME)));
+        log.info("Restful-Booker emulator is available on {}", getLocalUrl());
+    }
+
+    private void stopWireMock() {
+        if (wireMockDaemon != null) {
+            wireMockDaemon.detach();
+        } else if (dockerContainerId != null) {
+            WireMockDocker.stop(dockerContainerId);
         } else {
             log.info("Stopping local WireMock");
             if (wireMockServer.isRunning()) {
                 wireMockServer.stop();
                 wireMockServer.shutdownServer();
             }
+            if (journalExport != null) {
+                journalExport.close();
+            }
         }
     }
 
     private void prepareStubs() {
         log.info("Preparing stubs for WireMock");
 
-        createDefaultStub();
-        wireMockServer.stubFor(WireMock.post("/foo").willReturn(WireMock.ok()));
-        wireMockServer.stubFor(WireMock.post(WireMock.urlMatching("/bar.*")).willReturn(WireMock.ok()));
+        importStubs(new StubSet()
+                .add(createDefaultStub())
+                .add(WireMock.post("/foo").willReturn(WireMock.ok()))
+                .add(WireMock.post(WireMock.urlMatching("/bar.*")).willReturn(WireMock.ok())));
 
         log.info("All stubs for WireMock prepared");
     }
 
-    private int getAvailablePort() {
-        int port = ThreadLocalRandom.current().nextInt(8000, 9000);
-        try (ServerSocket socket = new ServerSocket(port)) {
-            return port;
-        } catch (IOException e) {
-            return getAvailablePort();
-        }
-    }
-
-    private void waitDockerStarted() {
-        log.info("Waiting for WireMock started in Docker");
-        Awaitility.await()
-                .pollInterval(Durations.TEN_SECONDS)
-                .timeout(1, TimeUnit.MINUTES)
-                .untilAsserted(() ->
-                        Assertions.assertEquals(200, wireMockClient.sendIsWireMockHealthyRequest().getStatusCode()));
-        log.info("WireMock is available in Docker");
-    }
-
-    private void createDefaultStub() {
-        String body = JsonStubsBuilder.createJsonStub(
+    private String createDefaultStub() {
+        return JsonStubsBuilder.createJsonStub(
                 "/default",
                 """
                 {
@@ -211,6 +485,5 @@ public class MockServer implements Closeable {
                 null,
                 "POST",
                 200);
-        wireMockClient.sendCreateStubRequest(body);
     }
 }
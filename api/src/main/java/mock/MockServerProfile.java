@@ -0,0 +1,58 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import static properties.PrivateProperties.MOCK_CONTAINER_THREADS;
+import static properties.PrivateProperties.MOCK_MAX_LOGGED_RESPONSE_KB;
+import static properties.PrivateProperties.MOCK_STUB_INDEX;
+
+/**
+ * An enum representing tuning profiles of the local MockServer WireMock.
+ * HIGH_THROUGHPUT is meant for load tests, where the mock must not be the bottleneck.
+ * Under every profile stubs are indexed by {@link StubRouter} unless the mockStubIndex property is false,
+ * and large bodies can be streamed through {@link StreamingBodyTransformer}. Response bodies kept in serve events
+ * are capped at {@value #DEFAULT_MAX_LOGGED_RESPONSE_KB} KB, so a streamed body of any size costs the journal
+ * a bounded copy only. The mockMaxLoggedResponseKb property can raise the cap, but not lower it
+ */
+
+public enum MockServerProfile {
+    /**
+     * WireMock defaults
+     */
+    DEFAULT,
+    /**
+     * More container threads and acceptors, asynchronous delayed responses,
+     * no WireMock own request journal, no verbose logging and no gzip
+     */
+    HIGH_THROUGHPUT;
+
+    public static final int DEFAULT_MAX_LOGGED_RESPONSE_KB = 256;
+    private static final int ACCEPT_QUEUE_SIZE = 1024;
+    private static final int BYTES_PER_KB = 1024;
+
+    public WireMockConfiguration configure(WireMockConfiguration configuration) {
+        WireMockConfiguration tuned = switch (this) {
+            case DEFAULT -> configuration;
+            case HIGH_THROUGHPUT -> configureHighThroughput(configuration);
+        };
+        int maxLoggedResponseKb = MOCK_MAX_LOGGED_RESPONSE_KB.isEmpty() ? DEFAULT_MAX_LOGGED_RESPONSE_KB :
+                Math.max(DEFAULT_MAX_LOGGED_RESPONSE_KB, Integer.parseInt(MOCK_MAX_LOGGED_RESPONSE_KB));
+        WireMockConfiguration capped = tuned.maxLoggedResponseSize(maxLoggedResponseKb * BYTES_PER_KB);
+        WireMockConfiguration streaming = StreamingBodyTransformer.INSTANCE.configure(capped);
+        return Boolean.parseBoolean(MOCK_STUB_INDEX) ? new StubRouter().configure(streaming) : streaming;
+    }
+
+    private static WireMockConfiguration configureHighThroughput(WireMockConfiguration configuration) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return configuration
+                .containerThreads(Integer.parseInt(MOCK_CONTAINER_THREADS))
+                .jettyAcceptors(Math.max(1, processors / 2))
+                .jettyAcceptQueueSize(ACCEPT_QUEUE_SIZE)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(processors * 2)
+                .disableRequestJournal()
+                .stubRequestLoggingDisabled(true)
+                .notifier(new Slf4jNotifier(false))
+                .gzipDisabled(true);
+    }
+}
@@ -0,0 +1,236 @@
+package mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.awaitility.Awaitility;
+import org.awaitility.core.ConditionTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PostProcessor;
+import us.abstracta.jmeter.javadsl.core.postprocessors.DslJsr223PostProcessor;
+import utils.AwaitilityUtil;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+/**
+ * Measures how long an asynchronous flow of the system under test takes to reach the mock: the time from
+ * a trigger, stamped under a key, to the arrival of the first downstream request to the endpoint carrying
+ * the same key. Arrival is the time WireMock logged the request, so polling the serve events does not add up
+ * to the latency, which has millisecond resolution. Latencies of many iterations, e.g. of a load test,
+ * are kept in a histogram in milliseconds. Requests are matched to the endpoint as {@link RequestJournal} does,
+ * and every poll only reads the serve events logged since the previous one, so keys of a long load test are joined
+ * in time proportional to the number of requests. A bounded journal may evict requests of a long load test
+ * before they are polled, so such a test should pass every served request to {@link #arrive(ServeEvent)} instead,
+ * see {@link #listening(String, MockServer, Function)}. Keys of a JMeter plan are stamped
+ * by {@link #stampOnSample(String)}
+ */
+
+public class PropagationLatency {
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    /**
+     * Serve events appear in the journal when the response is sent, so a request may be listed
+     * after requests logged later than it by up to its own duration
+     */
+    private static final long LATE_EVENT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final String endpoint;
+    private final Supplier<List<ServeEvent>> serveEvents;
+    private final Function<ServeEvent, String> keyOf;
+    private final Map<String, Long> triggers = new ConcurrentHashMap<>();
+    private final Map<String, Long> arrivals = new ConcurrentHashMap<>();
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3);
+    private final Map<UUID, Long> readEvents = new HashMap<>();
+    private final Map<String, List<Long>> unjoinedArrivals = new HashMap<>();
+    private long cursorMillis;
+
+    /**
+     * Reads the key of downstream requests to the endpoint by the function, e.g. {@link #jsonField(String)}.
+     * Serve events must be listed newest first, as {@link MockServer#getAllEvents()} and WireMock do
+     */
+    public PropagationLatency(String endpoint, Supplier<List<ServeEvent>> serveEvents,
+                              Function<ServeEvent, String> keyOf) {
+        this.endpoint = endpoint;
+        this.serveEvents = serveEvents;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Records requests to the endpoint of local WireMock as soon as they are served, so none of them is lost
+     * to the eviction of the journal, or polls the journal of a remote one
+     */
+    public static PropagationLatency listening(String endpoint, MockServer mockServer,
+                                               Function<ServeEvent, String> keyOf) {
+        PropagationLatency latency = new PropagationLatency(endpoint, List::of, keyOf);
+        return mockServer.addServeEventListener(latency::arrive) ? latency :
+                new PropagationLatency(endpoint, mockServer::getAllEvents, keyOf);
+    }
+
+    /**
+     * Reads the key from a top-level field of the JSON request body, or null when there is no such field
+     */
+    public static Function<ServeEvent, String> jsonField(String field) {
+        return serveEvent -> {
+            try {
+                JsonNode value = objectMapper.readTree(serveEvent.getRequest().getBodyAsString()).get(field);
+                return value == null ? null : value.asText();
+            } catch (IOException e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Stamps the trigger time of the key now, e.g. from a JMeter pre-processor.
+     * Arrivals are joined later by {@link #awaitArrivals(Duration)}
+     */
+    public void stamp(String key) {
+        triggers.put(key, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the arrival of a served request, e.g. from a serve event listener, to be joined with its key
+     * by {@link #awaitArrivals(Duration)}. Requests to other endpoints are ignored
+     */
+    public synchronized void arrive(ServeEvent serveEvent) {
+        addArrival(serveEvent, serveEvent.getRequest().getLoggedDate().getTime());
+    }
+
+    /**
+     * Returns a JMeter post-processor stamping the key held by the variable, e.g. extracted from the response,
+     * with the start time of the sample it is attached to. Arrivals are joined later
+     * by {@link #awaitArrivals(Duration)}
+     */
+    public DslJsr223PostProcessor stampOnSample(String keyVariable) {
+        return jsr223PostProcessor(s -> {
+            String key = s.vars.get(keyVariable);
+            if (key != null) {
+                triggers.put(key, s.prev.getStartTime());
+            }
+        });
+    }
+
+    /**
+     * Stamps the key, runs the trigger and waits for the downstream request carrying the key.
+     * Returns its propagation latency, or fails when the request has not arrived within the timeout
+     */
+    public Duration measure(String key, Runnable trigger, Duration timeout) {
+        stamp(key);
+        trigger.run();
+        return AwaitilityUtil.waitUntilAsserted(timeout, POLL_INTERVAL, () -> {
+            collectArrivals();
+            Long millis = arrivals.remove(key);
+            Assertions.assertNotNull(millis, "No request to " + endpoint + " with key " + key);
+            return Duration.ofMillis(millis);
+        });
+    }
+
+    /**
+     * Waits until requests carrying all stamped keys have arrived, or the timeout expires.
+     * Returns how many stamped keys have still not arrived
+     */
+    public int awaitArrivals(Duration timeout) {
+        try {
+            Awaitility.await()
+                    .pollInterval(POLL_INTERVAL)
+                    .timeout(timeout)
+                    .until(() -> {
+                        collectArrivals();
+                        return triggers.isEmpty();
+                    });
+        } catch (ConditionTimeoutException e) {
+            collectArrivals();
+        }
+        return triggers.size();
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+
+    public long getPercentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns how many stamped keys are still waiting for their downstream request
+     */
+    public int countPending() {
+        return triggers.size();
+    }
+
+    /**
+     * Returns latencies in milliseconds by key of the requests arrived so far, except the ones
+     * already returned by {@link #measure(String, Runnable, Duration)}
+     */
+    public Map<String, Long> getArrivals() {
+        return Map.copyOf(arrivals);
+    }
+
+    /**
+     * Forgets stamped keys, recorded latencies and downstream requests read so far, e.g. between iterations of a test
+     */
+    public synchronized void clear() {
+        triggers.clear();
+        arrivals.clear();
+        latencies.reset();
+        unjoinedArrivals.clear();
+    }
+
+    /**
+     * Joins stamped keys with the earliest request carrying them logged after the stamp,
+     * records their latencies and stops waiting for them
+     */
+    private synchronized void collectArrivals() {
+        readNewEvents();
+        for (String key : List.copyOf(triggers.keySet())) {
+            long triggered = triggers.get(key);
+            List<Long> loggedMillis = unjoinedArrivals.getOrDefault(key, List.of());
+            loggedMillis.stream().filter(millis -> millis >= triggered).min(Long::compare).ifPresent(millis -> {
+                triggers.remove(key);
+                unjoinedArrivals.remove(key);
+                arrivals.put(key, millis - triggered);
+                latencies.recordValue(Math.min(millis - triggered, HIGHEST_TRACKABLE_MILLIS));
+            });
+        }
+    }
+
+    /**
+     * Reads keys of the requests to the endpoint logged since the previous poll, re-reading only the events
+     * within {@value #LATE_EVENT_MILLIS} ms before the newest one, which may have been listed late
+     */
+    private void readNewEvents() {
+        long newestMillis = cursorMillis;
+        for (ServeEvent serveEvent : serveEvents.get()) {
+            long loggedMillis = serveEvent.getRequest().getLoggedDate().getTime();
+            if (loggedMillis < cursorMillis - LATE_EVENT_MILLIS) {
+                break;
+            }
+            newestMillis = Math.max(newestMillis, loggedMillis);
+            if (readEvents.putIfAbsent(serveEvent.getId(), loggedMillis) == null) {
+                addArrival(serveEvent, loggedMillis);
+            }
+        }
+        cursorMillis = newestMillis;
+        readEvents.values().removeIf(millis -> millis < cursorMillis - LATE_EVENT_MILLIS);
+    }
+
+    private void addArrival(ServeEvent serveEvent, long loggedMillis) {
+        String key = RequestJournal.matches(serveEvent.getRequest().getUrl(), endpoint) ?
+                keyOf.apply(serveEvent) : null;
+        if (key != null) {
+            unjoinedArrivals.computeIfAbsent(key, unjoined -> new ArrayList<>()).add(loggedMillis);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * An in-process request journal for WireMock, fed by a serve event listener instead of admin API polling.
+ * Serve events are indexed by request path and retained according to a {@link RequestJournalPolicy},
+ * so endpoint queries cost O(matches) instead of O(journal), and awaiting threads are woken up
+ * as soon as a matching request has been served. Per-stub hit counts and latencies are kept under any policy.
+ *
+ * <p>Id-like path segments, i.e. numbers, UUIDs and long hex strings, are indexed as {@value #ID_SEGMENT},
+ * so {@code /booking/1} and {@code /booking/2} share the {@code /booking/{id}} endpoint and its counters,
+ * and at most {@value #MAX_ENDPOINTS} endpoints are indexed, further ones being counted under
+ * {@value #OTHER_ENDPOINTS}. An endpoint is matched as WireMock matches URLs: by the whole URL when it has
+ * a query string, like {@code urlEqualTo}, otherwise by the path, like {@code urlPathEqualTo}</p>
+ */
+
+public class RequestJournal implements ServeEventListener {
+    public static final String NAME = "request-journal";
+    public static final String UNMATCHED_STUB = "unmatched";
+    public static final String ID_SEGMENT = "{id}";
+    public static final String OTHER_ENDPOINTS = "{other}";
+    static final int MAX_ENDPOINTS = 10_000;
+    private static final Pattern ID_LIKE = Pattern.compile(
+            "\\d+|\\p{XDigit}{8}(-\\p{XDigit}{4}){3}-\\p{XDigit}{12}|(?=.*\\d)\\p{XDigit}{16,}");
+
+    private final Map<String, EndpointEvents> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, StubStatistics> stubs = new ConcurrentHashMap<>();
+    private final List<Consumer<ServeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Object monitor = new Object();
+    private final RequestJournalPolicy policy;
+    private final int maxEntries;
+    private final Duration timeWindow;
+
+    public RequestJournal(RequestJournalPolicy policy, int maxEntries, Duration timeWindow) {
+        if (policy == RequestJournalPolicy.MAX_ENTRIES && maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries of request journal must be positive, but is " +
+                    maxEntries);
+        }
+        if (policy == RequestJournalPolicy.TIME_WINDOW && (timeWindow.isZero() || timeWindow.isNegative())) {
+            throw new IllegalArgumentException("Time window of request journal must be positive, but is " +
+                    timeWindow);
+        }
+        this.policy = policy;
+        this.maxEntries = maxEntries;
+        this.timeWindow = timeWindow;
+    }
+
+    public RequestJournal(int maxEntries) {
+        this(RequestJournalPolicy.MAX_ENTRIES, maxEntries, Duration.ZERO);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        Integer totalTime = serveEvent.getTiming().getTotalTime();
+        StubStatistics statistics = stubs.computeIfAbsent(stubNameOf(serveEvent), key -> new StubStatistics());
+        statistics.recordHit(totalTime == null ? 0 : totalTime);
+        StubMatch match = StubMatch.of(serveEvent);
+        if (match != null) {
+            statistics.recordMatch(match.getNanos());
+        }
+
+        endpointEvents(endpointKey(serveEvent.getRequest().getUrl())).add(serveEvent);
+        listeners.forEach(listener -> listener.accept(serveEvent));
+
+        if (waiters.get() > 0) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Passes every served request to the listener as soon as it has been served, whatever the retention policy,
+     * e.g. to follow a long load test without the journal evicting its requests first
+     */
+    public void addListener(Consumer<ServeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public RequestJournalPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns retained serve events of the endpoint, oldest first.
+     * Nothing is retained under {@link RequestJournalPolicy#COUNTERS_ONLY}
+     */
+    public List<ServeEvent> getEvents(String endpoint) {
+        EndpointEvents endpointEvents = endpoints.get(endpointKey(endpoint));
+        if (endpointEvents == null) {
+            return List.of();
+        }
+        return endpointEvents.snapshot().stream()
+                .filter(event -> matches(event.getRequest().getUrl(), endpoint))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns all retained serve events, newest first as the WireMock admin API does
+     */
+    public List<ServeEvent> getAllEvents() {
+        return endpoints.values().stream()
+                .flatMap(endpointEvents -> endpointEvents.snapshot().stream())
+                .sorted(Comparator.comparing((ServeEvent event) -> event.getRequest().getLoggedDate()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns how many requests to the endpoint have been served, including the ones not retained.
+     * Requests to an endpoint with a query string or an id are counted among retained events, so under
+     * {@link RequestJournalPolicy#COUNTERS_ONLY} they can only be counted by the endpoint path with
+     * {@value #ID_SEGMENT}, e.g. {@code /booking/{id}}
+     */
+    public long countEvents(String endpoint) {
+        String key = endpointKey(endpoint);
+        if (key.equals(endpoint)) {
+            EndpointEvents endpointEvents = endpoints.get(key);
+            return endpointEvents == null ? 0 : endpointEvents.total();
+        }
+        if (policy == RequestJournalPolicy.COUNTERS_ONLY) {
+            throw new IllegalStateException("Requests to " + endpoint + " are not retained under " + policy +
+                    " journal policy, count them by " + key + " instead");
+        }
+        return getEvents(endpoint).size();
+    }
+
+    /**
+     * Returns hit counts and latency histograms by stub name, or by stub id for unnamed stubs
+     */
+    public Map<String, StubStatistics> getStubStatistics() {
+        return Map.copyOf(stubs);
+    }
+
+    /**
+     * Blocks until at least {@code count} requests to the endpoint have been served and returns the retained ones.
+     * Fails with {@link AssertionError} when the timeout expires first
+     */
+    public List<ServeEvent> awaitEvents(String endpoint, int count, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        waiters.incrementAndGet();
+        try {
+            synchronized (monitor) {
+                long served = countEvents(endpoint);
+                while (served < count) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new AssertionError("Expected at least " + count + " requests to " + endpoint +
+                                " within " + timeout + ", but got " + served);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                    served = countEvents(endpoint);
+                }
+                return getEvents(endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while awaiting requests to " + endpoint, e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    public void clear() {
+        endpoints.clear();
+        stubs.clear();
+    }
+
+    /**
+     * Drops retained events and counters of the endpoints under the path prefix only, e.g. of one namespace.
+     * The prefix is matched by whole path segments, so clearing {@code /ns/foo-1} keeps {@code /ns/foo-10}.
+     * Per-stub statistics are kept
+     */
+    public void clear(String pathPrefix) {
+        String keyPrefix = endpointKey(pathPrefix);
+        endpoints.keySet().removeIf(key -> key.equals(keyPrefix) || key.startsWith(keyPrefix + "/"));
+    }
+
+    /**
+     * Tells whether the served request URL belongs to the endpoint, the same way for the in-process
+     * and the admin API journal
+     */
+    static boolean matches(String url, String endpoint) {
+        if (endpoint.contains("?")) {
+            return url.equals(endpoint);
+        }
+        String path = pathOf(url);
+        return path.equals(endpoint) || endpoint.contains(ID_SEGMENT) && endpointKey(path).equals(endpoint);
+    }
+
+    /**
+     * Returns the path of the URL with id-like segments replaced by {@value #ID_SEGMENT}
+     */
+    static String endpointKey(String url) {
+        String[] segments = pathOf(url).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_LIKE.matcher(segments[i]).matches()) {
+                segments[i] = ID_SEGMENT;
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private EndpointEvents endpointEvents(String key) {
+        EndpointEvents endpointEvents = endpoints.get(key);
+        if (endpointEvents != null) {
+            return endpointEvents;
+        }
+        String boundedKey = endpoints.size() < MAX_ENDPOINTS ? key : OTHER_ENDPOINTS;
+        return endpoints.computeIfAbsent(boundedKey, any -> EndpointEvents.of(policy, maxEntries, timeWindow));
+    }
+
+    private static String pathOf(String url) {
+        return url.split("\\?", 2)[0];
+    }
+
+    static String stubNameOf(ServeEvent serveEvent) {
+        StubMapping stubMapping = serveEvent.getStubMapping();
+        if (!serveEvent.getWasMatched() || stubMapping == null) {
+            return UNMATCHED_STUB;
+        }
+        return stubMapping.getName() != null ? stubMapping.getName() : String.valueOf(stubMapping.getId());
+    }
+}
@@ -0,0 +1,25 @@
+package mock;
+
+/**
+ * An enum representing retention policies of the in-process {@link RequestJournal} of local MockServer WireMock,
+ * which keeps no journal of its own then. Entry limits always apply per endpoint, never to the whole journal
+ */
+
+public enum RequestJournalPolicy {
+    /**
+     * Every served request is kept
+     */
+    UNBOUNDED,
+    /**
+     * Only the latest mockJournalMaxEntries requests are kept per endpoint, older ones are evicted
+     */
+    MAX_ENTRIES,
+    /**
+     * Only requests served within the latest time window are kept
+     */
+    TIME_WINDOW,
+    /**
+     * No request is kept, only per-endpoint and per-stub hit counts and latency histograms
+     */
+    COUNTERS_ONLY
+}
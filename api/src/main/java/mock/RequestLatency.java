@@ -0,0 +1,36 @@
+package mock;
+
+import lombok.Getter;
+
+/**
+ * Latency of a single request seen by JMeter and split into {@link LatencyComponent}s
+ * by the serve event of the same request
+ */
+
+@Getter
+public class RequestLatency {
+    private final String correlationId;
+    private final String label;
+    private final long sampleMillis;
+    private final long mockMillis;
+    private final long networkMillis;
+    private final long clientMillis;
+
+    RequestLatency(String correlationId, String label, long sampleMillis,
+                   long mockMillis, long networkMillis, long clientMillis) {
+        this.correlationId = correlationId;
+        this.label = label;
+        this.sampleMillis = sampleMillis;
+        this.mockMillis = mockMillis;
+        this.networkMillis = networkMillis;
+        this.clientMillis = clientMillis;
+    }
+
+    public long getMillis(LatencyComponent component) {
+        return switch (component) {
+            case MOCK -> mockMillis;
+            case NETWORK -> networkMillis;
+            case CLIENT -> clientMillis;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package mock;
 
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.regex.Matcher;
@@ -13,14 +14,41 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class SshClient implements AutoCloseable {
-    private final SshServers sshServer;
+    private final SshTunnelProvider sshServer;
     private final Process sshProcess;
     private final String url;
 
     public SshClient(int port) throws IOException {
-        this.sshServer = SshServers.getRandomServer();
-        this.sshProcess = new ProcessBuilder(sshServer.getSshCommandWithSpecifiedPort(port)).start();
-        this.url = createSshUrl();
+        this(SshServers.getRandomServer(), port);
+    }
+
+    public SshClient(SshTunnelProvider sshServer, int port) throws IOException {
+        this(sshServer, startProcess(sshServer, port));
+    }
+
+    /**
+     * Waits for the already started SSH process to report its URL. Destroying the process meanwhile
+     * ends the wait with {@link IOException}
+     */
+    SshClient(SshTunnelProvider sshServer, Process sshProcess) throws IOException {
+        this.sshServer = sshServer;
+        this.sshProcess = sshProcess;
+        BufferedReader output = new BufferedReader(new InputStreamReader(sshProcess.getInputStream()));
+        this.url = createSshUrl(output);
+        if (url == null) {
+            sshProcess.destroyForcibly();
+            throw new IOException("SSH tunnel " + sshServer.name() + " has not reported its URL");
+        }
+        pumpOutput(output);
+    }
+
+    /**
+     * Starts the SSH process of the provider with merged stdout and stderr
+     */
+    static Process startProcess(SshTunnelProvider sshServer, int port) throws IOException {
+        return new ProcessBuilder(sshServer.getSshCommandWithSpecifiedPort(port))
+                .redirectErrorStream(true)
+                .start();
     }
 
     public String getSshServerUrl() {
@@ -31,6 +59,14 @@ public class SshClient implements AutoCloseable {
         }
     }
 
+    public String getProviderName() {
+        return sshServer.name();
+    }
+
+    public boolean isAlive() {
+        return sshProcess.isAlive();
+    }
+
     @Override
     public void close() {
         log.info("Stopping SSH tunnel");
@@ -43,13 +79,13 @@ public class SshClient implements AutoCloseable {
         log.info("SSH tunnel has been stopped.");
     }
 
-    private String createSshUrl() {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(sshProcess.getInputStream()))) {
+    private String createSshUrl(BufferedReader output) {
+        try {
             String consoleLine;
             do {
-                consoleLine = reader.readLine();
+                consoleLine = output.readLine();
                 if (consoleLine == null) {
-                    throw new IllegalStateException("SSH process output is empty.");
+                    throw new EOFException("SSH process output is empty.");
                 }
             } while (!sshServer.getRegex().matcher(consoleLine).find());
 
@@ -60,8 +96,27 @@ public class SshClient implements AutoCloseable {
                 return sshUrl;
             }
         } catch (IOException e) {
-            log.warn("Impossible to determine SSH tunnel URL for {}", sshServer.name());
+            log.warn("Impossible to determine SSH tunnel URL for {}: {}", sshServer.name(), e.getMessage());
         }
         return null;
     }
+
+    /**
+     * Keeps draining the merged stdout and stderr of the SSH process in the background,
+     * so a full pipe buffer never stalls the tunnel. The pump ends with the process
+     */
+    private void pumpOutput(BufferedReader output) {
+        Thread pump = new Thread(() -> {
+            try (output) {
+                String consoleLine;
+                while ((consoleLine = output.readLine()) != null) {
+                    log.debug("SSH tunnel {}: {}", sshServer.name(), consoleLine);
+                }
+            } catch (IOException e) {
+                log.debug("SSH tunnel {} output is closed: {}", sshServer.name(), e.getMessage());
+            }
+        }, "ssh-tunnel-output-" + sshServer.name());
+        pump.setDaemon(true);
+        pump.start();
+    }
 }
@@ -12,7 +12,7 @@ import lombok.RequiredArgsConstructor;
 
 @Getter
 @RequiredArgsConstructor
-public enum SshServers {
+public enum SshServers implements SshTunnelProvider {
     LOCALTUNNEL_ME(
             "lt -p PortPlaceholder -h https://localtunnel.me",
             Pattern.compile("your url is: (https://[\\w\\-\\.]+)")
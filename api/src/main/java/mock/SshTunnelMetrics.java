@@ -0,0 +1,72 @@
+package mock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Health metrics of an SSH tunnel kept by {@link SshTunnelMonitor}: uptime of the current tunnel, reconnects,
+ * and the count and latency histogram of health probes sent through the tunnel. Latencies are in milliseconds
+ */
+
+public class SshTunnelMetrics {
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder failedProbes = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final Histogram probeLatencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3);
+    private volatile Instant establishedAt = Instant.now();
+
+    /**
+     * Returns how long the current tunnel has been up since it was established or re-established
+     */
+    public Duration getUptime() {
+        return Duration.between(establishedAt, Instant.now());
+    }
+
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getFailedProbes() {
+        return failedProbes.sum();
+    }
+
+    public Histogram getProbeLatencies() {
+        return probeLatencies.copy();
+    }
+
+    public long getProbeLatencyPercentileMillis(double percentile) {
+        return probeLatencies.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("uptime=%ss, reconnects=%d, probes=%d, failedProbes=%d, probeLatencyMs(p50=%d, p99=%d)",
+                getUptime().toSeconds(), getReconnects(), getProbes(), getFailedProbes(),
+                getProbeLatencyPercentileMillis(50), getProbeLatencyPercentileMillis(99));
+    }
+
+    void recordProbe(long latencyMillis) {
+        probes.increment();
+        probeLatencies.recordValue(Math.min(Math.max(latencyMillis, 0), HIGHEST_TRACKABLE_MILLIS));
+    }
+
+    void recordFailedProbe() {
+        probes.increment();
+        failedProbes.increment();
+    }
+
+    void recordReconnect() {
+        reconnects.increment();
+        establishedAt = Instant.now();
+    }
+}
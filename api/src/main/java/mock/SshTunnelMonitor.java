@@ -0,0 +1,158 @@
+package mock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A self-healing SSH tunnel to a fixed local port. The tunnel is probed periodically through its public URL,
+ * and when the SSH process dies or several probes in a row fail, it is re-established by a new
+ * {@link SshTunnelRace} to the same local port. The public URL may change on reconnect, so callers should
+ * always take the current one from {@link #getPublicUrl()}, or be told about the new one by a listener added
+ * with {@link #addPublicUrlListener(Consumer)}. Uptime, reconnects and probe latency are exported
+ * as {@link SshTunnelMetrics}
+ */
+
+@Slf4j
+public class SshTunnelMonitor implements Closeable {
+    private final List<? extends SshTunnelProvider> providers;
+    private final int port;
+    private final SshTunnelProbe probe;
+    private final SshTunnelStats stats;
+    private final Duration raceTimeout;
+    private final int maxFailedProbes;
+    private final SshTunnelMetrics metrics = new SshTunnelMetrics();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ssh-tunnel-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Consumer<String>> publicUrlListeners = new CopyOnWriteArrayList<>();
+    private volatile SshClient sshClient;
+    private int consecutiveFailedProbes;
+
+    private SshTunnelMonitor(List<? extends SshTunnelProvider> providers, int port, SshTunnelProbe probe,
+                             SshTunnelStats stats, Duration raceTimeout, int maxFailedProbes) {
+        this.providers = providers;
+        this.port = port;
+        this.probe = probe;
+        this.stats = stats;
+        this.raceTimeout = raceTimeout;
+        this.maxFailedProbes = maxFailedProbes;
+    }
+
+    /**
+     * Races providers for a tunnel to the local port and starts probing it every health interval,
+     * failing with {@link IOException} when no tunnel becomes healthy
+     */
+    public static SshTunnelMonitor start(List<? extends SshTunnelProvider> providers, int port, SshTunnelProbe probe,
+                                         SshTunnelStats stats, Duration raceTimeout, Duration healthInterval,
+                                         int maxFailedProbes) throws IOException {
+        SshTunnelMonitor monitor = new SshTunnelMonitor(providers, port, probe, stats, raceTimeout, maxFailedProbes);
+        monitor.sshClient = SshTunnelRace.start(providers, port, probe, stats, raceTimeout);
+        monitor.scheduler.scheduleWithFixedDelay(monitor::checkHealth,
+                healthInterval.toMillis(), healthInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    public String getPublicUrl() {
+        return sshClient.getSshServerUrl();
+    }
+
+    /**
+     * Adds a listener called with the new public URL on the monitor thread whenever a reconnect changes it
+     */
+    public void addPublicUrlListener(Consumer<String> listener) {
+        publicUrlListeners.add(listener);
+    }
+
+    public SshTunnelMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(raceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sshClient.close();
+        log.info("SSH tunnel metrics: {}", metrics);
+    }
+
+    /**
+     * Runs one health check. Any failure is logged instead of thrown, since an exception escaping a task
+     * of {@link ScheduledExecutorService#scheduleWithFixedDelay} silently cancels all further checks
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void checkHealth() {
+        try {
+            boolean healthy = sshClient.isAlive() && isProbeSuccessful(sshClient.getSshServerUrl());
+            consecutiveFailedProbes = healthy ? 0 : consecutiveFailedProbes + 1;
+            if (!sshClient.isAlive() || consecutiveFailedProbes >= maxFailedProbes) {
+                reconnect();
+            }
+        } catch (RuntimeException | AssertionError e) {
+            log.warn("SSH tunnel health check failed, retrying on the next one: {}", e.toString());
+        }
+    }
+
+    /**
+     * Counts a probe throwing anything, e.g. an {@link AssertionError} of a global RestAssured response
+     * specification, as failed
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private boolean isProbeSuccessful(String publicUrl) {
+        long start = System.nanoTime();
+        try {
+            probe.probe(publicUrl);
+            metrics.recordProbe(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (IOException | RuntimeException | AssertionError e) {
+            metrics.recordFailedProbe();
+            log.warn("SSH tunnel probe on {} failed: {}", publicUrl, e.toString());
+            return false;
+        }
+    }
+
+    private void reconnect() {
+        String previousUrl = sshClient.getSshServerUrl();
+        log.warn("SSH tunnel {} of {} is down, re-establishing it to local port {}",
+                previousUrl, sshClient.getProviderName(), port);
+        sshClient.close();
+        try {
+            sshClient = SshTunnelRace.start(providers, port, probe, stats, raceTimeout);
+            consecutiveFailedProbes = 0;
+            metrics.recordReconnect();
+            log.warn("SSH tunnel is re-established with URL {}", sshClient.getSshServerUrl());
+        } catch (IOException e) {
+            log.warn("Failed to re-establish SSH tunnel, retrying on the next health check: {}", e.getMessage());
+            return;
+        }
+        String publicUrl = sshClient.getSshServerUrl();
+        if (!previousUrl.equals(publicUrl)) {
+            publicUrlListeners.forEach(listener -> notifyPublicUrl(listener, publicUrl));
+        }
+    }
+
+    /**
+     * Calls the listener as a separate task of the monitor thread, so a failing listener never stops health checks
+     */
+    private void notifyPublicUrl(Consumer<String> listener, String publicUrl) {
+        CompletableFuture.runAsync(() -> listener.accept(publicUrl), scheduler).whenComplete((notified, error) -> {
+            if (error != null) {
+                log.warn("SSH tunnel public URL listener failed: {}", error.getMessage());
+            }
+        });
+    }
+}
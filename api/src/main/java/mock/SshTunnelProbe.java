@@ -0,0 +1,14 @@
+package mock;
+
+import java.io.IOException;
+
+/**
+ * A functional interface of SSH tunnel health probes. A probe sends a request through the tunnel public URL
+ * and returns the number of bytes received, or throws when the tunnel is not healthy
+ */
+
+@FunctionalInterface
+public interface SshTunnelProbe {
+
+    long probe(String tunnelUrl) throws IOException;
+}
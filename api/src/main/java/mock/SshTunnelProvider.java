@@ -0,0 +1,17 @@
+package mock;
+
+import java.util.regex.Pattern;
+
+/**
+ * An interface of SSH tunnel providers: a command exposing a local port and a pattern of the public URL
+ * the command prints. {@link SshServers} are the real providers, tests may use fake local commands
+ */
+
+public interface SshTunnelProvider {
+
+    String name();
+
+    String[] getSshCommandWithSpecifiedPort(int port);
+
+    Pattern getRegex();
+}
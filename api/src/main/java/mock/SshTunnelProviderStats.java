@@ -0,0 +1,20 @@
+package mock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A class representing recorded performance of a single SSH tunnel provider:
+ * attempts, failures and exponentially weighted round-trip latency and throughput of health probes
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SshTunnelProviderStats {
+    private long attempts;
+    private long failures;
+    private double latencyMillis;
+    private double throughputBytesPerSecond;
+}
@@ -0,0 +1,196 @@
+package mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A race of SSH tunnel providers started in parallel for the same local port.
+ * The first tunnel passing the health probe wins, unless a provider with a better recorded score also becomes
+ * healthy within a short preference window. All other tunnels are torn down, including ones still waiting for
+ * their URL or probe, and probe latency and throughput of every provider are recorded in {@link SshTunnelStats}
+ * to rank providers in future runs
+ */
+
+@Slf4j
+public final class SshTunnelRace {
+    private static final Duration PREFERENCE_WINDOW = Duration.ofSeconds(2);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(5);
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<? extends SshTunnelProvider> providers;
+    private final SshTunnelStats stats;
+    private final SshTunnelProbe probe;
+    private final List<Contender> healthy = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+    private final CountDownLatch attemptsDone;
+    private boolean finished;
+    private Contender winner;
+
+    private SshTunnelRace(List<? extends SshTunnelProvider> providers, SshTunnelStats stats, SshTunnelProbe probe) {
+        this.providers = stats.rank(providers);
+        this.stats = stats;
+        this.probe = probe;
+        this.attemptsDone = new CountDownLatch(providers.size());
+    }
+
+    /**
+     * Starts tunnels of all providers to the local port and returns the winner,
+     * failing with {@link IOException} when no tunnel becomes healthy within the timeout
+     */
+    public static SshClient start(List<? extends SshTunnelProvider> providers, int port, SshTunnelProbe probe,
+                                  SshTunnelStats stats, Duration timeout) throws IOException {
+        SshTunnelRace race = new SshTunnelRace(providers, stats, probe);
+        ExecutorService executor = Executors.newFixedThreadPool(providers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "ssh-tunnel-race");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            race.providers.forEach(provider -> executor.execute(() -> race.attempt(provider, port)));
+            return race.awaitWinner(timeout);
+        } finally {
+            executor.shutdownNow();
+            race.awaitAttempts();
+            stats.save();
+        }
+    }
+
+    private void attempt(SshTunnelProvider provider, int port) {
+        SshClient sshClient = null;
+        try {
+            Process process = track(SshClient.startProcess(provider, port));
+            sshClient = new SshClient(provider, process);
+            long start = System.nanoTime();
+            long bytes = probe.probe(sshClient.getSshServerUrl());
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            stats.recordSuccess(provider.name(), latencyMillis, bytes);
+            log.info("SSH tunnel {} is healthy, probe latency {} ms", provider.name(), latencyMillis);
+            offer(new Contender(provider.name(), sshClient, process));
+        } catch (IOException e) {
+            recordFailure(provider, e);
+            if (sshClient != null) {
+                sshClient.close();
+            }
+        } finally {
+            attemptsDone.countDown();
+        }
+    }
+
+    /**
+     * Keeps the handle of a just started process to destroy it when the race ends before it becomes healthy
+     */
+    private synchronized Process track(Process process) throws IOException {
+        if (finished) {
+            process.destroyForcibly();
+            throw new IOException("The race is over");
+        }
+        processes.add(process);
+        return process;
+    }
+
+    /**
+     * Records the failure unless the tunnel was stopped because another one has already won the race
+     */
+    private synchronized void recordFailure(SshTunnelProvider provider, IOException e) {
+        if (winner == null) {
+            stats.recordFailure(provider.name());
+        }
+        log.info("SSH tunnel {} is unavailable: {}", provider.name(), e.getMessage());
+    }
+
+    private synchronized void offer(Contender contender) {
+        if (finished) {
+            contender.getSshClient().close();
+        } else {
+            healthy.add(contender);
+        }
+    }
+
+    /**
+     * Waits for attempts stopped by {@link #finish()} to end, so their stats are recorded before saving,
+     * and for processes of stopped tunnels to exit
+     */
+    private void awaitAttempts() {
+        try {
+            long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+            attemptsDone.await(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            for (Process process : stoppedProcesses()) {
+                process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized List<Process> stoppedProcesses() {
+        List<Process> stopped = new ArrayList<>(processes);
+        if (winner != null) {
+            stopped.remove(winner.getProcess());
+        }
+        return stopped;
+    }
+
+    private SshClient awaitWinner(Duration timeout) throws IOException {
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (!hasHealthy() && attemptsDone.getCount() > 0 && System.nanoTime() < deadline) {
+                attemptsDone.await(Math.min(deadline - System.nanoTime(), POLL_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+            }
+            if (hasHealthy()) {
+                attemptsDone.await(PREFERENCE_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Contender best = finish();
+        if (best == null) {
+            throw new IOException("No SSH tunnel became healthy within " + timeout);
+        }
+        log.info("SSH tunnel {} wins the race with URL {}", best.getProvider(), best.getSshClient().getSshServerUrl());
+        return best.getSshClient();
+    }
+
+    private synchronized boolean hasHealthy() {
+        return !healthy.isEmpty();
+    }
+
+    /**
+     * Stops accepting tunnels, keeps the healthy one with the best score and closes all the others,
+     * destroying processes of tunnels still waiting for their URL or probe.
+     * Equal scores are resolved in favour of the tunnel which became healthy first
+     */
+    private synchronized Contender finish() {
+        finished = true;
+        List<Contender> contenders = new ArrayList<>(healthy);
+        healthy.clear();
+        contenders.sort(Comparator.comparingDouble(contender -> stats.scoreOf(contender.getProvider())));
+        winner = contenders.isEmpty() ? null : contenders.get(0);
+        for (int i = 1; i < contenders.size(); i++) {
+            contenders.get(i).getSshClient().close();
+        }
+        processes.stream()
+                .filter(process -> winner == null || process != winner.getProcess())
+                .forEach(Process::destroyForcibly);
+        return winner;
+    }
+
+    /**
+     * A healthy tunnel with the name of its provider and its process
+     */
+    @Value
+    private static class Contender {
+        String provider;
+        SshClient sshClient;
+        Process process;
+    }
+}
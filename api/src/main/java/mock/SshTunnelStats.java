@@ -0,0 +1,108 @@
+package mock;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+/**
+ * A persistent store of SSH tunnel provider performance, kept in a JSON file between runs.
+ * Providers are ranked by probe latency penalised by failure rate, so future runs prefer the fastest reliable one.
+ * Providers never tried are ranked first to get measured
+ */
+
+@Slf4j
+public class SshTunnelStats {
+    private static final double SMOOTHING = 0.3;
+
+    private final Path file;
+    private final Map<String, SshTunnelProviderStats> providers;
+
+    private SshTunnelStats(Path file, Map<String, SshTunnelProviderStats> providers) {
+        this.file = file;
+        this.providers = providers;
+    }
+
+    /**
+     * Loads recorded stats, starting from scratch when the file is missing or unreadable
+     */
+    public static SshTunnelStats load(Path file) {
+        Map<String, SshTunnelProviderStats> providers = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            try {
+                providers.putAll(objectMapper.readValue(file.toFile(),
+                        new TypeReference<Map<String, SshTunnelProviderStats>>() { }));
+            } catch (IOException e) {
+                log.warn("Failed to read SSH tunnel stats from {}: {}", file, e.getMessage());
+            }
+        }
+        return new SshTunnelStats(file, providers);
+    }
+
+    public Map<String, SshTunnelProviderStats> getProviders() {
+        return Map.copyOf(providers);
+    }
+
+    public <T extends SshTunnelProvider> List<T> rank(List<T> candidates) {
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(candidate -> scoreOf(candidate.name())))
+                .collect(Collectors.toList());
+    }
+
+    public void recordSuccess(String provider, long latencyMillis, long bytes) {
+        double throughput = bytes * 1000.0 / Math.max(1, latencyMillis);
+        providers.compute(provider, (name, stats) -> {
+            if (stats == null || stats.getAttempts() == stats.getFailures()) {
+                long failures = stats == null ? 0 : stats.getFailures();
+                return new SshTunnelProviderStats(failures + 1, failures, latencyMillis, throughput);
+            }
+            return new SshTunnelProviderStats(stats.getAttempts() + 1, stats.getFailures(),
+                    smooth(stats.getLatencyMillis(), latencyMillis),
+                    smooth(stats.getThroughputBytesPerSecond(), throughput));
+        });
+    }
+
+    public void recordFailure(String provider) {
+        providers.compute(provider, (name, stats) -> stats == null ?
+                new SshTunnelProviderStats(1, 1, 0, 0) :
+                new SshTunnelProviderStats(stats.getAttempts() + 1, stats.getFailures() + 1,
+                        stats.getLatencyMillis(), stats.getThroughputBytesPerSecond()));
+    }
+
+    public void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), Map.copyOf(providers));
+        } catch (IOException e) {
+            log.warn("Failed to write SSH tunnel stats to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns probe latency penalised by failure rate, lower is better. Providers never measured score zero,
+     * providers never succeeded score infinity
+     */
+    double scoreOf(String provider) {
+        SshTunnelProviderStats stats = providers.get(provider);
+        if (stats == null || stats.getAttempts() == 0) {
+            return 0;
+        }
+        long successes = stats.getAttempts() - stats.getFailures();
+        if (successes == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (stats.getLatencyMillis() + 1) * stats.getAttempts() / successes;
+    }
+
+    private static double smooth(double previous, double current) {
+        return previous + SMOOTHING * (current - previous);
+    }
+}
@@ -0,0 +1,74 @@
+package mock;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Startup phases of a {@link MockServer} run asynchronously on daemon threads, each timed on completion.
+ * Phases are chained by their dependencies only, so independent phases such as SSH tunnel establishment
+ * and stub registration overlap
+ */
+
+@Slf4j
+final class StartupPhases {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mock-server-startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Duration> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Runs the phase once all of its dependencies have completed successfully
+     */
+    CompletableFuture<Void> run(String phase, Runnable action, CompletableFuture<?>... dependencies) {
+        return CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+            long phaseStartNanos = System.nanoTime();
+            log.info("MockServer startup phase '{}' started", phase);
+            action.run();
+            timings.put(phase, Duration.ofNanos(System.nanoTime() - phaseStartNanos));
+        }, EXECUTOR);
+    }
+
+    /**
+     * Waits for the startup to complete, rethrowing the runtime exception of a failed phase as is
+     */
+    static void join(CompletableFuture<Void> startup) {
+        try {
+            startup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    Map<String, Duration> getTimings() {
+        synchronized (timings) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+        }
+    }
+
+    void logTimings() {
+        String phases;
+        synchronized (timings) {
+            phases = timings.entrySet().stream()
+                    .map(timing -> timing.getKey() + " " + timing.getValue().toMillis() + " ms")
+                    .collect(Collectors.joining(", "));
+        }
+        log.info("MockServer startup took {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), phases);
+    }
+}
@@ -0,0 +1,211 @@
+package mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A large response body streamed to the client instead of being held on heap as a stub body string.
+ * The body is either a memory-mapped file, mapped once and read by every request through its own view
+ * of the mapping, or a JSON array generated on the fly from a single item. Bodies are sent with chunked
+ * transfer encoding and can be throttled to a bandwidth. Bodies are immutable and safe to share between threads.
+ * Attach a body to stubs by name through {@link StreamingBodyTransformer}
+ */
+
+public final class StreamingBody {
+    private static final int MAX_CHUNK_BYTES = 16 * 1024;
+
+    private final Supplier<InputStream> source;
+    private final long size;
+    private final long bytesPerSecond;
+
+    private StreamingBody(Supplier<InputStream> source, long size, long bytesPerSecond) {
+        this.source = source;
+        this.size = size;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Maps the whole file into memory read-only. The file must be smaller than 2 GB
+     */
+    public static StreamingBody mappedFile(Path file) {
+        ByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File " + file + " is too large to be mapped: " + channel.size());
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map response body file " + file, e);
+        }
+        return new StreamingBody(() -> new MappedInputStream(mapping.duplicate()), mapping.capacity(), 0);
+    }
+
+    /**
+     * Generates a JSON array of the item repeated {@code count} times, e.g. a page of search results
+     */
+    public static StreamingBody jsonArray(String item, long count) {
+        byte[] itemBytes = item.getBytes(StandardCharsets.UTF_8);
+        long size = count == 0 ? 2 : 2 + count * itemBytes.length + count - 1;
+        return new StreamingBody(() -> new JsonArrayInputStream(itemBytes, count), size, 0);
+    }
+
+    /**
+     * Throttles the body to the bandwidth, so every request takes at least {@code size / bytesPerSecond} seconds
+     */
+    public StreamingBody withBandwidth(long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Bandwidth must be positive: " + bytesPerSecond);
+        }
+        return new StreamingBody(source, size, bytesPerSecond);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Opens a new stream of the whole body, reading it from the beginning
+     */
+    public InputStream openStream() {
+        InputStream stream = source.get();
+        return bytesPerSecond > 0 ? new ThrottledInputStream(stream, bytesPerSecond) : stream;
+    }
+
+    /**
+     * Reads a memory-mapped file through a view of the mapping owned by one request
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Writes {@code [item,item,...,item]} without materializing it: the opening bracket, then every item
+     * followed by a comma or the closing bracket
+     */
+    private static final class JsonArrayInputStream extends InputStream {
+        private final byte[] item;
+        private final long count;
+        private long itemIndex = -1;
+        private int itemOffset;
+
+        private JsonArrayInputStream(byte[] item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            int written = 0;
+            while (written < length && itemIndex <= count) {
+                if (itemIndex < 0) {
+                    bytes[offset + written++] = '[';
+                    itemIndex = count == 0 ? count : 0;
+                } else if (itemIndex == count) {
+                    bytes[offset + written++] = ']';
+                    itemIndex++;
+                } else if (itemOffset < item.length) {
+                    int copied = Math.min(length - written, item.length - itemOffset);
+                    System.arraycopy(item, itemOffset, bytes, offset + written, copied);
+                    itemOffset += copied;
+                    written += copied;
+                } else {
+                    itemIndex++;
+                    itemOffset = 0;
+                    if (itemIndex < count) {
+                        bytes[offset + written++] = ',';
+                    }
+                }
+            }
+            return written == 0 && length > 0 ? -1 : written;
+        }
+    }
+
+    /**
+     * Limits reads to the bandwidth, sleeping whenever reading is ahead of it. Reads are capped
+     * at {@value #MAX_CHUNK_BYTES} bytes, so the body leaves in evenly paced chunks
+     */
+    private static final class ThrottledInputStream extends InputStream {
+        private final InputStream stream;
+        private final long bytesPerSecond;
+        private final long startNanos = System.nanoTime();
+        private long bytesRead;
+
+        private ThrottledInputStream(InputStream stream, long bytesPerSecond) {
+            this.stream = stream;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            long chunk = Math.max(1, Math.min(bytesPerSecond, MAX_CHUNK_BYTES));
+            int read = stream.read(bytes, offset, (int) Math.min(length, chunk));
+            if (read > 0) {
+                bytesRead += read;
+                long aheadNanos = TimeUnit.SECONDS.toNanos(bytesRead) / bytesPerSecond -
+                        (System.nanoTime() - startNanos);
+                if (aheadNanos > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while throttling response body");
+                    }
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
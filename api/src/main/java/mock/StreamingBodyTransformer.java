@@ -0,0 +1,82 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerV2;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A WireMock response transformer replacing the body of stubs with named {@link StreamingBody}s.
+ * Stubs refer to a body by name in the {@value #PARAMETER} transformer parameter, and the body behind a name
+ * can be registered after the stub. Stubs whose body is not registered respond as is.
+ * The registry is JVM-wide, shared by all local WireMock servers. WireMock in Docker or a {@link WireMockDaemon}
+ * cannot see it, so MockServer rejects streaming stubs there instead of serving their placeholder bodies.
+ * WireMock reads every response body into its serve event, so servers streaming large bodies must cap
+ * logged bodies with {@link WireMockConfiguration#maxLoggedResponseSize(int)}, as {@link MockServerProfile} does
+ */
+
+public enum StreamingBodyTransformer implements ResponseTransformerV2 {
+    INSTANCE;
+
+    public static final String NAME = "streaming-body";
+    public static final String PARAMETER = "streamingBody";
+
+    private final Map<String, StreamingBody> bodies = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    /**
+     * Registers this transformer, leaving the size of response bodies kept in serve events as configured
+     */
+    public WireMockConfiguration configure(WireMockConfiguration configuration) {
+        return configuration.extensions(this);
+    }
+
+    @Override
+    public Response transform(Response response, ServeEvent serveEvent) {
+        Parameters parameters = serveEvent.getTransformerParameters();
+        String bodyName = parameters == null ? null : parameters.getString(PARAMETER, null);
+        StreamingBody body = bodyName == null ? null : bodies.get(bodyName);
+        if (body == null) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        for (HttpHeader header : response.getHeaders().all()) {
+            if (!header.keyEquals("Content-Length")) {
+                headers = headers.plus(header);
+            }
+        }
+        return Response.Builder.like(response)
+                .headers(headers)
+                .body(body::openStream)
+                .build();
+    }
+
+    /**
+     * Sets or switches the body of all stubs referring to the name, taking effect from the next request
+     */
+    public void setBody(String name, StreamingBody body) {
+        bodies.put(name, body);
+    }
+
+    public void removeBody(String name) {
+        bodies.remove(name);
+    }
+
+    public void clearBodies() {
+        bodies.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import lombok.Getter;
+
+/**
+ * Stub matching work done for one request by {@link IndexedStubMappingStore}:
+ * how many stubs were matched against it and how long it took
+ */
+
+@Getter
+public class StubMatch {
+    private int candidates;
+    private long nanos;
+
+    /**
+     * Sums the {@value StubRouter#SUB_EVENT} sub events of the served request, or returns null when its stubs
+     * were not looked up by {@link IndexedStubMappingStore}
+     */
+    public static StubMatch of(ServeEvent serveEvent) {
+        StubMatch match = null;
+        for (SubEvent subEvent : serveEvent.getSubEvents()) {
+            if (StubRouter.SUB_EVENT.equals(subEvent.getType())) {
+                match = match == null ? new StubMatch() : match;
+                match.add(((Number) subEvent.getData().get(StubRouter.CANDIDATES)).intValue(),
+                        ((Number) subEvent.getData().get(StubRouter.MATCH_NANOS)).longValue());
+            }
+        }
+        return match;
+    }
+
+    void add(int matchedCandidates, long matchNanos) {
+        candidates += matchedCandidates;
+        nanos += matchNanos;
+    }
+}
@@ -0,0 +1,69 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.store.DefaultStores;
+import com.github.tomakehurst.wiremock.store.StubMappingStore;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Indexed stub routing for WireMock with very large stub sets. It replaces the WireMock stub store
+ * with an {@link IndexedStubMappingStore}, which reports how many stubs were matched and how long it took
+ * as {@value #SUB_EVENT} sub events of the serve event. {@link RequestJournal} adds them to per-stub statistics,
+ * and this router to a latency histogram of all requests. The match travels with its serve event only,
+ * so lookups outside of serving, e.g. by verification or near-miss queries, never affect it
+ */
+
+public class StubRouter implements ServeEventListener {
+    public static final String NAME = "stub-router";
+    public static final String SUB_EVENT = "STUB_MATCH";
+    public static final String CANDIDATES = "candidates";
+    public static final String MATCH_NANOS = "matchNanos";
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final IndexedStubMappingStore store = new IndexedStubMappingStore();
+    private final Histogram matchLatencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Makes WireMock keep its stubs in the indexed store and registers this router as an extension
+     */
+    public WireMockConfiguration configure(WireMockConfiguration configuration) {
+        return configuration
+                .withStores(new DefaultStores(configuration.filesRoot()) {
+                    @Override
+                    public StubMappingStore getStubStore() {
+                        return store;
+                    }
+                })
+                .extensions(this);
+    }
+
+    @Override
+    public void afterMatch(ServeEvent serveEvent, Parameters parameters) {
+        StubMatch match = StubMatch.of(serveEvent);
+        if (match != null) {
+            matchLatencies.recordValue(Math.min(match.getNanos(), HIGHEST_TRACKABLE_NANOS));
+        }
+    }
+
+    public IndexedStubMappingStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns match times of all requests served so far, in nanoseconds
+     */
+    public Histogram getMatchLatencies() {
+        return matchLatencies.copy();
+    }
+}
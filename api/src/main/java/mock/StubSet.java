@@ -0,0 +1,196 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
+import com.github.tomakehurst.wiremock.stubbing.StubImportBuilder;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * A set of WireMock stubs registered in MockServer with a single import instead of one admin call per stub.
+ * Stub ids are derived from stub content and the whole set is identified by a content hash,
+ * so an identical set is recognised as already loaded and re-importing a stub overwrites it instead of duplicating
+ */
+
+public class StubSet {
+    public static final String NAMESPACE_METADATA = "namespace";
+
+    private static final Pattern URL_PREFIX = Pattern.compile("(/[\\w\\-]+)+");
+    private static final List<String> LITERAL_URL_KEYS = List.of("url", "urlPath", "urlPathTemplate");
+    private static final List<String> REGEX_URL_KEYS = List.of("urlPattern", "urlPathPattern");
+
+    private final List<StubMapping> stubs = new ArrayList<>();
+    private final MessageDigest digest;
+    private String hash;
+
+    public StubSet() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Adds a stub in WireMock JSON format, as built by {@link JsonStubsBuilder}
+     */
+    public StubSet add(String jsonStub) {
+        return add(StubMapping.buildFrom(jsonStub));
+    }
+
+    public StubSet add(MappingBuilder mappingBuilder) {
+        return add(mappingBuilder.build());
+    }
+
+    public StubSet add(StubMapping stubMapping) {
+        stubMapping.setId(null);
+        byte[] content = StubMapping.buildJsonStringFor(stubMapping).getBytes(StandardCharsets.UTF_8);
+        stubMapping.setId(UUID.nameUUIDFromBytes(content));
+
+        digest.update(content);
+        hash = null;
+        stubs.add(stubMapping);
+        return this;
+    }
+
+    public int size() {
+        return stubs.size();
+    }
+
+    /**
+     * Returns whether any stub of the set is transformed by the named response transformer
+     */
+    public boolean usesTransformer(String name) {
+        return stubs.stream()
+                .map(stub -> stub.getResponse().getTransformers())
+                .anyMatch(transformers -> transformers != null && transformers.contains(name));
+    }
+
+    /**
+     * Returns the content-derived id of the stub added last, or null for an empty set
+     */
+    public UUID getLastId() {
+        return stubs.isEmpty() ? null : stubs.get(stubs.size() - 1).getId();
+    }
+
+    /**
+     * Returns the hex SHA-256 hash of the stubs content in the order they were added
+     */
+    public String getHash() {
+        if (hash == null) {
+            try {
+                hash = HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+            } catch (CloneNotSupportedException e) {
+                throw new RuntimeException("Failed to calculate stub set hash", e);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a copy of this set with every stub moved under the URL prefix, e.g. {@code /ns/tenant}, and tagged
+     * with the prefix in the {@value #NAMESPACE_METADATA} metadata attribute. Stubs matching any URL
+     * match any URL under the prefix, and regular expressions lose their {@code ^} anchor.
+     * The prefix may contain letters, digits, dashes and underscores only
+     */
+    public StubSet withUrlPrefix(String urlPrefix) {
+        if (!URL_PREFIX.matcher(urlPrefix).matches()) {
+            throw new IllegalArgumentException("Invalid URL prefix: " + urlPrefix);
+        }
+        StubSet prefixed = new StubSet();
+        stubs.forEach(stub -> prefixed.add(withUrlPrefix(stub, urlPrefix)));
+        return prefixed;
+    }
+
+    /**
+     * Returns a copy of this set with every stub tagged with the metadata attribute
+     */
+    public StubSet withMetadata(String key, String value) {
+        StubSet tagged = new StubSet();
+        stubs.forEach(stub -> tagged.add(withMetadata(toJson(stub), key, value)));
+        return tagged;
+    }
+
+    /**
+     * Returns the metadata pattern matching stubs moved under the URL prefix by {@link #withUrlPrefix(String)}
+     */
+    public static StringValuePattern namespaceMetadataPattern(String urlPrefix) {
+        return WireMock.matchingJsonPath("$." + NAMESPACE_METADATA, WireMock.equalTo(urlPrefix));
+    }
+
+    /**
+     * Returns an import overwriting stubs with the same ids and keeping all the other registered stubs
+     */
+    public StubImport toStubImport() {
+        StubImportBuilder stubImport = StubImport.stubImport()
+                .overwriteExisting()
+                .doNotDeleteExistingStubs();
+        stubs.forEach(stubImport::stub);
+        return stubImport.build();
+    }
+
+    /**
+     * Returns the body of the {@code /__admin/mappings/import} request
+     */
+    public String toImportJson() {
+        return Json.write(toStubImport());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StubMapping withUrlPrefix(StubMapping stub, String urlPrefix) {
+        Map<String, Object> json = toJson(stub);
+        Map<String, Object> request = (Map<String, Object>) json.get("request");
+        boolean prefixed = false;
+        for (String key : LITERAL_URL_KEYS) {
+            if (request.get(key) instanceof String url) {
+                request.put(key, urlPrefix + url);
+                prefixed = true;
+            }
+        }
+        for (String key : REGEX_URL_KEYS) {
+            if (request.get(key) instanceof String regex) {
+                String unanchored = regex.startsWith("^") ? regex.substring(1) : regex;
+                String prefixedRegex = urlPrefix + (".*".equals(unanchored) ? "/.*" : unanchored);
+                request.put(key, prefixedRegex);
+                prefixed = true;
+            }
+        }
+        if (!prefixed) {
+            request.put("urlPattern", urlPrefix + "/.*");
+        }
+        return withMetadata(json, NAMESPACE_METADATA, urlPrefix);
+    }
+
+    /**
+     * Converts the stub to a mutable JSON tree without its id, which is derived from the content again on add
+     */
+    private static Map<String, Object> toJson(StubMapping stub) {
+        Map<String, Object> json = Json.objectToMap(stub);
+        json.remove("id");
+        json.remove("uuid");
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StubMapping withMetadata(Map<String, Object> json, String key, String value) {
+        Map<String, Object> metadata = new HashMap<>();
+        if (json.get("metadata") instanceof Map<?, ?> existing) {
+            metadata.putAll((Map<String, Object>) existing);
+        }
+        metadata.put(key, value);
+        json.put("metadata", metadata);
+        return Json.mapToObject(json, StubMapping.class);
+    }
+}
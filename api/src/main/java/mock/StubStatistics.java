@@ -0,0 +1,50 @@
+package mock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Hit count and latency histogram of a single WireMock stub, kept by {@link RequestJournal} under every policy.
+ * Latencies are WireMock total serve times in milliseconds. Match latencies are the times spent finding the stub
+ * in nanoseconds, recorded only when stubs are indexed by {@link StubRouter}
+ */
+
+public class StubStatistics {
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long HIGHEST_TRACKABLE_MATCH_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final LongAdder hits = new LongAdder();
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3);
+    private final Histogram matchLatencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MATCH_NANOS, 3);
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public Histogram getLatencies() {
+        return latencies.copy();
+    }
+
+    public long getLatencyPercentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    public Histogram getMatchLatencies() {
+        return matchLatencies.copy();
+    }
+
+    public long getMatchLatencyPercentileNanos(double percentile) {
+        return matchLatencies.getValueAtPercentile(percentile);
+    }
+
+    void recordHit(long latencyMillis) {
+        hits.increment();
+        latencies.recordValue(Math.min(Math.max(latencyMillis, 0), HIGHEST_TRACKABLE_MILLIS));
+    }
+
+    void recordMatch(long matchNanos) {
+        matchLatencies.recordValue(Math.min(Math.max(matchNanos, 0), HIGHEST_TRACKABLE_MATCH_NANOS));
+    }
+}
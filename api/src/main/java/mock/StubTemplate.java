@@ -0,0 +1,125 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A typed stub DSL building WireMock {@link StubMapping} objects directly, without the Map to JSON to StubMapping
+ * round-trip of {@link JsonStubsBuilder}. A template compiles the common part of a stub shape once
+ * (method, status, headers, transformers) and then stamps out stubs which differ only by URL and body.
+ * Response bodies are taken as is and never parsed. Templates are immutable and safe to share between threads
+ */
+
+public final class StubTemplate {
+    public static final StubTemplate GET_JSON_OK = json("GET", 200);
+    public static final StubTemplate POST_JSON_OK = json("POST", 200);
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+
+    private final RequestMethod method;
+    private final ResponseDefinition response;
+
+    private StubTemplate(RequestMethod method, ResponseDefinition response) {
+        this.method = method;
+        this.response = response;
+    }
+
+    /**
+     * Creates a template of stubs responding with JSON and the status code, the same shape as
+     * {@link JsonStubsBuilder#createJsonStub} builds, except response templating is off until {@link #templated()}
+     */
+    public static StubTemplate json(String method, int statusCode) {
+        return new StubTemplate(RequestMethod.fromString(method), ResponseDefinitionBuilder.responseDefinition()
+                .withStatus(statusCode)
+                .withHeaders(new HttpHeaders(HttpHeader.httpHeader(CONTENT_TYPE, APPLICATION_JSON)))
+                .build());
+    }
+
+    public StubTemplate withHeader(String name, String value) {
+        HttpHeaders headers = response.getHeaders();
+        HttpHeaders merged = new HttpHeaders(HttpHeader.httpHeader(name, value));
+        for (HttpHeader header : headers.all()) {
+            if (!header.keyEquals(name)) {
+                merged = merged.plus(header);
+            }
+        }
+        return new StubTemplate(method, ResponseDefinitionBuilder.like(response).withHeaders(merged).build());
+    }
+
+    /**
+     * Turns Handlebars response templating on for stubs of this template
+     */
+    public StubTemplate templated() {
+        return new StubTemplate(method, ResponseDefinitionBuilder.like(response)
+                .withTransformers(transformersWith(JsonStubsBuilder.RESPONSE_TEMPLATE))
+                .build());
+    }
+
+    /**
+     * Attaches stubs of this template to the named {@link LatencyProfile}, switchable at runtime
+     * through {@link LatencyProfileTransformer}
+     */
+    public StubTemplate withLatencyProfile(String latencyProfile) {
+        return new StubTemplate(method, ResponseDefinitionBuilder.like(response)
+                .withTransformers(transformersWith(LatencyProfileTransformer.NAME))
+                .withTransformerParameter(LatencyProfileTransformer.PARAMETER, latencyProfile)
+                .build());
+    }
+
+    /**
+     * Replaces the body of stubs of this template with the named {@link StreamingBody}, registered
+     * through {@link StreamingBodyTransformer}
+     */
+    public StubTemplate withStreamingBody(String streamingBody) {
+        return new StubTemplate(method, ResponseDefinitionBuilder.like(response)
+                .withTransformers(transformersWith(StreamingBodyTransformer.NAME))
+                .withTransformerParameter(StreamingBodyTransformer.PARAMETER, streamingBody)
+                .build());
+    }
+
+    /**
+     * Creates a stub matching the exact URL, query string included
+     */
+    public StubMapping create(String url, String responseBody) {
+        return create(WireMock.urlEqualTo(url), responseBody);
+    }
+
+    /**
+     * Creates a stub matching the URL path by the regular expression, query string ignored
+     */
+    public StubMapping createWithUrlPattern(String urlPathPattern, String responseBody) {
+        return create(WireMock.urlPathMatching(urlPathPattern), responseBody);
+    }
+
+    /**
+     * Serializes the stub to WireMock JSON format, e.g. for the admin API of WireMock in Docker
+     */
+    public static String toJson(StubMapping stubMapping) {
+        return StubMapping.buildJsonStringFor(stubMapping);
+    }
+
+    private String[] transformersWith(String transformer) {
+        List<String> transformers = new ArrayList<>();
+        if (response.getTransformers() != null) {
+            transformers.addAll(response.getTransformers());
+        }
+        transformers.add(transformer);
+        return transformers.toArray(String[]::new);
+    }
+
+    private StubMapping create(UrlPattern urlPattern, String responseBody) {
+        return new StubMapping(
+                RequestPatternBuilder.newRequestPattern(method, urlPattern).build(),
+                ResponseDefinitionBuilder.like(response).withBody(responseBody).build());
+    }
+}
@@ -0,0 +1,204 @@
+package mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.Metadata;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.recording.RecordSpecBuilder;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A record-and-replay stand-in for a real service. In record mode a local WireMock proxies all traffic
+ * to the target, and on save the captured requests and responses are written as a mapping set,
+ * each stub carrying the histogram of response times observed for it. Values of volatile fields in recorded
+ * JSON request bodies, e.g. random test data, match any value, so later runs sending fresh values still hit the stubs.
+ * In replay mode the mapping set is served with every stub delayed according to its recorded histogram,
+ * giving a reproducible offline copy of the service
+ */
+
+@Slf4j
+public class TrafficRecording implements Closeable {
+    private static final String LATENCIES = "recordedLatenciesMillis";
+    private static final String COUNTS = "recordedCounts";
+    private static final String ANY_VALUE = "${json-unit.ignore}";
+
+    private final WireMockServer wireMockServer;
+    private final RequestJournal requestJournal;
+    private final String targetUrl;
+    private final Set<String> volatileFields;
+
+    private TrafficRecording(WireMockServer wireMockServer, RequestJournal requestJournal, String targetUrl,
+                             Set<String> volatileFields) {
+        this.wireMockServer = wireMockServer;
+        this.requestJournal = requestJournal;
+        this.targetUrl = targetUrl;
+        this.volatileFields = volatileFields;
+    }
+
+    /**
+     * Starts recording traffic sent to the local port and proxied to the target. Port 0 means any free port.
+     * Fields of JSON request bodies named as volatile match any value on replay
+     */
+    public static TrafficRecording startRecording(int port, String targetUrl, Set<String> volatileFields) {
+        RequestJournal requestJournal = new RequestJournal(RequestJournalPolicy.UNBOUNDED, 0, Duration.ZERO);
+        WireMockServer wireMockServer = new WireMockServer(
+                WireMockConfiguration.wireMockConfig()
+                        .port(port)
+                        .extensions(requestJournal)
+        );
+        wireMockServer.start();
+        wireMockServer.startRecording(new RecordSpecBuilder()
+                .forTarget(targetUrl)
+                .makeStubsPersistent(false)
+                .extractTextBodiesOver(Long.MAX_VALUE)
+                .extractBinaryBodiesOver(Long.MAX_VALUE));
+        log.info("Recording traffic to {} on port {}", targetUrl, wireMockServer.port());
+        return new TrafficRecording(wireMockServer, requestJournal, targetUrl, Set.copyOf(volatileFields));
+    }
+
+    /**
+     * Starts serving the recorded mapping set on the local port with recorded latencies. Port 0 means any free port
+     */
+    public static TrafficRecording startReplay(int port, Path mappingsFile) {
+        StubImport recording;
+        try {
+            recording = Json.read(Files.readString(mappingsFile), StubImport.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read recorded mappings from " + mappingsFile, e);
+        }
+
+        LatencyProfileTransformer latencyProfiles = new LatencyProfileTransformer();
+        WireMockServer wireMockServer = new WireMockServer(
+                MockServerProfile.HIGH_THROUGHPUT.configure(WireMockConfiguration.wireMockConfig())
+                        .port(port)
+                        .extensions(latencyProfiles)
+        );
+        wireMockServer.start();
+        recording.getMappings().forEach(stub -> registerLatencyProfile(latencyProfiles, stub));
+        wireMockServer.importStubs(recording);
+        log.info("Replaying {} recorded mappings from {} on port {}",
+                recording.getMappings().size(), mappingsFile, wireMockServer.port());
+        return new TrafficRecording(wireMockServer, null, null, Set.of());
+    }
+
+    public String getLocalUrl() {
+        return "http://localhost:" + wireMockServer.port();
+    }
+
+    /**
+     * Stops recording and writes captured stubs with their latency histograms as a mapping set in
+     * {@code /__admin/mappings/import} format, which also fits WireMock in Docker without latencies
+     */
+    public void save(Path mappingsFile) {
+        if (requestJournal == null) {
+            throw new IllegalStateException("Only a recording can be saved, not a replay");
+        }
+
+        List<ServeEvent> events = requestJournal.getAllEvents();
+        List<StubMapping> stubs = wireMockServer.stopRecording().getStubMappings();
+        stubs.forEach(stub -> attachLatencies(stub, events.stream()
+                .filter(event -> stub.getRequest().match(event.getRequest()).isExactMatch())
+                .collect(Collectors.toList())));
+        List<StubMapping> recorded = stubs.stream().map(this::ignoreVolatileFields).collect(Collectors.toList());
+
+        try {
+            Files.createDirectories(mappingsFile.toAbsolutePath().getParent());
+            Files.writeString(mappingsFile, toImportJson(recorded));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write recorded mappings to " + mappingsFile, e);
+        }
+        log.info("Recorded {} mappings of {} to {}", stubs.size(), targetUrl, mappingsFile);
+    }
+
+    @Override
+    public void close() {
+        if (wireMockServer.isRunning()) {
+            wireMockServer.stop();
+        }
+    }
+
+    private static String toImportJson(List<StubMapping> stubs) {
+        StubSet stubSet = new StubSet();
+        stubs.forEach(stubSet::add);
+        return stubSet.toImportJson();
+    }
+
+    /**
+     * Attaches the histogram of the events served by the stub as a latency profile named after the recorded stub id,
+     * so stubs of one URL with different methods or bodies keep their own latencies
+     */
+    private static void attachLatencies(StubMapping stub, List<ServeEvent> events) {
+        NavigableMap<Long, Long> histogram = new TreeMap<>();
+        events.forEach(event -> {
+            Integer processTime = event.getTiming().getProcessTime();
+            histogram.merge(processTime == null ? 0L : processTime.longValue(), 1L, Long::sum);
+        });
+        if (histogram.isEmpty()) {
+            return;
+        }
+
+        stub.setMetadata(Metadata.metadata()
+                .attr(LATENCIES, List.copyOf(histogram.keySet()))
+                .attr(COUNTS, List.copyOf(histogram.values()))
+                .build());
+        stub.setResponse(ResponseDefinitionBuilder.like(stub.getResponse())
+                .withTransformers(LatencyProfileTransformer.NAME)
+                .withTransformerParameter(LatencyProfileTransformer.PARAMETER, stub.getId().toString())
+                .build());
+    }
+
+    /**
+     * Replaces values of volatile fields in JSON request body patterns with a placeholder matching any value
+     */
+    private StubMapping ignoreVolatileFields(StubMapping stub) {
+        ObjectNode json = Json.getObjectMapper().valueToTree(stub);
+        for (JsonNode bodyPattern : json.path("request").path("bodyPatterns")) {
+            JsonNode expected = bodyPattern.get("equalToJson");
+            if (expected != null) {
+                JsonNode body = expected.isTextual() ? Json.node(expected.asText()) : expected;
+                ignoreVolatileFields(body);
+                ((ObjectNode) bodyPattern).put("equalToJson", Json.write(body));
+            }
+        }
+        return Json.getObjectMapper().convertValue(json, StubMapping.class);
+    }
+
+    private void ignoreVolatileFields(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            volatileFields.stream().filter(object::has).forEach(field -> object.put(field, ANY_VALUE));
+        }
+        node.elements().forEachRemaining(this::ignoreVolatileFields);
+    }
+
+    private static void registerLatencyProfile(LatencyProfileTransformer latencyProfiles, StubMapping stub) {
+        Metadata metadata = stub.getMetadata();
+        if (metadata == null || !metadata.containsKey(LATENCIES)) {
+            return;
+        }
+
+        long[] latencies = toLongs(metadata.getList(LATENCIES));
+        long[] counts = toLongs(metadata.getList(COUNTS));
+        latencyProfiles.setProfile(stub.getResponse().getTransformerParameters()
+                .getString(LatencyProfileTransformer.PARAMETER), LatencyProfile.empirical(latencies, counts));
+    }
+
+    private static long[] toLongs(List<?> values) {
+        return values.stream().mapToLong(value -> ((Number) value).longValue()).toArray();
+    }
+}
@@ -0,0 +1,53 @@
+package mock;
+
+import java.nio.file.Path;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import static properties.PrivateProperties.BOOKER_RECORDING;
+import static properties.PrivateProperties.BOOKER_RECORDING_FILE;
+import static properties.PrivateProperties.BOOKER_RECORDING_PORT;
+import static properties.PrivateProperties.BOOKER_RECORDING_VOLATILE_FIELDS;
+import static properties.PublicProperties.BOOKER_UPSTREAM_URL;
+
+/**
+ * A JUnit launcher session listener that records Restful-Booker traffic of the test JVM
+ * when the "bookerRecording" private property is "record", and replays the recording when it is "replay".
+ * Either way every test using BOOKER_URL hits the local port instead of herokuapp. The port is a free one
+ * resolved here unless "bookerRecordingPort" is set, so it never clashes with a running Restful-Booker emulator.
+ * The resolved port is published as the "bookerRecordingPort" system property before BOOKER_URL is read
+ */
+
+@Slf4j
+public class TrafficRecordingSessionListener implements LauncherSessionListener {
+    private TrafficRecording trafficRecording;
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if ("off".equals(BOOKER_RECORDING)) {
+            log.debug("Restful-Booker traffic recording is off");
+            return;
+        }
+        int port = "0".equals(BOOKER_RECORDING_PORT) ? FreePorts.find() : Integer.parseInt(BOOKER_RECORDING_PORT);
+        System.setProperty("bookerRecordingPort", String.valueOf(port));
+        switch (BOOKER_RECORDING) {
+            case "record" -> trafficRecording = TrafficRecording.startRecording(port, BOOKER_UPSTREAM_URL,
+                    Set.of(BOOKER_RECORDING_VOLATILE_FIELDS.split(",")));
+            case "replay" -> trafficRecording = TrafficRecording.startReplay(port, Path.of(BOOKER_RECORDING_FILE));
+            default -> log.warn("Unknown Restful-Booker traffic recording mode {}, recording is off", BOOKER_RECORDING);
+        }
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (trafficRecording == null) {
+            return;
+        }
+        if ("record".equals(BOOKER_RECORDING)) {
+            trafficRecording.save(Path.of(BOOKER_RECORDING_FILE));
+        }
+        log.info("Stopping Restful-Booker traffic {}", BOOKER_RECORDING);
+        trafficRecording.close();
+    }
+}
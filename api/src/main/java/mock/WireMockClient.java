@@ -1,8 +1,14 @@
 package mock;
 
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
 
 /**
  * A client for interacting with a WireMock server, providing methods to manage stubs and monitor server health.
@@ -18,6 +24,29 @@ public class WireMockClient {
         return sendPostRequest(url, body);
     }
 
+    public Response sendImportStubsRequest(String body) {
+        String url = wireMockUrl + "/__admin/mappings/import";
+        return sendPostRequest(url, body);
+    }
+
+    /**
+     * Imports stubs with one admin API call, failing unless all of them are registered
+     */
+    public void importStubs(String body) {
+        Response response = sendImportStubsRequest(body);
+        Assertions.assertEquals(200, response.getStatusCode(), "Failed to import stubs: " + response.asString());
+    }
+
+    public Response sendResetStubsRequest() {
+        String url = wireMockUrl + "/__admin/mappings/reset";
+        return sendPostRequest(url, "");
+    }
+
+    public boolean isStubRegistered(UUID id) {
+        String url = wireMockUrl + "/__admin/mappings/" + id;
+        return sendGetRequest(url).getStatusCode() == 200;
+    }
+
     public Response sendGetRequestsRequest() {
         String url = wireMockUrl + "/__admin/requests";
         return sendGetRequest(url);
@@ -28,6 +57,21 @@ public class WireMockClient {
         return sendDeleteRequest(url);
     }
 
+    public Response sendRemoveRequestsUnderPrefixRequest(String urlPrefix) {
+        String url = wireMockUrl + "/__admin/requests/remove";
+        return sendPostRequest(url, Json.write(Map.of("urlPattern", urlPrefix + "/.*")));
+    }
+
+    public Response sendRemoveRequestsByMetadataRequest(StringValuePattern metadataPattern) {
+        String url = wireMockUrl + "/__admin/requests/remove-by-metadata";
+        return sendPostRequest(url, Json.write(metadataPattern));
+    }
+
+    public Response sendRemoveStubsByMetadataRequest(StringValuePattern metadataPattern) {
+        String url = wireMockUrl + "/__admin/mappings/remove-by-metadata";
+        return sendPostRequest(url, Json.write(metadataPattern));
+    }
+
     public Response sendIsWireMockHealthyRequest() {
         String url = wireMockUrl + "/__admin/mappings";
         return sendGetRequest(url);
@@ -38,6 +82,17 @@ public class WireMockClient {
         return sendGetRequest(url);
     }
 
+    /**
+     * Checks WireMock is reachable through the SSH tunnel and returns the size of its health response
+     */
+    public long probeSshTunnel(String sshTunnelUrl) throws IOException {
+        Response response = sendAreWiremockAndTunnelHealthyRequest(sshTunnelUrl);
+        if (response.getStatusCode() != 200) {
+            throw new IOException("Status code of health endpoint is " + response.getStatusCode());
+        }
+        return response.asByteArray().length;
+    }
+
     private Response sendGetRequest(String url) {
         return RestAssured.given()
                 .relaxedHTTPSValidation() // Отключает проверку SSL
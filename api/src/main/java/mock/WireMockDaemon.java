@@ -0,0 +1,263 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.awaitility.Awaitility;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+/**
+ * A standalone WireMock process shared by test JVMs and found through a registry file guarded by a file lock.
+ * The first JVM launches the daemon on a free port and registers it, later JVMs attach to the registered one.
+ * Every attached MockServer gets its own owner id: its stubs are tagged with the owner, and on detach
+ * only its own stubs and requests are removed. Stubs left by crashed JVMs are removed by the next attach.
+ * The daemon is registered with its {@link MockServerProfile} and a fingerprint of the build it was launched from,
+ * and a client with another profile or build launches a new daemon instead of attaching to a stale one.
+ * The daemon stops itself once no client JVM is alive and nothing has happened for the idle timeout
+ */
+
+@Slf4j
+public final class WireMockDaemon {
+    public static final String OWNER_METADATA = "owner";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+    private static final AtomicInteger CLIENTS = new AtomicInteger();
+    private static final Object REGISTRY_LOCK = new Object();
+
+    private final Path registryFile;
+    private final int port;
+    private final String owner;
+
+    private WireMockDaemon(Path registryFile, int port) {
+        this.registryFile = registryFile;
+        this.port = port;
+        this.owner = ProcessHandle.current().pid() + "-" + CLIENTS.incrementAndGet();
+    }
+
+    /**
+     * Attaches to the daemon registered in the file, launching a new one when none is alive
+     */
+    public static WireMockDaemon attach(Path registryFile, MockServerProfile profile, Duration idleTimeout) {
+        String fingerprint = buildFingerprint();
+        Registration registration = withLock(registryFile, () -> {
+            Registration registered = read(registryFile);
+            if (registered == null || !isAlive(registered)) {
+                registered = launch(registryFile, profile, fingerprint, idleTimeout);
+            } else if (registered.getProfile() != profile || !fingerprint.equals(registered.getFingerprint())) {
+                log.info("WireMock daemon {} runs {} profile of another build, launching a new one for {} profile",
+                        registered.getPid(), registered.getProfile(), profile);
+                registered = launch(registryFile, profile, fingerprint, idleTimeout);
+            } else {
+                log.info("Attaching to WireMock daemon {} on port {}", registered.getPid(), registered.getPort());
+                removeDeadClients(registered);
+            }
+            registered.getClients().add(ProcessHandle.current().pid());
+            write(registryFile, registered);
+            return registered;
+        });
+        return new WireMockDaemon(registryFile, registration.getPort());
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Returns the metadata pattern matching stubs imported by this client
+     */
+    public StringValuePattern getOwnerPattern() {
+        return WireMock.matchingJsonPath("$." + OWNER_METADATA, WireMock.equalTo(owner));
+    }
+
+    /**
+     * Removes stubs and requests of this client and unregisters it, leaving the daemon running.
+     * A daemon replaced by one of another profile or build may have already stopped itself, leaving nothing to remove
+     */
+    public void detach() {
+        if (isListening(port)) {
+            WireMockClient wireMockClient = new WireMockClient(localUrl(port));
+            wireMockClient.sendRemoveRequestsByMetadataRequest(getOwnerPattern());
+            wireMockClient.sendRemoveStubsByMetadataRequest(getOwnerPattern());
+        }
+        withLock(registryFile, () -> {
+            Registration registered = read(registryFile);
+            if (registered != null && registered.getPort() == port) {
+                registered.getClients().remove(ProcessHandle.current().pid());
+                write(registryFile, registered);
+            }
+            return registered;
+        });
+        log.info("Detached {} from WireMock daemon on port {}", owner, port);
+    }
+
+    /**
+     * Returns a hash of the class path of this JVM, covering names, sizes and modification times
+     * of its jars and of the class files in its directories, so a rebuilt project gets a new fingerprint
+     */
+    static String buildFingerprint() {
+        StringBuilder classPath = new StringBuilder();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            try (Stream<Path> files = Files.walk(Path.of(entry))) {
+                files.filter(Files::isRegularFile).sorted().forEach(file -> classPath.append(file)
+                        .append(':').append(file.toFile().length())
+                        .append(':').append(file.toFile().lastModified()).append('\n'));
+            } catch (IOException | UncheckedIOException e) {
+                classPath.append(entry).append('\n');
+            }
+        }
+        return UUID.nameUUIDFromBytes(classPath.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static Registration launch(Path registryFile, MockServerProfile profile, String fingerprint,
+                                       Duration idleTimeout) throws IOException {
+        int port = FreePorts.find();
+        Path logFile = registryFile.resolveSibling("wiremock-daemon.log");
+        Process process = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                WireMockDaemonProcess.class.getName(),
+                String.valueOf(port), registryFile.toString(), profile.name(),
+                String.valueOf(idleTimeout.toSeconds()))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile()))
+                .start();
+        log.info("Launching WireMock daemon {} on port {}, see {}", process.pid(), port, logFile);
+
+        WireMockClient wireMockClient = new WireMockClient(localUrl(port));
+        Awaitility.await()
+                .atMost(STARTUP_TIMEOUT)
+                .pollInterval(Duration.ofMillis(100))
+                .ignoreExceptions()
+                .until(() -> !process.isAlive() ||
+                        wireMockClient.sendIsWireMockHealthyRequest().getStatusCode() == 200);
+        if (!process.isAlive()) {
+            throw new IOException("WireMock daemon has exited, see " + logFile);
+        }
+        return new Registration(process.pid(), port, profile, fingerprint, new ArrayList<>());
+    }
+
+    /**
+     * Unregisters client JVMs which are no longer alive and removes the stubs and requests they left behind
+     */
+    private static void removeDeadClients(Registration registered) {
+        WireMockClient wireMockClient = new WireMockClient(localUrl(registered.getPort()));
+        registered.getClients().stream()
+                .filter(pid -> !isProcessAlive(pid))
+                .distinct()
+                .forEach(pid -> {
+                    log.info("Removing state left in WireMock daemon by dead JVM {}", pid);
+                    StringValuePattern deadOwner = WireMock.matchingJsonPath(
+                            "$." + OWNER_METADATA, WireMock.matching(pid + "-\\d+"));
+                    wireMockClient.sendRemoveRequestsByMetadataRequest(deadOwner);
+                    wireMockClient.sendRemoveStubsByMetadataRequest(deadOwner);
+                });
+        registered.getClients().removeIf(pid -> !isProcessAlive(pid));
+    }
+
+    private static boolean isAlive(Registration registered) {
+        return isProcessAlive(registered.getPid()) && isListening(registered.getPort());
+    }
+
+    private static boolean isListening(int port) {
+        try (Socket socket = new Socket("localhost", port)) {
+            return socket.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static boolean isProcessAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    private static String localUrl(int port) {
+        return "http://localhost:" + port;
+    }
+
+    static Registration read(Path registryFile) throws IOException {
+        return Files.exists(registryFile) ? objectMapper.readValue(registryFile.toFile(), Registration.class) : null;
+    }
+
+    static void write(Path registryFile, Registration registration) throws IOException {
+        Path tempFile = registryFile.resolveSibling(registryFile.getFileName() + ".tmp");
+        objectMapper.writeValue(tempFile.toFile(), registration);
+        Files.move(tempFile, registryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Runs the action holding the exclusive lock of the registry, shared by all JVMs on the machine.
+     * A file lock is held by the whole JVM and fails when another thread of it already holds one,
+     * so threads of this JVM first take turns on a lock of their own
+     */
+    static <T> T withLock(Path registryFile, RegistryAction<T> action) {
+        synchronized (REGISTRY_LOCK) {
+            try {
+                return withFileLock(registryFile, action);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to access WireMock daemon registry " + registryFile, e);
+            }
+        }
+    }
+
+    private static <T> T withFileLock(Path registryFile, RegistryAction<T> action) throws IOException {
+        Path lockFile = registryFile.resolveSibling(registryFile.getFileName() + ".lock");
+        Files.createDirectories(registryFile.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                return action.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * An action on the registry file
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface RegistryAction<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * The registered daemon: its process id, WireMock port, profile, build fingerprint and process ids
+     * of attached client JVMs, one entry per attached MockServer
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Registration {
+        private long pid;
+        private int port;
+        private MockServerProfile profile;
+        private String fingerprint;
+        private List<Long> clients = new ArrayList<>();
+    }
+}
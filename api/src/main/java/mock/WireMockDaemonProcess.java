@@ -0,0 +1,102 @@
+package mock;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The entry point of the {@link WireMockDaemon} process. It serves WireMock until no client JVM
+ * in the registry is alive and neither requests nor registry changes have happened for the idle timeout,
+ * then unregisters itself and stops
+ */
+
+@Slf4j
+public final class WireMockDaemonProcess {
+    private static final Duration IDLE_CHECK_INTERVAL = Duration.ofSeconds(10);
+
+    private WireMockDaemonProcess() {
+    }
+
+    /**
+     * Runs the daemon: the WireMock port, the registry file, the {@link MockServerProfile} and the idle timeout
+     * in seconds are passed as arguments
+     */
+    @SuppressWarnings("checkstyle:UncommentedMain")
+    public static void main(String[] args) {
+        int port = Integer.parseInt(args[0]);
+        Path registryFile = Path.of(args[1]);
+        MockServerProfile profile = MockServerProfile.valueOf(args[2]);
+        Duration idleTimeout = Duration.ofSeconds(Long.parseLong(args[3]));
+
+        ActivityListener activity = new ActivityListener();
+        WireMockServer wireMockServer = new WireMockServer(
+                profile.configure(WireMockConfiguration.wireMockConfig())
+                        .port(port)
+                        .templatingEnabled(true)
+                        .globalTemplating(false)
+                        .extensions(activity, new LatencyProfileTransformer())
+        );
+        wireMockServer.start();
+        log.info("WireMock daemon {} is started on port {}", ProcessHandle.current().pid(), port);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wiremock-daemon-idle-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (isIdle(registryFile, activity, idleTimeout)) {
+                log.info("WireMock daemon has been idle for {}, stopping it", idleTimeout);
+                wireMockServer.stop();
+                scheduler.shutdown();
+            }
+        }, IDLE_CHECK_INTERVAL.toMillis(), IDLE_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isIdle(Path registryFile, ActivityListener activity, Duration idleTimeout) {
+        return WireMockDaemon.withLock(registryFile, () -> {
+            WireMockDaemon.Registration registered = WireMockDaemon.read(registryFile);
+            boolean registeredHere = registered != null && registered.getPid() == ProcessHandle.current().pid();
+            if (registeredHere && registered.getClients().stream().anyMatch(WireMockDaemon::isProcessAlive)) {
+                return false;
+            }
+            long lastActivity = Math.max(activity.getLastActivityMillis(),
+                    registeredHere ? Files.getLastModifiedTime(registryFile).toMillis() : 0);
+            boolean idle = System.currentTimeMillis() - lastActivity > idleTimeout.toMillis();
+            if (idle && registeredHere) {
+                Files.delete(registryFile);
+            }
+            return idle;
+        });
+    }
+
+    /**
+     * A serve event listener tracking the time of the last served request
+     */
+    private static class ActivityListener implements ServeEventListener {
+        private volatile long lastActivityMillis = System.currentTimeMillis();
+
+        @Override
+        public String getName() {
+            return "daemon-activity";
+        }
+
+        @Override
+        public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        long getLastActivityMillis() {
+            return lastActivityMillis;
+        }
+    }
+}
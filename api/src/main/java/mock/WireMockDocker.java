@@ -0,0 +1,78 @@
+package mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.awaitility.Awaitility;
+import org.awaitility.Durations;
+import org.awaitility.core.ConditionTimeoutException;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * A helper for running WireMock in Docker.
+ * It starts a detached container publishing the given port, waits for WireMock in it to become healthy
+ * and stops it by container id
+ */
+
+@Slf4j
+public class WireMockDocker {
+
+    /**
+     * Starts WireMock in Docker and waits until it is healthy. The container is stopped when it does not
+     * become healthy in time, so a failed startup never leaves it running
+     */
+    public static String start(int port, WireMockClient wireMockClient) {
+        String containerId = start(port);
+        try {
+            waitStarted(wireMockClient);
+        } catch (ConditionTimeoutException e) {
+            stop(containerId);
+            throw new RuntimeException("WireMock in Docker has not become healthy", e);
+        }
+        return containerId;
+    }
+
+    private static String start(int port) {
+        log.info("Starting WireMock in Docker");
+        try {
+            ProcessBuilder processBuilder = new ProcessBuilder(
+                    "docker", "run", "-d", "--rm", "-p", port + ":8080", "wiremock/wiremock:latest");
+            Process process = processBuilder.start();
+            process.waitFor(2, TimeUnit.MINUTES);
+            String containerId = new String(process.getInputStream().readAllBytes()).trim();
+            process.destroyForcibly().waitFor();
+            return containerId;
+        } catch (IOException | InterruptedException e) {
+            throw new RuntimeException("Failed to start WireMock in Docker", e);
+        }
+    }
+
+    public static void stop(String containerId) {
+        log.info("Stopping WireMock in Docker");
+        try {
+            Process dockerStopProcess = new ProcessBuilder("docker", "stop", containerId)
+                    .redirectErrorStream(true)
+                    .start();
+
+            try (BufferedReader reader = new BufferedReader(dockerStopProcess.inputReader())) {
+                reader.lines().forEach(log::info);
+            }
+
+            dockerStopProcess.waitFor();
+        } catch (IOException | InterruptedException e) {
+            log.error("Failed to stop WireMock in Docker", e);
+        }
+    }
+
+    private static void waitStarted(WireMockClient wireMockClient) {
+        log.info("Waiting for WireMock started in Docker");
+        Awaitility.await()
+                .pollInterval(Durations.TEN_SECONDS)
+                .timeout(1, TimeUnit.MINUTES)
+                .ignoreExceptions()
+                .untilAsserted(() ->
+                        Assertions.assertEquals(200, wireMockClient.sendIsWireMockHealthyRequest().getStatusCode()));
+        log.info("WireMock is available in Docker");
+    }
+}
@@ -7,6 +7,73 @@ public class PrivateProperties {
             "junit.parallelism", "4");
     public static final String START_WIREMOCK_IN_DOCKER = PropertiesManagerUtil.getPrivateProperty(
             "startWireMockInDocker", "false");
+    public static final String MOCK_DAEMON = PropertiesManagerUtil.getPrivateProperty(
+            "mockDaemon", "false");
+    public static final String MOCK_DAEMON_REGISTRY_FILE = PropertiesManagerUtil.getPrivateProperty(
+            "mockDaemonRegistryFile", ".mock-daemon/registry.json");
+    public static final String MOCK_DAEMON_IDLE_TIMEOUT_MINUTES = PropertiesManagerUtil.getPrivateProperty(
+            "mockDaemonIdleTimeoutMinutes", "30");
+    public static final String MOCK_SERVER_PROFILE = PropertiesManagerUtil.getPrivateProperty(
+            "mockServerProfile", "DEFAULT");
+    public static final String MOCK_CONTAINER_THREADS = PropertiesManagerUtil.getPrivateProperty(
+            "mockContainerThreads", "200");
+    public static final String MOCK_CAPACITY_CHECK = PropertiesManagerUtil.getPrivateProperty(
+            "mockCapacityCheck", "false");
+    public static final String MOCK_JOURNAL_POLICY = PropertiesManagerUtil.getPrivateProperty(
+            "mockJournalPolicy", "MAX_ENTRIES");
+    public static final String MOCK_JOURNAL_MAX_ENTRIES = PropertiesManagerUtil.getPrivateProperty(
+            "mockJournalMaxEntries", "1000");
+    public static final String MOCK_JOURNAL_WINDOW_SECONDS = PropertiesManagerUtil.getPrivateProperty(
+            "mockJournalWindowSeconds", "60");
+    public static final String MOCK_STUB_INDEX = PropertiesManagerUtil.getPrivateProperty(
+            "mockStubIndex", "true");
+    public static final String MOCK_MAX_LOGGED_RESPONSE_KB = PropertiesManagerUtil.getPrivateProperty(
+            "mockMaxLoggedResponseKb", "");
+    public static final String MOCK_JOURNAL_EXPORT_DIR = PropertiesManagerUtil.getPrivateProperty(
+            "mockJournalExportDir", "");
+    public static final String MOCK_JOURNAL_EXPORT_MAX_FILE_MB = PropertiesManagerUtil.getPrivateProperty(
+            "mockJournalExportMaxFileMb", "256");
+    public static final String SSH_TUNNEL_STATS_FILE = PropertiesManagerUtil.getPrivateProperty(
+            "sshTunnelStatsFile", ".mock-tunnels/ssh-tunnel-stats.json");
+    public static final String SSH_TUNNEL_RACE_TIMEOUT_SECONDS = PropertiesManagerUtil.getPrivateProperty(
+            "sshTunnelRaceTimeoutSeconds", "60");
+    public static final String SSH_TUNNEL_HEALTH_INTERVAL_SECONDS = PropertiesManagerUtil.getPrivateProperty(
+            "sshTunnelHealthIntervalSeconds", "15");
+    public static final String SSH_TUNNEL_MAX_FAILED_PROBES = PropertiesManagerUtil.getPrivateProperty(
+            "sshTunnelMaxFailedProbes", "3");
+    public static final String LOAD_PROFILE = PropertiesManagerUtil.getPrivateProperty(
+            "loadProfile", "SMOKE");
+    public static final String LOAD_SCENARIO = PropertiesManagerUtil.getPrivateProperty(
+            "loadScenario", "CREATE_READ_DELETE");
+    public static final String LOAD_PAYLOADS = PropertiesManagerUtil.getPrivateProperty(
+            "loadPayloads", "10000");
+    public static final String LOAD_PROPAGATION_ENDPOINT = PropertiesManagerUtil.getPrivateProperty(
+            "loadPropagationEndpoint", "");
+    public static final String PERF_HISTORY_FILE = PropertiesManagerUtil.getPrivateProperty(
+            "perfHistoryFile", ".perf-history/performance-tests.jsonl");
+    public static final String PERF_BASELINE_RUNS = PropertiesManagerUtil.getPrivateProperty(
+            "perfBaselineRuns", "10");
+    public static final String PERF_REGRESSION = PropertiesManagerUtil.getPrivateProperty(
+            "perfRegression", "warn");
+    public static final String BOOKING_SEED = PropertiesManagerUtil.getPrivateProperty(
+            "bookingSeed", "");
+    public static final String BOOKER_EMULATOR = PropertiesManagerUtil.getPrivateProperty(
+            "bookerEmulator", "false");
+    public static final String BOOKER_EMULATOR_PORT = PropertiesManagerUtil.getPrivateProperty(
+            "bookerEmulatorPort", "8090");
+    public static final String BOOKER_EMULATOR_EXPECTED_BOOKINGS = PropertiesManagerUtil.getPrivateProperty(
+            "bookerEmulatorExpectedBookings", "1000000");
+    public static final String BOOKER_EMULATOR_SEED_BOOKINGS = PropertiesManagerUtil.getPrivateProperty(
+            "bookerEmulatorSeedBookings", "1500");
+    public static final String BOOKER_RECORDING = PropertiesManagerUtil.getPrivateProperty(
+            "bookerRecording", "off");
+    public static final String BOOKER_RECORDING_FILE = PropertiesManagerUtil.getPrivateProperty(
+            "bookerRecordingFile", ".mock-recordings/booker-mappings.json");
+    public static final String BOOKER_RECORDING_PORT = PropertiesManagerUtil.getPrivateProperty(
+            "bookerRecordingPort", "0");
+    public static final String BOOKER_RECORDING_VOLATILE_FIELDS = PropertiesManagerUtil.getPrivateProperty(
+            "bookerRecordingVolatileFields",
+            "firstname,lastname,totalprice,depositpaid,checkin,checkout,additionalneeds");
     public static final String USERNAME = PropertiesManagerUtil.getPrivatePropertyOrNull("username");
     public static final String PASSWORD = PropertiesManagerUtil.getPrivatePropertyOrNull("password");
 }
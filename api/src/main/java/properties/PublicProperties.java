@@ -1,7 +1,18 @@
 package properties;
 
+import static properties.PrivateProperties.BOOKER_EMULATOR;
+import static properties.PrivateProperties.BOOKER_EMULATOR_PORT;
+import static properties.PrivateProperties.BOOKER_RECORDING;
 import utils.PropertiesManagerUtil;
 
 public class PublicProperties {
-    public static final String BOOKER_URL = PropertiesManagerUtil.getProperty("bookerUrl");
+    public static final String BOOKER_UPSTREAM_URL = PropertiesManagerUtil.getProperty("bookerUrl");
+    /**
+     * The recording port is read again rather than taken from PrivateProperties, as the traffic recording
+     * session listener replaces its default 0 with the free port it has resolved before this class is loaded
+     */
+    public static final String BOOKER_URL = Boolean.parseBoolean(BOOKER_EMULATOR) ?
+            "http://localhost:" + BOOKER_EMULATOR_PORT :
+            "off".equals(BOOKER_RECORDING) ? BOOKER_UPSTREAM_URL :
+                    "http://localhost:" + PropertiesManagerUtil.getPrivateProperty("bookerRecordingPort", "0");
 }
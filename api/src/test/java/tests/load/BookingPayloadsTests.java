@@ -0,0 +1,94 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import builders.BookingGenerator;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import load.BookingPayloads;
+import models.booking.Booking;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static utils.JsonMessageTestUtils.jsonMessageFromBody;
+
+@Tag("Load")
+public class BookingPayloadsTests {
+    private static final int PAYLOADS = 200;
+    private static final long SEED = 42;
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5021")
+    @DisplayName("Feed pre-generated memory-mapped Booking payloads")
+    @Description("Generate Booking payloads to a file, feed them round-robin from parallel threads, " +
+            "and verify every payload is a Booking and the file is reused by the next run")
+    @AllureId("50181")
+    public void bookingPayloadsTest() throws Exception {
+        step("Generate " + PAYLOADS + " Booking payloads");
+        Path file = tempDir.resolve("bookings.bin");
+        BookingPayloads payloads = BookingPayloads.load(file, PAYLOADS);
+        Assertions.assertEquals(PAYLOADS, payloads.size());
+        List<String> generated = IntStream.range(0, PAYLOADS).mapToObj(payloads::get).collect(Collectors.toList());
+        for (String payload : generated) {
+            Assertions.assertNotNull(jsonMessageFromBody(payload, Booking.class).getFirstname(), payload);
+        }
+
+        step("Feed payloads round-robin from parallel threads");
+        Set<String> fed = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, PAYLOADS).parallel().forEach(i -> fed.add(payloads.next()));
+        Assertions.assertEquals(Set.copyOf(generated), fed);
+        Assertions.assertEquals(generated.get(0), payloads.next(), "Feeding does not start over");
+        Assertions.assertTrue(generated.contains(payloads.random()));
+
+        step("Reuse the file of the same size and regenerate it for another size");
+        FileTime modified = Files.getLastModifiedTime(file);
+        Assertions.assertEquals(generated, IntStream.range(0, PAYLOADS)
+                .mapToObj(BookingPayloads.load(file, PAYLOADS)::get).collect(Collectors.toList()));
+        Assertions.assertEquals(modified, Files.getLastModifiedTime(file));
+        Assertions.assertEquals(PAYLOADS / 2, BookingPayloads.load(file, PAYLOADS / 2).size());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5021")
+    @DisplayName("Regenerate Booking payloads of another seed and reuse decoded payloads")
+    @Description("Load Booking payloads of one generator seed, load the same file with another seed and " +
+            "verify it is regenerated, while every sample of a payload returns the same decoded instance")
+    @AllureId("50182")
+    public void bookingPayloadsSeedTest() {
+        step("Generate " + PAYLOADS + " Booking payloads with seed " + SEED);
+        Path file = tempDir.resolve("bookings.bin");
+        BookingPayloads payloads = BookingPayloads.load(file, PAYLOADS, new BookingGenerator(SEED, TODAY));
+        Assertions.assertEquals(SEED, payloads.getSeed());
+
+        step("Verify a payload is decoded once and its bytes are a view of the file");
+        String first = payloads.get(0);
+        Assertions.assertSame(first, payloads.get(0));
+        Assertions.assertSame(first, payloads.next());
+        Assertions.assertEquals(first, StandardCharsets.UTF_8.decode(payloads.slice(0)).toString());
+        Assertions.assertTrue(payloads.slice(0).isReadOnly());
+
+        step("Verify the file is reused for the same seed and regenerated for another seed");
+        Assertions.assertEquals(first, BookingPayloads.load(file, PAYLOADS, new BookingGenerator(SEED, TODAY)).get(0));
+        BookingPayloads reseeded = BookingPayloads.load(file, PAYLOADS, new BookingGenerator(SEED + 1, TODAY));
+        Assertions.assertEquals(SEED + 1, reseeded.getSeed());
+        Assertions.assertEquals(new BookingGenerator(SEED + 1, TODAY).booking(0).getFirstname(),
+                jsonMessageFromBody(reseeded.get(0), Booking.class).getFirstname());
+        Assertions.assertEquals(SEED + 1, BookingPayloads.open(file).getSeed());
+    }
+}
@@ -0,0 +1,61 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.util.stream.Collectors;
+import load.BookingScenario;
+import load.LoadProfile;
+import mock.BookerEmulator;
+import mock.MockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import tests.BaseTest;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+
+@Tag("Load")
+public class BookingScenarioTests extends BaseTest {
+    private MockServer bookerEmulator;
+
+    @BeforeAll
+    public void setUp() {
+        bookerEmulator = MockServer.startBookerEmulator(0, new BookerEmulator(1000));
+    }
+
+    @AfterAll
+    public void tearDown() {
+        bookerEmulator.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(BookingScenario.class)
+    @JiraIssue("XXXX-5020")
+    @DisplayName("Run Booking load scenario under smoke profile against emulator")
+    @Description("Run the Booking scenario under the smoke load profile against Restful-Booker emulator " +
+            "and verify every request of the scenario succeeds")
+    @AllureId("50171")
+    public void bookingScenarioTest(BookingScenario scenario) throws IOException {
+        step("Run " + scenario + " scenario under " + LoadProfile.SMOKE.describe());
+        String authorization = "Basic " + getToken(bookerEmulator.getLocalUrl());
+        TestPlanStats stats = testPlan(
+                LoadProfile.SMOKE.threadGroup(scenario.samplers(bookerEmulator.getLocalUrl(), authorization))
+        ).run();
+
+        step("Verify all requests of the scenario succeeded");
+        Assertions.assertEquals(0, stats.overall().errorsCount(), () -> "Errors by label: " +
+                stats.labels().stream().collect(Collectors.toMap(label -> label,
+                        label -> stats.byLabel(label).errorsCount())));
+        for (String label : scenario.getLabels()) {
+            Assertions.assertTrue(stats.byLabel(label).samplesCount() > 0, "No " + label + " samples");
+        }
+        Assertions.assertEquals(scenario.getLabels().size(), stats.labels().size());
+    }
+}
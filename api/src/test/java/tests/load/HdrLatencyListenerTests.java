@@ -0,0 +1,183 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import load.HdrLatencyListener;
+import load.Slo;
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.rpsThreadGroup;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.threadgroups.RpsThreadGroup;
+
+@Tag("Load")
+public class HdrLatencyListenerTests {
+    private static final String LABEL = "Get Booking";
+    private static final int RPS = 20;
+    private static final int STALL_MILLIS = 500;
+    private static final int ITERATION_RPS = 10;
+    private static final String PING_LABEL = "Ping";
+    private static final Duration RAMP = Duration.ofSeconds(4);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5025")
+    @DisplayName("Record sample times into HdrHistograms corrected for coordinated omission")
+    @Description("Send requests at a fixed rate from one thread to WireMock stalling every 20th of them, " +
+            "and verify corrected histograms account for requests held back by stalls and are logged to files")
+    @AllureId("50221")
+    public void hdrLatencyListenerTest() throws IOException {
+        step("Send " + RPS + " requests per second from one thread, every 20th stalling for " + STALL_MILLIS + " ms");
+        WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        HdrLatencyListener listener = new HdrLatencyListener(tempDir).expectedRate(RPS);
+        TestPlanStats stats;
+        try {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/booking")).willReturn(WireMock.ok()));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/booking"))
+                    .withQueryParam("request", WireMock.matching("[0-9]*[02468]0"))
+                    .willReturn(WireMock.ok().withFixedDelay(STALL_MILLIS)));
+            stats = testPlan(
+                    rpsThreadGroup()
+                            .maxThreads(1)
+                            .rampToAndHold(RPS, Duration.ZERO, Duration.ofSeconds(5))
+                            .children(httpSampler(LABEL,
+                                    wireMockServer.baseUrl() + "/booking?request=${__counter(FALSE,)}")),
+                    listener
+            ).run();
+        } finally {
+            wireMockServer.stop();
+        }
+        Allure.addAttachment("HdrHistogram latency", listener.format());
+
+        step("Verify stalls are corrected for the requests they held back");
+        Histogram raw = listener.getRawHistogram(LABEL);
+        Histogram corrected = listener.getHistogram(LABEL);
+        Assertions.assertEquals(stats.byLabel(LABEL).samplesCount(), raw.getTotalCount());
+        Assertions.assertEquals(raw.getTotalCount(), listener.getRawHistogram(Slo.OVERALL).getTotalCount());
+        Assertions.assertTrue(raw.getMaxValue() >= STALL_MILLIS * 1000L, listener.format());
+        Assertions.assertTrue(corrected.getTotalCount() > raw.getTotalCount(), listener.format());
+        Assertions.assertEquals(raw.getMaxValue(), corrected.getMaxValue(), listener.format());
+        Assertions.assertTrue(corrected.getValueAtPercentile(90) > raw.getValueAtPercentile(90), listener.format());
+
+        step("Verify interval log and percentile distributions are written");
+        Set<String> tags = new HashSet<>();
+        long loggedCount = 0;
+        try (HistogramLogReader reader = new HistogramLogReader(listener.getHlogFile().toFile())) {
+            for (EncodableHistogram interval = reader.nextIntervalHistogram(); interval != null;
+                 interval = reader.nextIntervalHistogram()) {
+                tags.add(interval.getTag());
+                loggedCount += "Get_Booking".equals(interval.getTag()) ? ((Histogram) interval).getTotalCount() : 0;
+            }
+        }
+        Assertions.assertEquals(Set.of("Get_Booking", Slo.OVERALL), tags);
+        Assertions.assertEquals(corrected.getTotalCount(), loggedCount);
+        Assertions.assertTrue(Files.readString(listener.getDistributionFile(LABEL)).contains("#[Mean"));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5025")
+    @DisplayName("Correct sample times of iterations with several samplers once per iteration")
+    @Description("Run iterations of a stalling and a fast request at a fixed rate from one thread, " +
+            "and verify every label of a stalled iteration gets the same held-back iterations once")
+    @AllureId("50222")
+    public void multiSamplerIterationTest() {
+        step("Run " + ITERATION_RPS + " iterations per second of two requests, every 20th iteration stalling");
+        HdrLatencyListener listener = new HdrLatencyListener(tempDir).expectedRate(ITERATION_RPS);
+        runStalling(listener, rpsThreadGroup()
+                .counting(RpsThreadGroup.EventType.ITERATIONS)
+                .maxThreads(1)
+                .rampToAndHold(ITERATION_RPS, Duration.ZERO, Duration.ofSeconds(5)), PING_LABEL);
+
+        step("Verify both labels get the same held-back iterations, counted once per label under overall");
+        long bookingHeldBack = heldBack(listener, LABEL);
+        Assertions.assertTrue(bookingHeldBack > 0, listener.format());
+        Assertions.assertEquals(bookingHeldBack, heldBack(listener, PING_LABEL), listener.format());
+        Assertions.assertEquals(bookingHeldBack * 2, heldBack(listener, Slo.OVERALL), listener.format());
+        Assertions.assertTrue(listener.getHistogram(PING_LABEL).getMaxValue() >= STALL_MILLIS * 1000L / 2,
+                listener.format());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5025")
+    @DisplayName("Correct sample times at the rate scheduled when the iteration started")
+    @Description("Ramp the rate of requests from one thread up and hold it while WireMock stalls every 20th " +
+            "of them, and verify stalls during the ramp are corrected for fewer held-back requests than at the peak")
+    @AllureId("50223")
+    public void rampedRateTest() {
+        step("Ramp up to " + RPS + " requests per second in " + RAMP + " and hold it, every 20th stalling");
+        HdrLatencyListener listener = new HdrLatencyListener(tempDir).expectedRate(elapsed ->
+                Math.min(1 + (RPS - 1) * (double) elapsed.toMillis() / RAMP.toMillis(), RPS));
+        runStalling(listener, rpsThreadGroup()
+                .maxThreads(1)
+                .rampTo(RPS, RAMP)
+                .holdFor(Duration.ofSeconds(3)));
+
+        step("Verify stalls are corrected for fewer requests than at the peak rate throughout");
+        long peakRateHeldBack = 0;
+        long expectedMicros = 1_000_000L / RPS;
+        for (HistogramIterationValue value : listener.getRawHistogram(LABEL).recordedValues()) {
+            peakRateHeldBack += value.getCountAtValueIteratedTo() *
+                    Math.max(0, value.getValueIteratedTo() / expectedMicros - 1);
+        }
+        long heldBack = heldBack(listener, LABEL);
+        Assertions.assertTrue(heldBack > 0, listener.format());
+        Assertions.assertTrue(heldBack < peakRateHeldBack, "Held back " + heldBack + " of " + peakRateHeldBack +
+                " at the peak rate\n" + listener.format());
+    }
+
+    /**
+     * Runs the thread group sending requests to WireMock stalling every 20th of them, followed by
+     * a fast request of every label given
+     */
+    private static void runStalling(HdrLatencyListener listener, RpsThreadGroup threadGroup, String... labels) {
+        WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        try {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/booking")).willReturn(WireMock.ok()));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/booking"))
+                    .withQueryParam("request", WireMock.matching("[0-9]*[02468]0"))
+                    .willReturn(WireMock.ok().withFixedDelay(STALL_MILLIS)));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/ping")).willReturn(WireMock.ok()));
+            threadGroup.children(httpSampler(LABEL,
+                    wireMockServer.baseUrl() + "/booking?request=${__counter(FALSE,)}"));
+            for (String label : labels) {
+                threadGroup.children(httpSampler(label, wireMockServer.baseUrl() + "/ping"));
+            }
+            testPlan(threadGroup, listener).run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            wireMockServer.stop();
+        }
+        Allure.addAttachment("HdrHistogram latency", listener.format());
+    }
+
+    private static long heldBack(HdrLatencyListener listener, String label) {
+        return listener.getHistogram(label).getTotalCount() - listener.getRawHistogram(label).getTotalCount();
+    }
+}
@@ -0,0 +1,145 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import load.LoadProfile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.dummySampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+
+@Tag("Load")
+public class LoadProfileTests {
+    private static final int STRESS_STEPS = 3;
+    private static final Duration SPIKE_RAMP = Duration.ofSeconds(1);
+    private static final double INITIAL_RPS = 1;
+    private static final double DELTA = 1e-9;
+
+    @TempDir
+    private Path tempDir;
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = LoadProfile.class, names = {"STRESS", "SPIKE", "SOAK"})
+    @JiraIssue("XXXX-5020")
+    @DisplayName("Build thread group of load profile")
+    @Description("Save the thread group of the load profile with two samplers as JMX and verify its rate schedule " +
+            "follows the shape of the profile and every sampler is added once")
+    @AllureId("50172")
+    public void loadProfileThreadGroupTest(LoadProfile profile)
+            throws IOException, ParserConfigurationException, SAXException {
+        step("Save " + profile.describe() + " thread group as JMX");
+        Path jmx = tempDir.resolve(profile + ".jmx");
+        testPlan(profile.threadGroup(dummySampler("first", "OK"), dummySampler("second", "OK")))
+                .saveAsJmx(jmx.toString());
+        Document document = parse(jmx);
+
+        step("Verify rate schedule of the thread group");
+        Assertions.assertEquals(expectedSchedule(profile), readSchedule(document));
+
+        step("Verify every sampler is added once");
+        NodeList samplers = document.getElementsByTagName("kg.apc.jmeter.samplers.DummySampler");
+        Assertions.assertEquals(2, samplers.getLength());
+    }
+
+    private static List<List<String>> expectedSchedule(LoadProfile profile) {
+        List<List<String>> schedule = new ArrayList<>();
+        schedule.add(row(INITIAL_RPS, profile.getRps(), profile.getRamp()));
+        schedule.add(row(profile.getRps(), profile.getRps(), profile.getHold()));
+        if (profile == LoadProfile.STRESS) {
+            double step = (profile.getPeakRps() - profile.getRps()) / STRESS_STEPS;
+            for (int i = 1; i <= STRESS_STEPS; i++) {
+                schedule.add(row(profile.getRps() + step * (i - 1), profile.getRps() + step * i, profile.getRamp()));
+                schedule.add(row(profile.getRps() + step * i, profile.getRps() + step * i, profile.getHold()));
+            }
+        } else if (profile == LoadProfile.SPIKE) {
+            schedule.add(row(profile.getRps(), profile.getPeakRps(), SPIKE_RAMP));
+            schedule.add(row(profile.getPeakRps(), profile.getPeakRps(), profile.getHold()));
+            schedule.add(row(profile.getPeakRps(), profile.getRps(), SPIKE_RAMP));
+            schedule.add(row(profile.getRps(), profile.getRps(), profile.getHold()));
+        }
+        return schedule;
+    }
+
+    private static List<String> row(double fromRps, double toRps, Duration duration) {
+        return List.of(String.valueOf(fromRps), String.valueOf(toRps), String.valueOf(duration.toSeconds()));
+    }
+
+    /**
+     * Reads rows of start rate, end rate and duration in seconds from the throughput timer of the thread group
+     */
+    private static List<List<String>> readSchedule(Document document) {
+        List<List<String>> schedule = new ArrayList<>();
+        NodeList collections = document.getElementsByTagName("collectionProp");
+        for (int i = 0; i < collections.getLength(); i++) {
+            Element collection = (Element) collections.item(i);
+            if (((Element) collection.getParentNode()).getAttribute("name").equals("load_profile")) {
+                NodeList values = collection.getElementsByTagName("stringProp");
+                List<String> row = new ArrayList<>();
+                for (int j = 0; j < values.getLength(); j++) {
+                    row.add(values.item(j).getTextContent());
+                }
+                schedule.add(row);
+            }
+        }
+        return schedule;
+    }
+
+    private static Document parse(Path jmx) throws IOException, ParserConfigurationException, SAXException {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(jmx.toFile());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5025")
+    @DisplayName("Return rate scheduled by load profile at elapsed time")
+    @Description("Verify scheduled rates of load profiles follow their ramps and holds, " +
+            "and a closed thread group has no scheduled rate")
+    @AllureId("50224")
+    public void scheduledRpsTest() {
+        step("Verify a closed thread group has no scheduled rate");
+        Assertions.assertEquals(0, LoadProfile.SMOKE.getScheduledRps(Duration.ZERO));
+        Assertions.assertEquals(0, LoadProfile.SMOKE.getScheduledRps(LoadProfile.SMOKE.getHold()));
+
+        step("Verify " + LoadProfile.LOAD.describe() + " ramps up to its rate and holds it");
+        LoadProfile load = LoadProfile.LOAD;
+        Assertions.assertEquals(INITIAL_RPS, load.getScheduledRps(Duration.ZERO));
+        Assertions.assertEquals((INITIAL_RPS + load.getRps()) / 2, load.getScheduledRps(load.getRamp().dividedBy(2)),
+                DELTA);
+        Assertions.assertEquals(load.getRps(), load.getScheduledRps(load.getRamp()));
+        Assertions.assertEquals(load.getRps(), load.getScheduledRps(load.getRamp().plus(load.getHold()).plusHours(1)));
+
+        step("Verify " + LoadProfile.SPIKE.describe() + " jumps to its peak rate and drops back");
+        LoadProfile spike = LoadProfile.SPIKE;
+        Duration spikeStart = spike.getRamp().plus(spike.getHold());
+        Assertions.assertEquals(spike.getRps(), spike.getScheduledRps(spikeStart));
+        Assertions.assertEquals(spike.getPeakRps(), spike.getScheduledRps(spikeStart.plus(SPIKE_RAMP)));
+        Assertions.assertEquals(spike.getPeakRps(), spike.getScheduledRps(spikeStart.plus(spike.getHold())));
+        Assertions.assertEquals(spike.getRps(),
+                spike.getScheduledRps(spikeStart.plus(SPIKE_RAMP.multipliedBy(2)).plus(spike.getHold())));
+
+        step("Verify " + LoadProfile.STRESS.describe() + " climbs in steps up to its peak rate");
+        LoadProfile stress = LoadProfile.STRESS;
+        Duration stepDuration = stress.getRamp().plus(stress.getHold());
+        Assertions.assertEquals(stress.getRps() + (stress.getPeakRps() - stress.getRps()) / STRESS_STEPS,
+                stress.getScheduledRps(stepDuration.plus(stress.getRamp())), DELTA);
+        Assertions.assertEquals(stress.getPeakRps(),
+                stress.getScheduledRps(stepDuration.multipliedBy(STRESS_STEPS + 1)), DELTA);
+    }
+}
@@ -0,0 +1,125 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import load.PerfHistory;
+import load.PerfRegression;
+import load.PerfRegressionCheck;
+import load.PerfRegressionReport;
+import load.PerfRun;
+import load.PerfTrendChart;
+import load.SloMetric;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("Load")
+public class PerfHistoryTests {
+    private static final String TEST = "CREATE_READ_DELETE under LOAD";
+    private static final String CREATE = "Create Booking";
+    private static final String GET = "Get Booking by id";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5024")
+    @DisplayName("Detect performance regressions against history of previous runs")
+    @Description("Append runs to the performance history, compare a run with a slower request against " +
+            "the rolling baseline and verify only the significant regression is reported")
+    @AllureId("50211")
+    public void perfRegressionTest() throws Exception {
+        step("Append 12 runs with noisy latencies to the history, and one of another environment");
+        PerfHistory history = new PerfHistory(tempDir.resolve("history/runs.jsonl"));
+        Random random = new Random(24);
+        for (int i = 0; i < 12; i++) {
+            history.append(run("prod", 200 + random.nextGaussian() * 8, 100 + random.nextGaussian() * 5,
+                    10 + random.nextGaussian() * 0.2));
+        }
+        history.append(run("dev", 900, 900, 1));
+        Files.writeString(history.getFile(), "{\"test\":\"cut off", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Assertions.assertEquals(13, history.read().size());
+
+        step("Compare runs against the last 10 runs of the same environment");
+        PerfRun regressed = run("prod", 204, 135, 9.9);
+        List<PerfRun> baseline = history.baseline(regressed, 10);
+        Assertions.assertEquals(10, baseline.size());
+        Assertions.assertTrue(baseline.stream().allMatch(previous -> "prod".equals(previous.getEnvironment())));
+        PerfRegressionReport report = new PerfRegressionCheck().compare(regressed, baseline).attach();
+        Assertions.assertEquals(List.of(GET + " p95"), report.getRegressions().stream()
+                .map(regression -> regression.getLabel() + " " + regression.getMetric().getTitle())
+                .collect(Collectors.toList()), report.format());
+        PerfRegression regression = report.getRegressions().get(0);
+        Assertions.assertTrue(regression.getPValue() < 0.01 && regression.getChange() > 0.3, regression.describe());
+        AssertionError error = Assertions.assertThrows(AssertionError.class, () -> report.verify(true));
+        Assertions.assertTrue(error.getMessage().startsWith("1 performance regressions: " + GET + " p95 135 ms"),
+                error.getMessage());
+        Assertions.assertTrue(report.verify(false));
+
+        step("Verify runs within the noise and runs without enough baseline are not regressions");
+        Assertions.assertTrue(history.compare(run("prod", 206, 108, 9.8), 10).getRegressions().isEmpty());
+        PerfRegressionReport withoutBaseline = new PerfRegressionCheck()
+                .compare(regressed, baseline.subList(0, 4));
+        Assertions.assertTrue(withoutBaseline.getComparisons().stream().noneMatch(PerfRegression::isCompared));
+        Assertions.assertTrue(withoutBaseline.format().contains("NO BASELINE"));
+
+        step("Draw the trend of every label");
+        String svg = PerfTrendChart.svg(history.read(), SloMetric.P95);
+        Assertions.assertEquals(2, svg.split("<polyline").length - 1, svg);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5024")
+    @DisplayName("Append only runs which have passed their checks to the history")
+    @Description("Compare runs with the history and verify regressed runs and runs failing their other checks " +
+            "are not appended, so they never become a part of the baseline, while an accepted run is")
+    @AllureId("50212")
+    public void appendPassedRunsTest() {
+        step("Append 12 runs with noisy latencies to the history");
+        PerfHistory history = new PerfHistory(tempDir.resolve("passed/runs.jsonl"));
+        Random random = new Random(24);
+        for (int i = 0; i < 12; i++) {
+            history.append(run("prod", 200 + random.nextGaussian() * 8, 100 + random.nextGaussian() * 5,
+                    10 + random.nextGaussian() * 0.2));
+        }
+
+        step("Verify a regressed run is not appended, even when regressions only warn");
+        PerfRun regressed = run("prod", 204, 135, 9.9);
+        Assertions.assertFalse(history.compareAndAppend(regressed, 10, false, () -> { })
+                .getRegressions().isEmpty());
+        Assertions.assertThrows(AssertionError.class, () -> history.compareAndAppend(regressed, 10, true, () -> { }));
+        Assertions.assertEquals(12, history.read().size());
+
+        step("Verify a run failing its other checks is not appended, while an accepted one is");
+        PerfRun accepted = run("prod", 206, 108, 9.8);
+        Assertions.assertThrows(AssertionError.class, () -> history.compareAndAppend(accepted, 10, true,
+                () -> Assertions.fail("SLO is not met")));
+        Assertions.assertEquals(12, history.read().size());
+        Assertions.assertTrue(history.compareAndAppend(accepted, 10, true, () -> { }).getRegressions().isEmpty());
+        Assertions.assertEquals(13, history.read().size());
+    }
+
+    private static PerfRun run(String environment, double createP95, double getP95, double throughput) {
+        return PerfRun.builder()
+                .test(TEST)
+                .environment(environment)
+                .revision("abc1234")
+                .startedAt("2026-10-18T10:00:00Z")
+                .labels(Map.of(
+                        CREATE, Map.of(SloMetric.P95, createP95, SloMetric.THROUGHPUT, throughput),
+                        GET, Map.of(SloMetric.P95, getP95, SloMetric.THROUGHPUT, throughput)))
+                .build();
+    }
+}
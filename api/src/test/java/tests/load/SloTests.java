@@ -0,0 +1,82 @@
+package tests.load;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import load.Slo;
+import load.SloMetric;
+import load.SloReport;
+import load.SloResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+
+@Tag("Load")
+public class SloTests {
+    private static final int SLOW_MILLIS = 200;
+
+    @Test
+    @JiraIssue("XXXX-5023")
+    @DisplayName("Evaluate per-label SLO against JMeter stats")
+    @Description("Send fast and slow requests to WireMock, evaluate objectives of every label, " +
+            "and verify only the breached ones fail with their label and metric")
+    @AllureId("50201")
+    public void sloTest() throws IOException {
+        step("Send fast and slow requests");
+        WireMockServer wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        TestPlanStats stats;
+        try {
+            wireMockServer.stubFor(WireMock.get("/fast").willReturn(WireMock.ok()));
+            wireMockServer.stubFor(WireMock.get("/slow").willReturn(WireMock.ok().withFixedDelay(SLOW_MILLIS)));
+            stats = testPlan(threadGroup(2, 10,
+                    httpSampler("fast", wireMockServer.baseUrl() + "/fast"),
+                    httpSampler("slow", wireMockServer.baseUrl() + "/slow"))
+            ).run();
+        } finally {
+            wireMockServer.stop();
+        }
+
+        step("Evaluate objectives met by all labels");
+        Slo.spec()
+                .overall().maxErrorRate(0)
+                .labels(List.of("fast", "slow")).p50(Duration.ofSeconds(5)).p99(Duration.ofSeconds(5))
+                .evaluate(stats).attach().assertMet();
+
+        step("Evaluate objectives breached by slow and missing labels");
+        SloReport report = Slo.spec()
+                .overall().maxErrorRate(0)
+                .label("fast").p95(Duration.ofSeconds(5)).minThroughput(1_000_000)
+                .label("slow").p95(Duration.ofMillis(SLOW_MILLIS / 2)).maxErrorRate(0.01)
+                .label("missing").p99(Duration.ofSeconds(1))
+                .evaluate(stats).attach();
+        Assertions.assertEquals(6, report.getResults().size());
+        Assertions.assertEquals(List.of("fast throughput", "slow p95", "missing p99"), report.getBreaches().stream()
+                .map(result -> result.getLabel() + " " + result.getMetric().getTitle())
+                .collect(Collectors.toList()));
+        SloResult slowP95 = report.getBreaches().get(1);
+        Assertions.assertEquals(SloMetric.P95, slowP95.getMetric());
+        Assertions.assertTrue(slowP95.getActual() >= SLOW_MILLIS, slowP95.describe());
+
+        AssertionError error = Assertions.assertThrows(AssertionError.class, report::assertMet);
+        Assertions.assertTrue(error.getMessage().startsWith("3 of 6 SLO breached: "), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains(
+                "slow p95 " + SloMetric.P95.format(slowP95.getActual()) + ", expected at most 100 ms"),
+                error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("missing p99 without samples"), error.getMessage());
+        Assertions.assertTrue(report.format().contains("FAIL"), report.format());
+    }
+}
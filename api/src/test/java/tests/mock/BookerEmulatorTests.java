@@ -0,0 +1,86 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import static assertions.BookingAssertions.checkBookingSuccessResponse;
+import builders.BookingBuilder;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import mock.BookerEmulator;
+import mock.MockServer;
+import models.booking.Booking;
+import models.booking.BookingId;
+import models.booking.BookingSuccessResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tests.BaseTest;
+import static tests.integration.BookingIntegrationTests.createBooking;
+import static tests.integration.BookingIntegrationTests.getAllBookingIds;
+import static tests.integration.BookingIntegrationTests.getBooking;
+import static tests.integration.BookingIntegrationTests.removeBooking;
+
+@Tag("Mock")
+public class BookerEmulatorTests extends BaseTest {
+
+    private MockServer bookerEmulator;
+
+    @BeforeAll
+    public void setUp() {
+        bookerEmulator = MockServer.startBookerEmulator(0, new BookerEmulator(1000));
+        installSpecification(requestSpec(bookerEmulator.getLocalUrl()), responseSpecOK200Or201());
+    }
+
+    @AfterAll
+    public void tearDown() {
+        removeSetSpecification();
+        bookerEmulator.close();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5001")
+    @DisplayName("Create, get and remove Booking in emulator")
+    @Description("Create random Booking in Restful-Booker emulator, get it by id, remove it and verify it is gone")
+    @AllureId("50001")
+    public void createGetRemoveBookingTest() {
+        step("Send creating Booking message");
+        Booking booking = BookingBuilder.createRandomBooking();
+        BookingSuccessResponse bookingSuccessResponse = createBooking(booking);
+        checkBookingSuccessResponse(bookingSuccessResponse);
+        int bookingId = bookingSuccessResponse.getBookingid().getBookingid();
+
+        step("Send getting Booking message and verify data");
+        Assertions.assertEquals(booking, getBooking(bookingId));
+        Assertions.assertTrue(getAllBookingIds().contains(new BookingId(bookingId)));
+
+        step("Send deleting Booking message and make sure it has been removed");
+        removeBooking(bookingId);
+        AssertionError error = assertThrows(AssertionError.class, () -> getBooking(bookingId));
+        Assertions.assertTrue(error.getMessage().contains("Expected status code (<200> or <201>) but was <404>"));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5001")
+    @DisplayName("Allocate unique Booking ids in emulator under concurrency")
+    @Description("Create Bookings in parallel in Restful-Booker emulator and verify every one gets its own id")
+    @AllureId("50002")
+    public void concurrentBookingIdsTest() {
+        step("Send creating Booking messages in parallel");
+        List<Integer> bookingIds = IntStream.range(0, 200)
+                .parallel()
+                .mapToObj(i -> createBooking(new Booking()).getBookingid().getBookingid())
+                .collect(Collectors.toList());
+
+        step("Verify Booking ids are unique");
+        Set<Integer> uniqueBookingIds = Set.copyOf(bookingIds);
+        Assertions.assertEquals(bookingIds.size(), uniqueBookingIds.size());
+    }
+}
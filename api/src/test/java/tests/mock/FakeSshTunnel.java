@@ -0,0 +1,41 @@
+package tests.mock;
+
+import java.util.regex.Pattern;
+import mock.SshTunnelProvider;
+
+/**
+ * A fake SSH tunnel provider running the shell script with the local port as its $0,
+ * so MockServer can be started in tests without a real SSH server
+ */
+
+class FakeSshTunnel implements SshTunnelProvider {
+    private static final Pattern REGEX = Pattern.compile("url: (http://localhost:\\d+)");
+
+    private final String script;
+
+    FakeSshTunnel(String script) {
+        this.script = script;
+    }
+
+    /**
+     * Returns a fake SSH tunnel provider exposing WireMock under its local URL after the delay
+     */
+    static SshTunnelProvider local(long delayMillis) {
+        return new FakeSshTunnel("sleep " + delayMillis / 1000.0 + "; echo \"url: http://localhost:$0\"; sleep 60");
+    }
+
+    @Override
+    public String name() {
+        return "FAKE";
+    }
+
+    @Override
+    public String[] getSshCommandWithSpecifiedPort(int port) {
+        return new String[]{"sh", "-c", script, String.valueOf(port)};
+    }
+
+    @Override
+    public Pattern getRegex() {
+        return REGEX;
+    }
+}
@@ -0,0 +1,155 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.JsonException;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import mock.JournalExport;
+import mock.JournalExportReader;
+import mock.MockServerProfile;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("Mock")
+public class JournalExportTests {
+    private static final int REQUESTS = 300;
+    private static final long MAX_FILE_BYTES = 64 * 1024;
+    private static final int UNFINISHED_REQUESTS = 4;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5019")
+    @DisplayName("Export served requests to rotated compressed JSON Lines files")
+    @Description("Serve requests with a journal export attached, read the export while it is being written " +
+            "and after it is closed, and verify all events are exported in order, rotated and filterable")
+    @AllureId("50161")
+    public void journalExportTest() {
+        step("Start WireMock exporting its journal to files of up to " + MAX_FILE_BYTES + " bytes");
+        JournalExport export = new JournalExport(tempDir, MAX_FILE_BYTES);
+        WireMockServer wireMockServer = new WireMockServer(export.configure(
+                MockServerProfile.DEFAULT.configure(WireMockConfiguration.wireMockConfig())).dynamicPort());
+        wireMockServer.start();
+        try {
+            wireMockServer.stubFor(WireMock.post(WireMock.urlPathMatching("/bookings/.*")).willReturn(WireMock.ok()));
+
+            step("Send " + REQUESTS + " requests");
+            for (int i = 0; i < REQUESTS; i++) {
+                given().body("{\"firstname\":\"Jim\",\"iteration\":" + i + "}")
+                        .post(wireMockServer.baseUrl() + "/bookings/" + i);
+            }
+            Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> export.getExported() == REQUESTS);
+
+            step("Read the export while the current file is still being written");
+            Assertions.assertEquals(REQUESTS, countEvents(JournalExportReader.read(tempDir)));
+        } finally {
+            wireMockServer.stop();
+            export.close();
+        }
+
+        step("Verify files are rotated and events are exported in order");
+        Assertions.assertTrue(export.getFiles().size() > 1, "Export files are not rotated");
+        Assertions.assertEquals(0, export.getDropped());
+        try (Stream<ServeEvent> events = JournalExportReader.read(tempDir)) {
+            List<String> urls = events.map(event -> event.getRequest().getUrl()).collect(Collectors.toList());
+            Assertions.assertEquals(REQUESTS, urls.size());
+            Assertions.assertEquals("/bookings/0", urls.get(0));
+            Assertions.assertEquals("/bookings/" + (REQUESTS - 1), urls.get(REQUESTS - 1));
+        }
+
+        step("Filter the export by text");
+        try (Stream<ServeEvent> events = JournalExportReader.read(tempDir, "/bookings/7")) {
+            Assertions.assertEquals(List.of("/bookings/7", "/bookings/70", "/bookings/71"),
+                    events.map(event -> event.getRequest().getUrl()).limit(3).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5019")
+    @DisplayName("Skip only an unparseable trailing line of a journal export")
+    @Description("Rewrite exported lines into files ending with a complete event without its newline and with " +
+            "a cut-off event, and verify only the cut-off event is skipped while a corrupted full line fails")
+    @AllureId("50162")
+    public void unfinishedLineTest() throws IOException {
+        step("Export " + UNFINISHED_REQUESTS + " served requests");
+        Path exportDir = tempDir.resolve("export");
+        JournalExport export = new JournalExport(exportDir, MAX_FILE_BYTES);
+        WireMockServer wireMockServer = new WireMockServer(export.configure(WireMockConfiguration.wireMockConfig())
+                .dynamicPort());
+        wireMockServer.start();
+        try {
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathMatching("/bookings/.*")).willReturn(WireMock.ok()));
+            for (int i = 0; i < UNFINISHED_REQUESTS; i++) {
+                given().get(wireMockServer.baseUrl() + "/bookings/" + i);
+            }
+            Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> export.getExported() == UNFINISHED_REQUESTS);
+        } finally {
+            wireMockServer.stop();
+            export.close();
+        }
+        List<String> lines = readLines(export.getFiles());
+
+        step("Verify a complete event without its newline is read and a cut-off one is skipped");
+        Path unfinishedDir = tempDir.resolve("unfinished");
+        writeFile(unfinishedDir.resolve("a" + JournalExport.FILE_SUFFIX), lines.get(0) + "\n" + lines.get(1));
+        writeFile(unfinishedDir.resolve("b" + JournalExport.FILE_SUFFIX),
+                lines.get(2) + "\n" + lines.get(3).substring(0, lines.get(3).length() - 1));
+        try (Stream<ServeEvent> events = JournalExportReader.read(unfinishedDir)) {
+            Assertions.assertEquals(List.of("/bookings/0", "/bookings/1", "/bookings/2"),
+                    events.map(event -> event.getRequest().getUrl()).collect(Collectors.toList()));
+        }
+
+        step("Verify a corrupted newline-terminated event fails the read");
+        Path corruptedDir = tempDir.resolve("corrupted");
+        writeFile(corruptedDir.resolve("a" + JournalExport.FILE_SUFFIX),
+                lines.get(0).substring(0, lines.get(0).length() - 1) + "\n" + lines.get(1) + "\n");
+        Assertions.assertThrows(JsonException.class, () -> countEvents(JournalExportReader.read(corruptedDir)));
+    }
+
+    private static List<String> readLines(List<Path> files) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Path file : files) {
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+                new String(input.readAllBytes(), StandardCharsets.UTF_8).lines().forEach(lines::add);
+            }
+        }
+        return lines;
+    }
+
+    private static void writeFile(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(file))) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long countEvents(Stream<ServeEvent> events) {
+        try (events) {
+            return events.count();
+        }
+    }
+}
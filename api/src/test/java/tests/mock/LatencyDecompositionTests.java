@@ -0,0 +1,83 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import mock.LatencyBreakdown;
+import mock.LatencyComponent;
+import mock.LatencyDecomposition;
+import mock.MockServerProfile;
+import mock.RequestLatency;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+
+@Tag("Mock")
+public class LatencyDecompositionTests {
+    private static final int THREADS = 2;
+    private static final int ITERATIONS = 10;
+    private static final int DELAY_MILLIS = 50;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(MockServerProfile.DEFAULT.configure(WireMockConfiguration.wireMockConfig())
+                .dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(WireMock.post("/default")
+                .willReturn(WireMock.okJson("{\"success\": true}").withFixedDelay(DELAY_MILLIS)));
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5017")
+    @DisplayName("Split JMeter sample time into mock, network and client time")
+    @Description("Run a JMeter plan with correlated requests against a delayed stub, join samples with serve events " +
+            "and verify every request is split into components adding up to its sample time")
+    @AllureId("50141")
+    public void latencyDecompositionTest() throws IOException {
+        step("Run a JMeter plan with correlation headers against a stub delayed by " + DELAY_MILLIS + " ms");
+        LatencyDecomposition decomposition = new LatencyDecomposition();
+        testPlan(
+                threadGroup(THREADS, ITERATIONS,
+                        httpSampler(wireMockServer.baseUrl() + "/default")
+                                .post("{}", ContentType.APPLICATION_JSON)
+                                .children(decomposition.correlate())
+                )
+        ).run();
+        Assertions.assertEquals(THREADS * ITERATIONS, decomposition.countSamples());
+
+        step("Join samples with serve events and verify the breakdown");
+        LatencyBreakdown breakdown = decomposition.decompose(wireMockServer.getAllServeEvents());
+        Allure.addAttachment("LatencyBreakdown", breakdown.format());
+        Assertions.assertEquals(THREADS * ITERATIONS, breakdown.getRequests().size());
+        Assertions.assertEquals(0, breakdown.getUnmatchedSamples());
+        for (RequestLatency request : breakdown.getRequests()) {
+            Assertions.assertTrue(request.getMockMillis() >= DELAY_MILLIS, "Mock time misses the stub delay");
+            Assertions.assertTrue(request.getMockMillis() + request.getNetworkMillis() + request.getClientMillis() >=
+                    request.getSampleMillis(), "Components do not add up to the sample time");
+        }
+        Assertions.assertTrue(breakdown.getPercentileMillis(LatencyComponent.NETWORK, 50) < DELAY_MILLIS,
+                breakdown.format());
+        Assertions.assertTrue(breakdown.getPercentileMillis(LatencyComponent.MOCK, 50) >= DELAY_MILLIS,
+                breakdown.format());
+    }
+}
@@ -0,0 +1,157 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import mock.LatencyProfile;
+import mock.LatencyProfileTransformer;
+import mock.StubTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class LatencyProfileTests {
+
+    private static final String PROFILE = "degraded-dependency";
+    private static final long DELAY_MILLIS = 300;
+    private static final long MAX_DELAY_MILLIS = 50;
+    private static final int LOG_NORMAL_REQUESTS = 20;
+
+    private final LatencyProfileTransformer latencyProfiles = new LatencyProfileTransformer();
+    private final LatencyProfileTransformer otherLatencyProfiles = new LatencyProfileTransformer();
+    private WireMockServer wireMockServer;
+    private WireMockServer otherWireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = startWireMock(latencyProfiles);
+        otherWireMockServer = startWireMock(otherLatencyProfiles);
+        // the first request of the JVM initializes RestAssured and would exceed any response time assertion
+        sendRequest(otherWireMockServer);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+        otherWireMockServer.stop();
+    }
+
+    @AfterEach
+    public void clearProfiles() {
+        latencyProfiles.clearProfiles();
+        otherLatencyProfiles.clearProfiles();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5008")
+    @DisplayName("Switch stub latency profile at runtime")
+    @Description("Attach a named latency profile to a stub, switch it at runtime and verify response times follow")
+    @AllureId("50061")
+    public void switchLatencyProfileTest() {
+        step("Verify stub without profile set responds instantly");
+        Assertions.assertTrue(sendRequest().getTime() < DELAY_MILLIS);
+
+        step("Set fixed delay profile and verify responses are delayed");
+        latencyProfiles.setProfile(PROFILE, LatencyProfile.fixed(Duration.ofMillis(DELAY_MILLIS)));
+        Assertions.assertTrue(sendRequest().getTime() >= DELAY_MILLIS);
+
+        step("Switch to empirical profile and verify responses follow the histogram");
+        latencyProfiles.setProfile(PROFILE,
+                LatencyProfile.empirical(new long[]{DELAY_MILLIS / 2, DELAY_MILLIS}, new long[]{0, 1}));
+        Assertions.assertTrue(sendRequest().getTime() >= DELAY_MILLIS);
+
+        step("Remove profile and verify stub responds instantly again");
+        latencyProfiles.removeProfile(PROFILE);
+        Assertions.assertTrue(sendRequest().getTime() < DELAY_MILLIS);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5008")
+    @DisplayName("Inject errors and connection resets with latency profile")
+    @Description("Set latency profiles with error and connection reset rates and verify stub responses")
+    @AllureId("50062")
+    public void faultLatencyProfileTest() {
+        step("Set profile failing every request with 503 and verify status");
+        latencyProfiles.setProfile(PROFILE, LatencyProfile.NONE.withErrorRate(1.0, 503));
+        Assertions.assertEquals(503, sendRequest().getStatusCode());
+
+        step("Set profile dribbling the body in chunks and verify body is complete");
+        latencyProfiles.setProfile(PROFILE,
+                LatencyProfile.uniform(Duration.ZERO, Duration.ofMillis(10))
+                        .withChunkedDribble(4, Duration.ofMillis(DELAY_MILLIS)));
+        Response response = sendRequest();
+        Assertions.assertEquals(200, response.getStatusCode());
+        Assertions.assertTrue(response.asString().contains("success"));
+
+        step("Set profile resetting every connection and verify request fails");
+        latencyProfiles.setProfile(PROFILE, LatencyProfile.NONE.withConnectionResetRate(1.0));
+        assertThrows(Exception.class, this::sendRequest);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5008")
+    @DisplayName("Scope latency profiles to their server")
+    @Description("Set a profile on one of two WireMock servers with the same stub and verify the other is unaffected")
+    @AllureId("50063")
+    public void serverLatencyProfileTest() {
+        step("Set profile failing every request on one server only");
+        latencyProfiles.setProfile(PROFILE, LatencyProfile.NONE.withErrorRate(1.0, 503));
+
+        step("Verify only the server owning the profile applies it");
+        Assertions.assertEquals(503, sendRequest().getStatusCode());
+        Assertions.assertEquals(200, sendRequest(otherWireMockServer).getStatusCode());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5008")
+    @DisplayName("Cap log-normal latency profile delays")
+    @Description("Set a log-normal profile with a heavy tail and verify no response is delayed past the max")
+    @AllureId("50064")
+    public void logNormalLatencyProfileTest() {
+        step("Set log-normal profile with a heavy tail capped at " + MAX_DELAY_MILLIS + " ms");
+        latencyProfiles.setProfile(PROFILE, LatencyProfile.logNormal(
+                Duration.ofMillis(MAX_DELAY_MILLIS / 2), 5, Duration.ofMillis(MAX_DELAY_MILLIS)));
+
+        step("Verify no response is delayed much past the max");
+        IntStream.range(0, LOG_NORMAL_REQUESTS).forEach(i ->
+                Assertions.assertTrue(sendRequest().getTime() < DELAY_MILLIS));
+    }
+
+    private static WireMockServer startWireMock(LatencyProfileTransformer latencyProfiles) {
+        WireMockServer server = new WireMockServer(
+                WireMockConfiguration.wireMockConfig()
+                        .dynamicPort()
+                        .extensions(latencyProfiles)
+        );
+        server.start();
+        server.addStubMapping(StubTemplate.GET_JSON_OK.withLatencyProfile(PROFILE)
+                .create("/latency", "{\"success\": true}"));
+        return server;
+    }
+
+    private Response sendRequest() {
+        return sendRequest(wireMockServer);
+    }
+
+    private static Response sendRequest(WireMockServer server) {
+        return given()
+                .when()
+                .get(server.baseUrl() + "/latency")
+                .then()
+                .extract()
+                .response();
+    }
+}
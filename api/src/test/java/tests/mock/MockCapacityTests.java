@@ -0,0 +1,56 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import mock.MockCapacityCheck;
+import mock.MockServerProfile;
+import mock.StubSet;
+import mock.StubTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class MockCapacityTests {
+
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(
+                MockServerProfile.HIGH_THROUGHPUT.configure(WireMockConfiguration.wireMockConfig().dynamicPort())
+        );
+        wireMockServer.start();
+        wireMockServer.importStubs(new StubSet()
+                .add(StubTemplate.GET_JSON_OK.create("/capacity", "{}"))
+                .toStubImport());
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5007")
+    @DisplayName("Measure capacity of high-throughput mock")
+    @Description("Start WireMock with high-throughput profile and verify the capacity check reports its max RPS")
+    @AllureId("50051")
+    public void highThroughputCapacityTest() {
+        step("Run capacity check");
+        long maxRps = MockCapacityCheck.measureMaxRps(wireMockServer.baseUrl() + "/capacity");
+
+        step("Verify max RPS is reported, WireMock journal and gzip are off");
+        step("Max RPS: " + maxRps);
+        Assertions.assertTrue(maxRps > 0);
+        Assertions.assertTrue(wireMockServer.getOptions().requestJournalDisabled());
+        Assertions.assertTrue(wireMockServer.getOptions().getGzipDisabled());
+    }
+}
@@ -0,0 +1,186 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.time.Duration;
+import java.util.List;
+import mock.MockNamespace;
+import mock.MockServer;
+import mock.RequestJournal;
+import mock.StubSet;
+import mock.StubTemplate;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class MockNamespaceTests {
+
+    private static final String FIRST_TENANT = "/ns/first-1";
+    private static final String SECOND_TENANT = "/ns/second-2";
+
+    private final RequestJournal requestJournal = new RequestJournal(100);
+    private WireMockServer wireMockServer;
+    private MockServer mockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .extensions(requestJournal));
+        wireMockServer.start();
+        mockServer = MockServer.startAsync(List.of(FakeSshTunnel.local(0))).join();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+        mockServer.close();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5013")
+    @DisplayName("Isolate stubs and journal of namespaces sharing one WireMock")
+    @Description("Import the same stub shapes under two URL prefixes and verify responses, journal queries " +
+            "and removal of one namespace do not affect the other")
+    @AllureId("50101")
+    public void namespaceIsolationTest() {
+        step("Import stub sets of two namespaces");
+        wireMockServer.importStubs(createStubSet("first").withUrlPrefix(FIRST_TENANT).toStubImport());
+        wireMockServer.importStubs(createStubSet("second").withUrlPrefix(SECOND_TENANT).toStubImport());
+
+        step("Verify every namespace serves its own stubs only");
+        sendRequest(wireMockServer.baseUrl() + FIRST_TENANT + "/hello", 200, "first");
+        sendRequest(wireMockServer.baseUrl() + SECOND_TENANT + "/hello", 200, "second");
+        sendRequest(wireMockServer.baseUrl() + SECOND_TENANT + "/bar/baz", 200, "second");
+        sendRequest(wireMockServer.baseUrl() + "/hello", 404, "");
+
+        step("Verify journal queries and cleanup are scoped by namespace");
+        Assertions.assertEquals(1, requestJournal.countEvents(FIRST_TENANT + "/hello"));
+        Assertions.assertEquals(1, requestJournal.countEvents(SECOND_TENANT + "/hello"));
+        requestJournal.clear(FIRST_TENANT);
+        Assertions.assertEquals(0, requestJournal.countEvents(FIRST_TENANT + "/hello"));
+        Assertions.assertEquals(1, requestJournal.countEvents(SECOND_TENANT + "/hello"));
+
+        step("Remove stubs of the first namespace and verify the second one still works");
+        wireMockServer.removeStubsByMetadata(StubSet.namespaceMetadataPattern(FIRST_TENANT));
+        sendRequest(wireMockServer.baseUrl() + FIRST_TENANT + "/hello", 404, "");
+        sendRequest(wireMockServer.baseUrl() + SECOND_TENANT + "/hello", 200, "second");
+    }
+
+    @Test
+    @JiraIssue("XXXX-5013")
+    @DisplayName("Reject invalid namespace URL prefix")
+    @Description("Verify a URL prefix with regular expression characters is rejected")
+    @AllureId("50102")
+    public void invalidUrlPrefixTest() {
+        step("Move a stub set under an invalid prefix");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> createStubSet("invalid").withUrlPrefix("/ns/.*"));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5013")
+    @DisplayName("Isolate stubs and requests of two namespaces of one MockServer")
+    @Description("Open two namespaces in one MockServer, import the same stub shapes into both " +
+            "and verify every namespace serves and counts its own requests only")
+    @AllureId("50103")
+    public void mockNamespaceIsolationTest() {
+        step("Open two namespaces and import stub sets into them");
+        try (MockNamespace first = MockNamespace.open(mockServer, "first");
+             MockNamespace second = MockNamespace.open(mockServer, "second")) {
+            Assertions.assertNotEquals(first.getUrlPrefix(), second.getUrlPrefix());
+            Assertions.assertTrue(first.importStubs(createStubSet("first")));
+            Assertions.assertTrue(second.importStubs(createStubSet("second")));
+
+            step("Verify every namespace serves its own stubs under its URL");
+            sendRequest(first.getLocalUrl() + "/hello", 200, "first");
+            sendRequest(first.getPublicUrl() + "/bar/baz", 200, "first");
+            sendRequest(second.getLocalUrl() + "/hello", 200, "second");
+            sendRequest(mockServer.getLocalUrl() + "/hello", 404, "");
+
+            step("Verify journal queries of every namespace only see its own requests");
+            Assertions.assertEquals(1, first.countEndpointEvents("/hello"));
+            Assertions.assertEquals(1, first.countEndpointEvents("/bar/baz"));
+            Assertions.assertEquals(1, second.countEndpointEvents("/hello"));
+            Assertions.assertEquals(0, second.countEndpointEvents("/bar/baz"));
+            Assertions.assertEquals(1, second.awaitEvents("/hello", 1, Duration.ofSeconds(5)).size());
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5013")
+    @DisplayName("Clean up only the state of the namespace owner")
+    @Description("Open two namespaces in one MockServer and verify cleaning requests and closing one namespace " +
+            "remove its requests and stubs only, while the other one keeps serving and counting")
+    @AllureId("50104")
+    public void mockNamespaceCleanupTest() {
+        step("Open two namespaces, import stub sets and send requests to both");
+        MockNamespace first = MockNamespace.open(mockServer, "first");
+        try (MockNamespace second = MockNamespace.open(mockServer, "second")) {
+            first.importStubs(createStubSet("first"));
+            second.importStubs(createStubSet("second"));
+            sendRequest(first.getLocalUrl() + "/hello", 200, "first");
+            sendRequest(second.getLocalUrl() + "/hello", 200, "second");
+
+            step("Clean requests of the first namespace and verify the second one keeps its requests");
+            first.cleanAllEvents();
+            Assertions.assertEquals(0, first.countEndpointEvents("/hello"));
+            Assertions.assertEquals(1, second.countEndpointEvents("/hello"));
+
+            step("Close the first namespace and verify only its stubs and requests are removed");
+            sendRequest(first.getLocalUrl() + "/hello", 200, "first");
+            first.close();
+            Assertions.assertEquals(0, first.countEndpointEvents("/hello"));
+            Assertions.assertEquals(1, second.countEndpointEvents("/hello"));
+            sendRequest(first.getLocalUrl() + "/hello", 404, "");
+            sendRequest(second.getLocalUrl() + "/hello", 200, "second");
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5013")
+    @DisplayName("Clean up a namespace whose prefix starts another namespace's prefix")
+    @Description("Import stubs under two URL prefixes whose counters share leading digits and verify " +
+            "cleaning the journal of the shorter prefix keeps the requests of the longer one")
+    @AllureId("50105")
+    public void sharedPrefixCleanupTest() {
+        String shortTenant = "/ns/shared-1";
+        String longTenant = "/ns/shared-10";
+
+        step("Import stub sets of two namespaces and send requests to both");
+        wireMockServer.importStubs(createStubSet("short").withUrlPrefix(shortTenant).toStubImport());
+        wireMockServer.importStubs(createStubSet("long").withUrlPrefix(longTenant).toStubImport());
+        sendRequest(wireMockServer.baseUrl() + shortTenant + "/hello", 200, "short");
+        sendRequest(wireMockServer.baseUrl() + longTenant + "/hello", 200, "long");
+
+        step("Clean the journal of the shorter prefix and verify the longer one keeps its requests");
+        requestJournal.clear(shortTenant);
+        Assertions.assertEquals(0, requestJournal.countEvents(shortTenant + "/hello"));
+        Assertions.assertEquals(1, requestJournal.countEvents(longTenant + "/hello"));
+    }
+
+    private static StubSet createStubSet(String body) {
+        return new StubSet()
+                .add(StubTemplate.GET_JSON_OK.create("/hello", body))
+                .add(StubTemplate.GET_JSON_OK.createWithUrlPattern("^/bar/.*", body));
+    }
+
+    private static void sendRequest(String url, int statusCode, String body) {
+        given()
+                .when()
+                .get(url)
+                .then()
+                .statusCode(statusCode)
+                .body(statusCode == 200 ? Matchers.equalTo(body) : Matchers.anything());
+    }
+}
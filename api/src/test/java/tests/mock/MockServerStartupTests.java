@@ -0,0 +1,83 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import mock.MockServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class MockServerStartupTests {
+
+    private static final long TUNNEL_DELAY_MILLIS = 1000;
+
+    @Test
+    @JiraIssue("XXXX-5012")
+    @DisplayName("Start MockServer in the background")
+    @Description("Start MockServer asynchronously behind a fake SSH tunnel to the local port " +
+            "and verify the default stubs are served through the tunnel once the future completes")
+    @AllureId("50231")
+    public void startAsyncTest() {
+        step("Start MockServer in the background");
+        CompletableFuture<MockServer> startup = MockServer.startAsync(List.of(FakeSshTunnel.local(0)));
+
+        try (MockServer mockServer = startup.join()) {
+            step("Verify default stubs are served through the tunnel");
+            Assertions.assertEquals(mockServer.getLocalUrl(), mockServer.getPublicUrl());
+            given()
+                    .contentType("application/json")
+                    .body("{}")
+                    .when()
+                    .post(mockServer.getPublicUrl() + "/default")
+                    .then()
+                    .statusCode(200);
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5012")
+    @DisplayName("Overlap MockServer startup phases and time them")
+    @Description("Start MockServer behind a slow fake SSH tunnel and verify WireMock starts first, " +
+            "stubs are registered while the tunnel is being established and every phase is timed")
+    @AllureId("50232")
+    public void startupPhasesTest() {
+        step("Start MockServer behind a tunnel reporting its URL after " + TUNNEL_DELAY_MILLIS + " ms");
+        CompletableFuture<MockServer> startup =
+                MockServer.startAsync(List.of(FakeSshTunnel.local(TUNNEL_DELAY_MILLIS)));
+        try (MockServer mockServer = startup.join()) {
+            Map<String, Duration> timings = mockServer.getStartupTimings();
+
+            step("Verify phases completed in dependency order with stubs ahead of the tunnel");
+            Assertions.assertEquals(List.of("wiremock", "stubs", "ssh tunnel"), List.copyOf(timings.keySet()));
+
+            step("Verify every phase is timed");
+            Assertions.assertTrue(timings.get("ssh tunnel").toMillis() >= TUNNEL_DELAY_MILLIS, timings.toString());
+            Assertions.assertTrue(timings.get("stubs").compareTo(timings.get("ssh tunnel")) < 0, timings.toString());
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5012")
+    @DisplayName("Fail MockServer startup when no SSH tunnel comes up")
+    @Description("Start MockServer behind a fake SSH tunnel exiting without a URL " +
+            "and verify the startup future completes exceptionally")
+    @AllureId("50233")
+    public void failedStartupTest() {
+        step("Start MockServer behind a tunnel exiting without a URL");
+        CompletableFuture<MockServer> startup = MockServer.startAsync(List.of(new FakeSshTunnel("exit 1")));
+
+        step("Verify startup fails after all tunnel races are lost");
+        CompletionException error = Assertions.assertThrows(CompletionException.class, startup::join);
+        Assertions.assertTrue(error.getCause().getMessage().contains("SSH tunnel"), error.getMessage());
+    }
+}
@@ -0,0 +1,218 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import mock.MockServerProfile;
+import mock.PropagationLatency;
+import mock.RequestJournal;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.wiremock.webhooks.Webhooks;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PreProcessor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+
+@Tag("Mock")
+public class PropagationLatencyTests {
+    private static final String ENDPOINT = "/notifications";
+    private static final int MIN_DELAY_MILLIS = 30;
+    private static final int ITERATIONS = 10;
+    private static final int LOAD_TRIGGERS = 50;
+    private static final String TRIGGER_ENDPOINT = "/bookings";
+    private static final int LOAD_THREADS = 2;
+    private static final int LOAD_ITERATIONS = 10;
+    private static final int SMALL_JOURNAL_ENTRIES = 10;
+
+    private WireMockServer wireMockServer;
+    private ScheduledExecutorService systemUnderTest;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(MockServerProfile.DEFAULT.configure(WireMockConfiguration.wireMockConfig())
+                .dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(WireMock.post(ENDPOINT).willReturn(WireMock.ok()));
+        wireMockServer.stubFor(WireMock.post(TRIGGER_ENDPOINT)
+                .willReturn(WireMock.ok())
+                .withServeEventListener("webhook", Webhooks.webhook()
+                        .withMethod(RequestMethod.POST)
+                        .withUrl(wireMockServer.baseUrl() + ENDPOINT)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{{{originalRequest.body}}}")
+                        .withFixedDelay(MIN_DELAY_MILLIS)));
+        systemUnderTest = Executors.newScheduledThreadPool(4);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        systemUnderTest.shutdownNow();
+        wireMockServer.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5018")
+    @DisplayName("Measure propagation latency of an asynchronous flow to the mock")
+    @Description("Trigger a simulated asynchronous flow calling the mock after a random delay, one by one and " +
+            "as a burst, and verify propagation latencies of all keys are measured and lost ones are reported")
+    @AllureId("50151")
+    public void propagationLatencyTest() {
+        PropagationLatency propagation = new PropagationLatency(ENDPOINT, wireMockServer::getAllServeEvents,
+                PropagationLatency.jsonField("bookingid"));
+
+        step("Measure " + ITERATIONS + " triggers one by one");
+        for (int i = 0; i < ITERATIONS; i++) {
+            String key = "single-" + i;
+            Duration latency = propagation.measure(key, () -> trigger(key), Duration.ofSeconds(10));
+            Assertions.assertTrue(latency.toMillis() >= MIN_DELAY_MILLIS, "Latency is below the flow delay");
+        }
+
+        step("Stamp a burst of " + LOAD_TRIGGERS + " triggers and a lost one, then join the arrivals");
+        for (int i = 0; i < LOAD_TRIGGERS; i++) {
+            String key = "burst-" + i;
+            propagation.stamp(key);
+            trigger(key);
+        }
+        propagation.stamp("lost");
+        Assertions.assertEquals(1, propagation.awaitArrivals(Duration.ofSeconds(5)));
+        Assertions.assertEquals(LOAD_TRIGGERS, propagation.getArrivals().size());
+
+        step("Verify the latency distribution");
+        Assertions.assertEquals(ITERATIONS + LOAD_TRIGGERS, propagation.getLatencies().getTotalCount());
+        Assertions.assertTrue(propagation.getPercentileMillis(0) >= MIN_DELAY_MILLIS);
+        Assertions.assertTrue(propagation.getPercentileMillis(50) < TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5018")
+    @DisplayName("Join only requests to the exact endpoint path")
+    @Description("Send requests carrying a stamped key to paths containing the endpoint and verify only the request " +
+            "to the endpoint itself is joined, also when it arrives after many unrelated requests")
+    @AllureId("50152")
+    public void exactEndpointTest() {
+        PropagationLatency propagation = new PropagationLatency(ENDPOINT, wireMockServer::getAllServeEvents,
+                PropagationLatency.jsonField("bookingid"));
+
+        step("Send the stamped key to paths containing the endpoint");
+        propagation.stamp("exact");
+        for (String path : List.of("/archive" + ENDPOINT, ENDPOINT + "/archive", ENDPOINT + "-archive")) {
+            post(path, "exact");
+        }
+        Assertions.assertEquals(1, propagation.awaitArrivals(Duration.ofMillis(500)));
+
+        step("Send unrelated requests and then the stamped key to the endpoint");
+        for (int i = 0; i < LOAD_TRIGGERS; i++) {
+            post(ENDPOINT, "unrelated-" + i);
+        }
+        post(ENDPOINT + "?source=test", "exact");
+        Assertions.assertEquals(0, propagation.awaitArrivals(Duration.ofSeconds(5)));
+        Assertions.assertEquals(Set.of("exact"), propagation.getArrivals().keySet());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5018")
+    @DisplayName("Measure propagation latency under load")
+    @Description("Run a JMeter plan triggering an asynchronous flow of WireMock webhooks, stamp keys of its samples " +
+            "and verify the propagation latency of every iteration is measured")
+    @AllureId("50153")
+    public void loadPropagationLatencyTest() throws IOException {
+        PropagationLatency propagation = new PropagationLatency(ENDPOINT, wireMockServer::getAllServeEvents,
+                PropagationLatency.jsonField("bookingid"));
+
+        step("Run " + LOAD_THREADS + " threads of " + LOAD_ITERATIONS + " iterations stamping their keys");
+        testPlan(
+                threadGroup(LOAD_THREADS, LOAD_ITERATIONS,
+                        httpSampler(wireMockServer.baseUrl() + TRIGGER_ENDPOINT)
+                                .post("{\"bookingid\":\"${key}\"}", ContentType.APPLICATION_JSON)
+                                .children(
+                                        jsr223PreProcessor(s -> s.vars.put("key", UUID.randomUUID().toString())),
+                                        propagation.stampOnSample("key")))
+        ).run();
+
+        step("Verify every iteration has reached the endpoint");
+        Assertions.assertEquals(0, propagation.awaitArrivals(Duration.ofSeconds(10)));
+        Assertions.assertEquals(LOAD_THREADS * LOAD_ITERATIONS, propagation.getLatencies().getTotalCount());
+        Assertions.assertTrue(propagation.getPercentileMillis(0) >= MIN_DELAY_MILLIS);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5018")
+    @DisplayName("Measure propagation latency of more requests than the journal retains")
+    @Description("Send more keyed requests than the journal of the mock retains and verify arrivals recorded " +
+            "by a serve event listener are all joined, while polling the journal loses the evicted ones")
+    @AllureId("50154")
+    public void evictedArrivalsTest() {
+        RequestJournal requestJournal = new RequestJournal(SMALL_JOURNAL_ENTRIES);
+        WireMockServer smallJournalServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .maxRequestJournalEntries(SMALL_JOURNAL_ENTRIES)
+                .extensions(requestJournal));
+        smallJournalServer.start();
+        try {
+            smallJournalServer.stubFor(WireMock.post(ENDPOINT).willReturn(WireMock.ok()));
+            PropagationLatency polling = new PropagationLatency(ENDPOINT, smallJournalServer::getAllServeEvents,
+                    PropagationLatency.jsonField("bookingid"));
+            PropagationLatency listening = new PropagationLatency(ENDPOINT, List::of,
+                    PropagationLatency.jsonField("bookingid"));
+            requestJournal.addListener(listening::arrive);
+
+            step("Stamp and send " + LOAD_TRIGGERS + " keys to a journal of " + SMALL_JOURNAL_ENTRIES + " entries");
+            for (int i = 0; i < LOAD_TRIGGERS; i++) {
+                String key = "evicted-" + i;
+                polling.stamp(key);
+                listening.stamp(key);
+                given()
+                        .contentType("application/json")
+                        .body("{\"bookingid\":\"" + key + "\"}")
+                        .post(smallJournalServer.baseUrl() + ENDPOINT);
+            }
+
+            step("Verify the listener has recorded every arrival and polling has lost the evicted ones");
+            Assertions.assertEquals(0, listening.awaitArrivals(Duration.ofSeconds(5)));
+            Assertions.assertEquals(LOAD_TRIGGERS, listening.getLatencies().getTotalCount());
+            Assertions.assertEquals(LOAD_TRIGGERS - SMALL_JOURNAL_ENTRIES,
+                    polling.awaitArrivals(Duration.ofMillis(500)));
+        } finally {
+            smallJournalServer.stop();
+        }
+    }
+
+    /**
+     * Calls the mock in the background after a random delay, as a message consumer would
+     */
+    private void trigger(String key) {
+        systemUnderTest.schedule(() -> given()
+                        .contentType("application/json")
+                        .body("{\"bookingid\":\"" + key + "\"}")
+                        .post(wireMockServer.baseUrl() + ENDPOINT),
+                MIN_DELAY_MILLIS + ThreadLocalRandom.current().nextInt(40), TimeUnit.MILLISECONDS);
+    }
+
+    private void post(String path, String key) {
+        given()
+                .contentType("application/json")
+                .body("{\"bookingid\":\"" + key + "\"}")
+                .post(wireMockServer.baseUrl() + path);
+    }
+}
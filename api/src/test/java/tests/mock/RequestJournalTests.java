@@ -0,0 +1,245 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import mock.AdminRequestJournal;
+import mock.RequestJournal;
+import mock.RequestJournalPolicy;
+import mock.StubStatistics;
+import mock.WireMockClient;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class RequestJournalTests {
+
+    private static final int ENDPOINT_CAPACITY = 5;
+    private static final String JOURNAL_STUB = "journal";
+
+    private final RequestJournal requestJournal = new RequestJournal(ENDPOINT_CAPACITY);
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = startWireMock(requestJournal);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    public void cleanJournal() {
+        requestJournal.clear();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5002")
+    @DisplayName("Await endpoint requests in request journal")
+    @Description("Send requests asynchronously and verify awaiting returns them as soon as they are served")
+    @AllureId("50011")
+    public void awaitEndpointEventsTest() {
+        step("Send requests to two endpoints asynchronously");
+        CompletableFuture.runAsync(() -> IntStream.range(0, 3).forEach(i -> {
+            sendRequest("/journal/foo?attempt=" + i, "foo-" + i);
+            sendRequest("/journal/bar", "bar-" + i);
+        }));
+
+        step("Await requests to the first endpoint only");
+        List<ServeEvent> events = requestJournal.awaitEvents("/journal/foo", 3, Duration.ofSeconds(10));
+        Assertions.assertEquals(Set.of("foo-0", "foo-1", "foo-2"), Set.copyOf(bodiesOf(events)));
+        Assertions.assertEquals(List.of("foo-1"), bodiesOf(requestJournal.getEvents("/journal/foo?attempt=1")));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5002")
+    @DisplayName("Fail awaiting missing requests in request journal")
+    @Description("Verify awaiting requests which never arrive fails after the timeout with a precise message")
+    @AllureId("50012")
+    public void awaitMissingEndpointEventsTest() {
+        step("Await a request which is never sent");
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                requestJournal.awaitEvents("/journal/missing", 1, Duration.ofMillis(200)));
+        Assertions.assertTrue(error.getMessage().contains("Expected at least 1 requests to /journal/missing"));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5002")
+    @DisplayName("Keep only the latest endpoint requests in request journal")
+    @Description("Send more requests than the endpoint ring buffer holds and verify only the latest are kept")
+    @AllureId("50013")
+    public void boundedEndpointEventsTest() {
+        step("Send more requests than the endpoint capacity");
+        IntStream.range(0, ENDPOINT_CAPACITY * 2).forEach(i -> sendRequest("/journal/bounded", "bounded-" + i));
+
+        step("Verify all requests are counted and only the latest are kept");
+        List<ServeEvent> events = requestJournal.awaitEvents("/journal/bounded", ENDPOINT_CAPACITY * 2,
+                Duration.ofSeconds(10));
+        Assertions.assertEquals(ENDPOINT_CAPACITY * 2, requestJournal.countEvents("/journal/bounded"));
+        Assertions.assertEquals(ENDPOINT_CAPACITY, events.size());
+        Assertions.assertFalse(bodiesOf(events).contains("bounded-0"));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5003")
+    @DisplayName("Count endpoint and stub hits in counters-only request journal")
+    @Description("Send requests to WireMock with counters-only journal and verify hits are counted without retaining")
+    @AllureId("50014")
+    public void countersOnlyJournalTest() {
+        RequestJournal countersOnlyJournal = new RequestJournal(RequestJournalPolicy.COUNTERS_ONLY, 0, Duration.ZERO);
+        WireMockServer countersOnlyServer = startWireMock(countersOnlyJournal);
+        try {
+            step("Send requests to two endpoints");
+            IntStream.range(0, 4).forEach(i -> sendRequest(countersOnlyServer, "/journal/counted?attempt=" + i, ""));
+            sendRequest(countersOnlyServer, "/journal/other", "");
+
+            step("Verify endpoint and stub hits are counted while no request is retained");
+            Assertions.assertTrue(countersOnlyJournal.awaitEvents("/journal/counted", 4, Duration.ofSeconds(10))
+                    .isEmpty());
+            Assertions.assertEquals(4, countersOnlyJournal.countEvents("/journal/counted"));
+            assertThrows(IllegalStateException.class, () ->
+                    countersOnlyJournal.countEvents("/journal/counted?attempt=1"));
+            countersOnlyJournal.awaitEvents("/journal/other", 1, Duration.ofSeconds(10));
+            StubStatistics stubStatistics = countersOnlyJournal.getStubStatistics().get(JOURNAL_STUB);
+            Assertions.assertEquals(5, stubStatistics.getHits());
+            Assertions.assertEquals(5, stubStatistics.getLatencies().getTotalCount());
+        } finally {
+            countersOnlyServer.stop();
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5003")
+    @DisplayName("Evict expired requests from time-window request journal")
+    @Description("Send requests to WireMock with time-window journal and verify expired ones are evicted but counted")
+    @AllureId("50015")
+    public void timeWindowJournalTest() {
+        RequestJournal timeWindowJournal = new RequestJournal(RequestJournalPolicy.TIME_WINDOW, 0,
+                Duration.ofMillis(300));
+        WireMockServer timeWindowServer = startWireMock(timeWindowJournal);
+        try {
+            step("Send requests and wait for the time window to pass");
+            IntStream.range(0, 3).forEach(i -> sendRequest(timeWindowServer, "/journal/windowed", "windowed-" + i));
+            Assertions.assertEquals(3, timeWindowJournal.awaitEvents("/journal/windowed", 3, Duration.ofSeconds(10))
+                    .size());
+
+            step("Verify expired requests are evicted and still counted");
+            Awaitility.await().atMost(Duration.ofSeconds(5))
+                    .until(() -> timeWindowJournal.getEvents("/journal/windowed").isEmpty());
+            Assertions.assertEquals(3, timeWindowJournal.countEvents("/journal/windowed"));
+        } finally {
+            timeWindowServer.stop();
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5003")
+    @DisplayName("Index requests to per-id paths under one endpoint of request journal")
+    @Description("Send requests to per-id paths and verify they share one endpoint while matched as WireMock does, " +
+            "and verify a request journal without capacity is rejected")
+    @AllureId("50017")
+    public void idPathEndpointEventsTest() {
+        step("Send requests to per-id paths");
+        sendRequest("/journal/items/1", "item-1");
+        sendRequest("/journal/items/2", "item-2");
+        sendRequest("/journal/items/2?attempt=2", "item-2-again");
+
+        step("Verify per-id paths are counted under one endpoint and matched by path or whole URL");
+        Assertions.assertEquals(3, requestJournal.awaitEvents("/journal/items/{id}", 3, Duration.ofSeconds(10))
+                .size());
+        Assertions.assertEquals(List.of("item-2", "item-2-again"),
+                bodiesOf(requestJournal.getEvents("/journal/items/2")));
+        Assertions.assertEquals(1, requestJournal.countEvents("/journal/items/2?attempt=2"));
+        Assertions.assertEquals(0, requestJournal.countEvents("/journal/items/2?attempt"));
+        Assertions.assertEquals(0, requestJournal.countEvents("/journal/items"));
+
+        step("Verify a request journal without capacity is rejected");
+        assertThrows(IllegalArgumentException.class, () ->
+                new RequestJournal(RequestJournalPolicy.MAX_ENTRIES, 0, Duration.ZERO));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5002")
+    @DisplayName("Query endpoint requests over admin API of remote WireMock")
+    @Description("Send requests to WireMock without in-process journal and verify endpoint queries fall back " +
+            "to its admin API")
+    @AllureId("50016")
+    public void adminRequestJournalTest() {
+        WireMockServer remoteServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        remoteServer.start();
+        try {
+            remoteServer.stubFor(WireMock.post(WireMock.urlPathMatching("/journal/.*"))
+                    .withName(JOURNAL_STUB)
+                    .willReturn(WireMock.ok()));
+            AdminRequestJournal adminJournal = new AdminRequestJournal(new WireMockClient(remoteServer.baseUrl()));
+
+            step("Send requests asynchronously and await them over admin API");
+            CompletableFuture<Void> sending = CompletableFuture.runAsync(() ->
+                    IntStream.range(0, 3).forEach(i -> sendRequest(remoteServer, "/journal/remote", "remote-" + i)));
+            List<ServeEvent> events = adminJournal.awaitEvents("/journal/remote", 3, Duration.ofSeconds(10));
+            sending.join();
+            Assertions.assertEquals(List.of("remote-0", "remote-1", "remote-2"), bodiesOf(events));
+            Assertions.assertEquals(3, adminJournal.countEvents("/journal/remote"));
+            Assertions.assertEquals(3, adminJournal.getStubStatistics().get(JOURNAL_STUB).getHits());
+
+            step("Verify awaiting missing requests fails");
+            assertThrows(AssertionError.class, () ->
+                    adminJournal.awaitEvents("/journal/missing", 1, Duration.ofMillis(500)));
+        } finally {
+            remoteServer.stop();
+        }
+    }
+
+    private static WireMockServer startWireMock(RequestJournal journal) {
+        WireMockServer server = new WireMockServer(
+                WireMockConfiguration.wireMockConfig()
+                        .dynamicPort()
+                        .extensions(journal)
+        );
+        server.start();
+        server.stubFor(WireMock.post(WireMock.urlPathMatching("/journal/.*"))
+                .withName(JOURNAL_STUB)
+                .willReturn(WireMock.ok()));
+        return server;
+    }
+
+    private void sendRequest(String endpoint, String body) {
+        sendRequest(wireMockServer, endpoint, body);
+    }
+
+    private static void sendRequest(WireMockServer server, String endpoint, String body) {
+        given()
+                .body(body)
+                .when()
+                .post(server.baseUrl() + endpoint)
+                .then()
+                .statusCode(200);
+    }
+
+    private static List<String> bodiesOf(List<ServeEvent> events) {
+        return events.stream()
+                .map(event -> event.getRequest().getBodyAsString())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,166 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import mock.SshTunnelMetrics;
+import mock.SshTunnelMonitor;
+import mock.SshTunnelProbe;
+import mock.SshTunnelProvider;
+import mock.SshTunnelStats;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("Mock")
+public class SshTunnelMonitorTests {
+
+    private static final Duration RACE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration HEALTH_INTERVAL = Duration.ofMillis(200);
+    private static final Duration RECONNECT_TIMEOUT = Duration.ofSeconds(15);
+    private static final int MAX_FAILED_PROBES = 2;
+    private static final int PORT = 8080;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5011")
+    @DisplayName("Re-establish SSH tunnel after its process dies")
+    @Description("Start a monitored fake tunnel exiting after a second and verify it is re-established")
+    @AllureId("50091")
+    public void reconnectDeadTunnelTest() throws IOException {
+        step("Start monitored tunnel of a short-lived fake provider");
+        try (SshTunnelMonitor monitor = SshTunnelMonitor.start(List.of(fakeTunnel("sleep 1")), PORT,
+                url -> url.length(), SshTunnelStats.load(tempDir.resolve("stats.json")), RACE_TIMEOUT,
+                HEALTH_INTERVAL, MAX_FAILED_PROBES)) {
+
+            step("Verify the tunnel is re-established and probed");
+            SshTunnelMetrics metrics = monitor.getMetrics();
+            Awaitility.await().atMost(RECONNECT_TIMEOUT)
+                    .until(() -> metrics.getReconnects() >= 1 && metrics.getProbes() > 0);
+            Assertions.assertEquals("https://fake.test", monitor.getPublicUrl());
+            Assertions.assertTrue(metrics.getUptime().compareTo(RECONNECT_TIMEOUT) < 0);
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5011")
+    @DisplayName("Re-establish SSH tunnel after failed health probes")
+    @Description("Fail health probes of a live fake tunnel and verify it is re-established once probes succeed")
+    @AllureId("50092")
+    public void reconnectUnhealthyTunnelTest() throws IOException {
+        AtomicBoolean unhealthy = new AtomicBoolean();
+        SshTunnelProbe probe = url -> {
+            if (unhealthy.get()) {
+                throw new IOException("Status code of health endpoint is 502");
+            }
+            return url.length();
+        };
+
+        step("Start monitored tunnel of a long-lived fake provider");
+        try (SshTunnelMonitor monitor = SshTunnelMonitor.start(List.of(fakeTunnel("sleep 60")), PORT, probe,
+                SshTunnelStats.load(tempDir.resolve("stats.json")), RACE_TIMEOUT, HEALTH_INTERVAL,
+                MAX_FAILED_PROBES)) {
+            SshTunnelMetrics metrics = monitor.getMetrics();
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> metrics.getProbes() > 0);
+
+            step("Fail health probes until the tunnel is re-established");
+            unhealthy.set(true);
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> metrics.getFailedProbes() >= MAX_FAILED_PROBES);
+            unhealthy.set(false);
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> metrics.getReconnects() >= 1);
+            Assertions.assertTrue(metrics.getProbeLatencies().getTotalCount() > 0);
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5011")
+    @DisplayName("Tell listeners the new public URL of a re-established SSH tunnel")
+    @Description("Start a monitored fake tunnel reporting a new URL on every start, kill it and verify " +
+            "listeners get the URL of the re-established tunnel")
+    @AllureId("50093")
+    public void publicUrlListenerTest() throws IOException {
+        List<String> publicUrls = new CopyOnWriteArrayList<>();
+
+        step("Start monitored tunnel of a short-lived fake provider reporting a new URL on every start");
+        try (SshTunnelMonitor monitor = SshTunnelMonitor.start(List.of(fakeTunnel("https://fake-$$.test", "sleep 1")),
+                PORT, url -> url.length(), SshTunnelStats.load(tempDir.resolve("stats.json")), RACE_TIMEOUT,
+                HEALTH_INTERVAL, MAX_FAILED_PROBES)) {
+            step("Verify listener gets the new URL once the tunnel is re-established");
+            String initialUrl = monitor.getPublicUrl();
+            monitor.addPublicUrlListener(publicUrls::add);
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> !publicUrls.isEmpty());
+            Assertions.assertNotEquals(initialUrl, publicUrls.get(0));
+            Assertions.assertTrue(publicUrls.contains(monitor.getPublicUrl()));
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5011")
+    @DisplayName("Keep checking SSH tunnel health after a probe throws an unchecked exception or an assertion")
+    @Description("Throw an unchecked exception and an assertion error from health probes of a live fake tunnel " +
+            "and verify they count as failed probes, the tunnel is re-established and health checks go on")
+    @AllureId("50094")
+    public void uncheckedProbeFailureTest() throws IOException {
+        AtomicInteger probes = new AtomicInteger();
+        SshTunnelProbe probe = url -> {
+            switch (probes.incrementAndGet()) {
+                case 2 -> throw new IllegalStateException("Unexpected response");
+                case 3 -> throw new AssertionError("Expected status code <200> but was <502>");
+                default -> {
+                    return url.length();
+                }
+            }
+        };
+
+        step("Start monitored tunnel of a long-lived fake provider whose second and third probes throw");
+        try (SshTunnelMonitor monitor = SshTunnelMonitor.start(List.of(fakeTunnel("sleep 60")), PORT, probe,
+                SshTunnelStats.load(tempDir.resolve("stats.json")), RACE_TIMEOUT, HEALTH_INTERVAL,
+                MAX_FAILED_PROBES)) {
+            SshTunnelMetrics metrics = monitor.getMetrics();
+
+            step("Verify the throwing probes count as failed and health checks go on after the reconnect");
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> metrics.getReconnects() >= 1);
+            Assertions.assertEquals(MAX_FAILED_PROBES, metrics.getFailedProbes());
+            long probesAfterReconnect = metrics.getProbes();
+            Awaitility.await().atMost(RECONNECT_TIMEOUT).until(() -> metrics.getProbes() > probesAfterReconnect);
+        }
+    }
+
+    private static SshTunnelProvider fakeTunnel(String lifetime) {
+        return fakeTunnel("https://fake.test", lifetime);
+    }
+
+    private static SshTunnelProvider fakeTunnel(String url, String lifetime) {
+        Pattern regex = Pattern.compile("url: (https://[\\w\\-\\.]+)");
+        return new SshTunnelProvider() {
+            @Override
+            public String name() {
+                return "FAKE";
+            }
+
+            @Override
+            public String[] getSshCommandWithSpecifiedPort(int port) {
+                return new String[]{"sh", "-c", "echo \"url: " + url + "\"; " + lifetime};
+            }
+
+            @Override
+            public Pattern getRegex() {
+                return regex;
+            }
+        };
+    }
+}
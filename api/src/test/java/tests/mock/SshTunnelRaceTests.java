@@ -0,0 +1,165 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import mock.SshClient;
+import mock.SshTunnelProbe;
+import mock.SshTunnelProvider;
+import mock.SshTunnelProviderStats;
+import mock.SshTunnelRace;
+import mock.SshTunnelStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("Mock")
+public class SshTunnelRaceTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int PORT = 8080;
+
+    private static final SshTunnelProbe PROBE = url -> {
+        if (url.contains("unhealthy")) {
+            throw new IOException("Status code of health endpoint is 502");
+        }
+        sleep(url.contains("slow") ? 300 : 10);
+        return url.length();
+    };
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5010")
+    @DisplayName("Keep the fastest healthy SSH tunnel of the race")
+    @Description("Race fake tunnel providers and verify the healthy one with the lowest probe latency wins " +
+            "and failures of the others are recorded")
+    @AllureId("50081")
+    public void fastestHealthyTunnelWinsTest() throws IOException {
+        Path statsFile = tempDir.resolve("ssh-tunnel-stats.json");
+
+        step("Race all fake tunnel providers");
+        try (SshClient sshClient = SshTunnelRace.start(List.of(FakeTunnels.values()), PORT, PROBE,
+                SshTunnelStats.load(statsFile), TIMEOUT)) {
+            Assertions.assertEquals("https://fast.test", sshClient.getSshServerUrl());
+        }
+
+        step("Verify stats of every provider are saved");
+        Assertions.assertTrue(Files.exists(statsFile));
+        Map<String, SshTunnelProviderStats> providers = SshTunnelStats.load(statsFile).getProviders();
+        Assertions.assertEquals(0, providers.get(FakeTunnels.FAST.name()).getFailures());
+        Assertions.assertEquals(0, providers.get(FakeTunnels.SLOW.name()).getFailures());
+        Assertions.assertEquals(1, providers.get(FakeTunnels.UNHEALTHY.name()).getFailures());
+        Assertions.assertEquals(1, providers.get(FakeTunnels.SILENT.name()).getFailures());
+        Assertions.assertTrue(providers.get(FakeTunnels.FAST.name()).getLatencyMillis() <
+                providers.get(FakeTunnels.SLOW.name()).getLatencyMillis());
+
+        step("Verify providers are ranked by recorded stats in the next run");
+        List<FakeTunnels> ranked = SshTunnelStats.load(statsFile).rank(List.of(FakeTunnels.values()));
+        Assertions.assertEquals(List.of(FakeTunnels.FAST, FakeTunnels.SLOW), ranked.subList(0, 2));
+    }
+
+    @Test
+    @JiraIssue("XXXX-5010")
+    @DisplayName("Fail SSH tunnel race without healthy tunnels")
+    @Description("Race only failing fake tunnel providers and verify the race fails with IOException")
+    @AllureId("50082")
+    public void noHealthyTunnelTest() {
+        step("Race failing fake tunnel providers");
+        SshTunnelStats stats = SshTunnelStats.load(tempDir.resolve("ssh-tunnel-stats.json"));
+        Assertions.assertThrows(IOException.class, () -> SshTunnelRace.start(
+                List.of(FakeTunnels.UNHEALTHY, FakeTunnels.SILENT), PORT, PROBE, stats, TIMEOUT));
+
+        step("Verify failures are recorded");
+        Assertions.assertEquals(1, stats.getProviders().get(FakeTunnels.UNHEALTHY.name()).getFailures());
+        Assertions.assertEquals(1, stats.getProviders().get(FakeTunnels.SILENT.name()).getFailures());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5010")
+    @DisplayName("Stop SSH tunnels still waiting for their URL when the race ends")
+    @Description("Race a fake tunnel provider never printing its URL against a healthy one " +
+            "and verify its process is dead once the race returns")
+    @AllureId("50083")
+    public void silentTunnelStoppedTest() throws IOException {
+        Path pidFile = tempDir.resolve("hanging-tunnel.pid");
+        SshTunnelStats stats = SshTunnelStats.load(tempDir.resolve("ssh-tunnel-stats.json"));
+
+        step("Race a healthy fake tunnel provider against one never printing its URL");
+        try (SshClient sshClient = SshTunnelRace.start(List.of(FakeTunnels.FAST, new HangingTunnel(pidFile)), PORT,
+                PROBE, stats, TIMEOUT)) {
+            Assertions.assertEquals("https://fast.test", sshClient.getSshServerUrl());
+
+            step("Verify the process of the provider never printing its URL is dead");
+            long pid = Long.parseLong(Files.readString(pidFile).trim());
+            Assertions.assertFalse(ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false));
+            Assertions.assertFalse(stats.getProviders().containsKey(HangingTunnel.NAME));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fake tunnel providers printing their URL after a delay, the way real SSH tunnel clients do
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private enum FakeTunnels implements SshTunnelProvider {
+        SLOW("sleep 0.5; echo 'url: https://slow.test'; sleep 60"),
+        UNHEALTHY("echo 'url: https://unhealthy.test'; sleep 60"),
+        SILENT("exit 1"),
+        FAST("sleep 0.2; echo 'url: https://fast.test'; sleep 60");
+
+        private final String script;
+        private final Pattern regex = Pattern.compile("url: (https://[\\w\\-\\.]+)");
+
+        @Override
+        public String[] getSshCommandWithSpecifiedPort(int port) {
+            return new String[]{"sh", "-c", script};
+        }
+    }
+
+    /**
+     * A fake tunnel provider never printing its URL, which writes the PID of its process to the file instead
+     */
+    @RequiredArgsConstructor
+    private static class HangingTunnel implements SshTunnelProvider {
+        private static final String NAME = "HANGING";
+
+        private final Path pidFile;
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public String[] getSshCommandWithSpecifiedPort(int port) {
+            return new String[]{"sh", "-c", "echo $$ > " + pidFile + "; exec sleep 60"};
+        }
+
+        @Override
+        public Pattern getRegex() {
+            return FakeTunnels.FAST.getRegex();
+        }
+    }
+}
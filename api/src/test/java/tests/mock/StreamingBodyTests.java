@@ -0,0 +1,179 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import mock.MockServerProfile;
+import mock.StreamingBody;
+import mock.StreamingBodyTransformer;
+import mock.StubSet;
+import mock.StubTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+@Tag("Mock")
+public class StreamingBodyTests {
+
+    private static final int FILE_BYTES = 8 * 1024 * 1024;
+    private static final int MAX_LOGGED_BODY_BYTES = 64 * 1024;
+    private static final int ARRAY_ITEMS = 10_000;
+    private static final String ARRAY_ITEM = "{\"bookingid\":1,\"firstname\":\"Jim\"}";
+
+    @TempDir
+    private Path tempDir;
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(MockServerProfile.DEFAULT.configure(WireMockConfiguration.wireMockConfig())
+                .maxLoggedResponseSize(MAX_LOGGED_BODY_BYTES)
+                .dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+        StreamingBodyTransformer.INSTANCE.clearBodies();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5016")
+    @DisplayName("Stream response body from memory-mapped file")
+    @Description("Serve a multi-megabyte file through a streaming stub and verify the client gets it intact " +
+            "with chunked transfer, while the serve event keeps a truncated copy only")
+    @AllureId("50131")
+    public void mappedFileBodyTest() throws IOException {
+        step("Register a memory-mapped file body and its stub");
+        byte[] content = new byte[FILE_BYTES];
+        new Random(FILE_BYTES).nextBytes(content);
+        Path file = Files.write(tempDir.resolve("large-body.bin"), content);
+        StreamingBody body = StreamingBody.mappedFile(file);
+        Assertions.assertEquals(FILE_BYTES, body.getSize());
+        StreamingBodyTransformer.INSTANCE.setBody("large-file", body);
+        wireMockServer.importStubs(new StubSet()
+                .add(StubTemplate.GET_JSON_OK.withStreamingBody("large-file").create("/large-file", ""))
+                .toStubImport());
+
+        step("Download the body twice and verify it is intact and chunked");
+        for (int i = 0; i < 2; i++) {
+            Response response = given().when().get(wireMockServer.baseUrl() + "/large-file");
+            Assertions.assertEquals(200, response.getStatusCode());
+            Assertions.assertEquals("chunked", response.getHeader("Transfer-Encoding"));
+            Assertions.assertArrayEquals(content, response.asByteArray());
+        }
+
+        step("Verify serve events keep a truncated body only");
+        ServeEvent serveEvent = wireMockServer.getAllServeEvents().get(0);
+        Assertions.assertTrue(serveEvent.getResponse().getBody().length <= MAX_LOGGED_BODY_BYTES);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5016")
+    @DisplayName("Stream generated JSON array throttled to bandwidth")
+    @Description("Serve a generated JSON array throttled to a bandwidth and verify it is valid JSON of all items " +
+            "and takes at least as long as the bandwidth allows")
+    @AllureId("50132")
+    public void throttledJsonArrayBodyTest() throws IOException {
+        step("Register a generated JSON array body throttled to half of its size per second");
+        StreamingBody body = StreamingBody.jsonArray(ARRAY_ITEM, ARRAY_ITEMS);
+        StreamingBodyTransformer.INSTANCE.setBody("bookings", body.withBandwidth(body.getSize() * 2));
+        wireMockServer.importStubs(new StubSet()
+                .add(StubTemplate.GET_JSON_OK.withStreamingBody("bookings").create("/bookings", ""))
+                .toStubImport());
+
+        step("Download the array and verify its content and duration");
+        long startNanos = System.nanoTime();
+        byte[] downloaded = given().when().get(wireMockServer.baseUrl() + "/bookings").asByteArray();
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        Assertions.assertEquals(body.getSize(), downloaded.length);
+        List<?> bookings = objectMapper.readValue(downloaded, List.class);
+        Assertions.assertEquals(ARRAY_ITEMS, bookings.size());
+        Assertions.assertEquals(Map.of("bookingid", 1, "firstname", "Jim"), bookings.get(ARRAY_ITEMS - 1));
+        Assertions.assertTrue(duration.toMillis() >= 450, "Body is downloaded too fast: " + duration);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5016")
+    @DisplayName("Cap streamed bodies in the journal by default")
+    @Description("Serve a memory-mapped file larger than the default cap from WireMock of the default profile " +
+            "and verify the client gets it intact, while its serve event keeps no more than the cap")
+    @AllureId("50134")
+    public void defaultCappedJournalBodyTest() throws IOException {
+        step("Serve a file larger than the default cap from WireMock of the default profile");
+        byte[] content = new byte[FILE_BYTES];
+        new Random(FILE_BYTES + 1).nextBytes(content);
+        StreamingBodyTransformer.INSTANCE.setBody("capped-file",
+                StreamingBody.mappedFile(Files.write(tempDir.resolve("capped-body.bin"), content)));
+        WireMockServer defaultServer = new WireMockServer(MockServerProfile.DEFAULT
+                .configure(WireMockConfiguration.wireMockConfig())
+                .dynamicPort());
+        defaultServer.start();
+        try {
+            defaultServer.importStubs(new StubSet()
+                    .add(StubTemplate.GET_JSON_OK.withStreamingBody("capped-file").create("/capped-file", ""))
+                    .toStubImport());
+            Assertions.assertArrayEquals(content,
+                    given().when().get(defaultServer.baseUrl() + "/capped-file").asByteArray());
+
+            step("Verify the serve event keeps no more than the default cap");
+            Assertions.assertEquals(MockServerProfile.DEFAULT_MAX_LOGGED_RESPONSE_KB * 1024,
+                    defaultServer.getAllServeEvents().get(0).getResponse().getBody().length);
+        } finally {
+            defaultServer.stop();
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5016")
+    @DisplayName("Keep whole response bodies in the journal unless capped")
+    @Description("Serve a stub body larger than the streaming cap from WireMock of the default profile " +
+            "and verify its serve event keeps the whole body, and that streaming stubs are recognised in stub sets")
+    @AllureId("50133")
+    public void uncappedJournalBodyTest() {
+        step("Serve a large regular stub body from WireMock of the default profile");
+        WireMockServer defaultServer = new WireMockServer(MockServerProfile.DEFAULT
+                .configure(WireMockConfiguration.wireMockConfig())
+                .dynamicPort());
+        defaultServer.start();
+        try {
+            String body = "x".repeat(MAX_LOGGED_BODY_BYTES * 2);
+            defaultServer.importStubs(new StubSet()
+                    .add(StubTemplate.GET_JSON_OK.create("/large", body))
+                    .toStubImport());
+            Assertions.assertEquals(body, given().when().get(defaultServer.baseUrl() + "/large").asString());
+
+            step("Verify the serve event keeps the whole body");
+            Assertions.assertEquals(body, defaultServer.getAllServeEvents().get(0).getResponse().getBodyAsString());
+        } finally {
+            defaultServer.stop();
+        }
+
+        step("Verify stub sets with streaming bodies are recognised");
+        Assertions.assertTrue(new StubSet()
+                .add(StubTemplate.GET_JSON_OK.withStreamingBody("bookings").create("/bookings", ""))
+                .usesTransformer(StreamingBodyTransformer.NAME));
+        Assertions.assertFalse(new StubSet()
+                .add(StubTemplate.GET_JSON_OK.create("/bookings", ""))
+                .usesTransformer(StreamingBodyTransformer.NAME));
+    }
+}
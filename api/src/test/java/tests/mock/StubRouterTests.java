@@ -0,0 +1,153 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.http.ImmutableRequest;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import mock.RequestJournal;
+import mock.StubMatch;
+import mock.StubRouter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class StubRouterTests {
+
+    private static final int EXACT_STUBS = 1000;
+    private static final List<String> REQUESTS = List.of(
+            "GET /orders", "GET /orders?page=2", "GET /orders/7", "POST /orders", "DELETE /orders",
+            "GET /override", "GET /exact/500", "POST /exact/500", "GET /missing");
+
+    private final StubRouter stubRouter = new StubRouter();
+    private final RequestJournal requestJournal = new RequestJournal(EXACT_STUBS);
+    private WireMockServer indexedWireMock;
+    private WireMockServer linearWireMock;
+
+    @BeforeAll
+    public void setUp() {
+        indexedWireMock = new WireMockServer(stubRouter.configure(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .extensions(requestJournal)));
+        linearWireMock = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        indexedWireMock.start();
+        linearWireMock.start();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        indexedWireMock.stop();
+        linearWireMock.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5015")
+    @DisplayName("Route requests through indexed stubs the same way WireMock does")
+    @Description("Register exact URL, URL path and pattern stubs with priorities in an indexed and a plain WireMock " +
+            "and verify both pick the same stubs, while the indexed one matches few candidates per request")
+    @AllureId("50121")
+    public void indexedRoutingTest() {
+        step("Register the same stubs in indexed and plain WireMock");
+        for (WireMockServer wireMockServer : List.of(indexedWireMock, linearWireMock)) {
+            IntStream.range(0, EXACT_STUBS).forEach(i -> wireMockServer.stubFor(
+                    WireMock.get("/exact/" + i).willReturn(WireMock.ok("exact " + i))));
+            wireMockServer.stubFor(WireMock.get("/orders").willReturn(WireMock.ok("exact")));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/orders")).willReturn(WireMock.ok("path")));
+            wireMockServer.stubFor(WireMock.any(WireMock.urlMatching("/orders.*")).willReturn(WireMock.ok("pattern")));
+            wireMockServer.stubFor(WireMock.any(WireMock.anyUrl()).atPriority(1)
+                    .withHeader("X-Override", WireMock.equalTo("true"))
+                    .willReturn(WireMock.ok("override")));
+            wireMockServer.stubFor(WireMock.post("/orders").willReturn(WireMock.ok("created")));
+        }
+        StubMapping removed = indexedWireMock.stubFor(WireMock.post("/orders").willReturn(WireMock.ok("removed")));
+        indexedWireMock.removeStub(removed);
+
+        step("Verify indexed and plain WireMock respond the same");
+        for (String request : REQUESTS) {
+            Assertions.assertEquals(send(linearWireMock, request), send(indexedWireMock, request), request);
+        }
+        Assertions.assertEquals("200 override", send(indexedWireMock, "GET /exact/1 override"));
+
+        step("Verify match time and candidates are reported per request");
+        List<ServeEvent> serveEvents = indexedWireMock.getAllServeEvents();
+        Assertions.assertEquals(REQUESTS.size() + 1, serveEvents.size());
+        for (ServeEvent serveEvent : serveEvents) {
+            SubEvent match = serveEvent.getSubEvents().stream()
+                    .filter(subEvent -> StubRouter.SUB_EVENT.equals(subEvent.getType()))
+                    .findFirst()
+                    .orElseThrow();
+            Assertions.assertTrue(((Number) match.getData().get("candidates")).intValue() <= 4,
+                    serveEvent.getRequest().getUrl() + " " + match.getData());
+            Assertions.assertTrue(((Number) match.getData().get("matchNanos")).longValue() > 0);
+        }
+        Assertions.assertEquals(serveEvents.size(), stubRouter.getMatchLatencies().getTotalCount());
+        Assertions.assertEquals(serveEvents.size(), requestJournal.getStubStatistics().values().stream()
+                .mapToLong(statistics -> statistics.getMatchLatencies().getTotalCount())
+                .sum());
+        Assertions.assertEquals(2, stubRouter.getStore().countUnindexed());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5015")
+    @DisplayName("Report stub matches with their serve events only")
+    @Description("Look up stubs of a request outside of serving and verify the match is reported to the caller only, " +
+            "while a served request carries its own match in its serve event")
+    @AllureId("50123")
+    public void lookupOutsideServingTest() {
+        StubRouter router = new StubRouter();
+        WireMockServer wireMockServer = new WireMockServer(router.configure(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()));
+        wireMockServer.start();
+        try {
+            wireMockServer.stubFor(WireMock.get("/lookup").willReturn(WireMock.ok("found")));
+
+            step("Look up stubs of a request outside of serving");
+            List<SubEvent> lookupEvents = new ArrayList<>();
+            StubMapping found = router.getStore().findAllMatchingRequest(ImmutableRequest.create()
+                            .withAbsoluteUrl(wireMockServer.baseUrl() + "/lookup")
+                            .withMethod(RequestMethod.GET)
+                            .build(), Map.of(), lookupEvents::add)
+                    .findFirst()
+                    .orElseThrow();
+            Assertions.assertEquals("found", found.getResponse().getBody());
+            Assertions.assertEquals(1, lookupEvents.size());
+            Assertions.assertEquals(StubRouter.SUB_EVENT, lookupEvents.get(0).getType());
+            Assertions.assertEquals(0, router.getMatchLatencies().getTotalCount());
+
+            step("Serve the request and verify its serve event carries its own match");
+            Assertions.assertEquals("200 found", send(wireMockServer, "GET /lookup"));
+            StubMatch match = StubMatch.of(wireMockServer.getAllServeEvents().get(0));
+            Assertions.assertNotNull(match);
+            Assertions.assertEquals(1, match.getCandidates());
+            Assertions.assertEquals(1, router.getMatchLatencies().getTotalCount());
+        } finally {
+            wireMockServer.stop();
+        }
+    }
+
+    private static String send(WireMockServer wireMockServer, String request) {
+        String[] parts = request.split(" ");
+        Response response = given()
+                .header("X-Override", String.valueOf(parts.length > 2))
+                .when()
+                .request(parts[0], wireMockServer.baseUrl() + parts[1]);
+        return response.getStatusCode() + " " + (response.getStatusCode() == 200 ? response.asString() : "");
+    }
+}
@@ -0,0 +1,132 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.util.Map;
+import mock.BookerEmulator;
+import mock.JsonStubsBuilder;
+import mock.MockServer;
+import mock.StubSet;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class StubSetTests {
+
+    private static final int STUBS_COUNT = 300;
+
+    private MockServer mockServer;
+
+    @BeforeAll
+    public void setUp() {
+        mockServer = MockServer.startBookerEmulator(0, new BookerEmulator(10));
+    }
+
+    @AfterAll
+    public void tearDown() {
+        mockServer.close();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5004")
+    @DisplayName("Identify stub sets by content hash")
+    @Description("Build stub sets from JSON and mapping builders and verify equal content gives equal hash")
+    @AllureId("50021")
+    public void stubSetHashTest() {
+        step("Build two stub sets with the same content and one with different content");
+        StubSet stubSet = createStubSet("/hash", STUBS_COUNT);
+        StubSet sameStubSet = createStubSet("/hash", STUBS_COUNT);
+        StubSet otherStubSet = createStubSet("/hash", STUBS_COUNT + 1);
+
+        step("Verify hashes");
+        Assertions.assertEquals(stubSet.getHash(), sameStubSet.getHash());
+        Assertions.assertNotEquals(stubSet.getHash(), otherStubSet.getHash());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5004")
+    @DisplayName("Import stub set into MockServer once")
+    @Description("Import the same stub set twice and verify stubs are served and registered only once")
+    @AllureId("50022")
+    public void importStubSetOnceTest() {
+        step("Import stub set");
+        Assertions.assertTrue(mockServer.importStubs(createStubSet("/imported", STUBS_COUNT)));
+        int mappingsCount = getMappingsCount();
+
+        step("Import identical stub set and verify it is skipped");
+        Assertions.assertFalse(mockServer.importStubs(createStubSet("/imported", STUBS_COUNT)));
+        Assertions.assertEquals(mappingsCount, getMappingsCount());
+
+        step("Verify imported stubs are served");
+        given()
+                .when()
+                .post(mockServer.getLocalUrl() + "/imported/" + (STUBS_COUNT - 1))
+                .then()
+                .statusCode(200)
+                .body("index", Matchers.equalTo(STUBS_COUNT - 1));
+        given()
+                .when()
+                .get(mockServer.getLocalUrl() + "/imported/builder")
+                .then()
+                .statusCode(204);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5004")
+    @DisplayName("Import stub set into MockServer again after stubs are reset")
+    @Description("Reset stubs through MockServer and behind its back, and verify the stub set is imported again")
+    @AllureId("50023")
+    public void reloadStubSetAfterResetTest() {
+        step("Import stub set and reset stubs");
+        Assertions.assertTrue(mockServer.importStubs(createStubSet("/reloaded", STUBS_COUNT)));
+        mockServer.resetStubs();
+        Assertions.assertEquals(0, getMappingsCount());
+
+        step("Verify the stub set is imported again and served");
+        Assertions.assertTrue(mockServer.importStubs(createStubSet("/reloaded", STUBS_COUNT)));
+        Assertions.assertEquals(STUBS_COUNT + 1, getMappingsCount());
+        given()
+                .when()
+                .get(mockServer.getLocalUrl() + "/reloaded/builder")
+                .then()
+                .statusCode(204);
+
+        step("Reset stubs over admin API and verify the stub set is imported again");
+        given()
+                .when()
+                .post(mockServer.getLocalUrl() + "/__admin/mappings/reset")
+                .then()
+                .statusCode(200);
+        Assertions.assertTrue(mockServer.importStubs(createStubSet("/reloaded", STUBS_COUNT)));
+        Assertions.assertFalse(mockServer.importStubs(createStubSet("/reloaded", STUBS_COUNT)));
+    }
+
+    private int getMappingsCount() {
+        return given()
+                .when()
+                .get(mockServer.getLocalUrl() + "/__admin/mappings")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("meta.total");
+    }
+
+    private static StubSet createStubSet(String urlPrefix, int count) {
+        StubSet stubSet = new StubSet()
+                .add(WireMock.get(urlPrefix + "/builder").willReturn(WireMock.noContent()));
+        for (int i = 0; i < count; i++) {
+            stubSet.add(JsonStubsBuilder.createJsonStub(urlPrefix + "/" + i, "{\"index\": " + i + "}",
+                    Map.of(), "POST", 200));
+        }
+        return stubSet;
+    }
+}
@@ -0,0 +1,89 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.util.stream.IntStream;
+import mock.StubSet;
+import mock.StubTemplate;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class StubTemplateTests {
+
+    private static final StubTemplate CREATED_TEMPLATE = StubTemplate.json("POST", 201)
+            .withHeader("Content-Type", "application/json; charset=utf-8")
+            .withHeader("X-Stub", "template");
+
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5005")
+    @DisplayName("Serve stubs built from typed template")
+    @Description("Stamp out stubs from a compiled template, import them and verify status, headers and bodies")
+    @AllureId("50031")
+    public void serveTemplateStubsTest() {
+        step("Build stubs from templates and import them");
+        StubSet stubSet = new StubSet()
+                .add(StubTemplate.GET_JSON_OK.createWithUrlPattern("/template/items/[0-9]+", "{\"items\": []}"));
+        IntStream.range(0, 100).forEach(i ->
+                stubSet.add(CREATED_TEMPLATE.create("/template/" + i, "{\"index\": " + i + "}")));
+        wireMockServer.importStubs(stubSet.toStubImport());
+
+        step("Verify stubs are served");
+        given()
+                .when()
+                .post(wireMockServer.baseUrl() + "/template/42")
+                .then()
+                .statusCode(201)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .header("X-Stub", "template")
+                .body("index", Matchers.equalTo(42));
+        given()
+                .when()
+                .get(wireMockServer.baseUrl() + "/template/items/7?page=1")
+                .then()
+                .statusCode(200)
+                .body("items", Matchers.empty());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5005")
+    @DisplayName("Serialize stub built from typed template to JSON")
+    @Description("Serialize a template stub to WireMock JSON format and verify it is parsed back to the same stub")
+    @AllureId("50032")
+    public void templateStubToJsonTest() {
+        step("Build templated stub and serialize it");
+        StubMapping stubMapping = CREATED_TEMPLATE.templated()
+                .create("/template/json", "{\"path\": \"{{request.path}}\"}");
+        String json = StubTemplate.toJson(stubMapping);
+
+        step("Verify parsed stub is the same");
+        StubMapping parsed = StubMapping.buildFrom(json);
+        Assertions.assertEquals(stubMapping.getRequest(), parsed.getRequest());
+        Assertions.assertEquals(stubMapping.getResponse(), parsed.getResponse());
+        Assertions.assertTrue(json.contains("response-template"));
+    }
+}
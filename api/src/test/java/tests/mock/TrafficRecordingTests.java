@@ -0,0 +1,127 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.IntStream;
+import mock.TrafficRecording;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Mock")
+public class TrafficRecordingTests {
+
+    private static final int UPSTREAM_DELAY_MILLIS = 200;
+    private static final String VOLATILE_FIELD = "firstname";
+
+    private WireMockServer upstream;
+
+    @BeforeEach
+    public void setUp() {
+        upstream = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        upstream.start();
+        upstream.stubFor(WireMock.get("/booking/1")
+                .willReturn(WireMock.okJson("{\"firstname\": \"Recorded\"}").withFixedDelay(UPSTREAM_DELAY_MILLIS)));
+        upstream.stubFor(WireMock.put("/booking/1")
+                .willReturn(WireMock.okJson("{\"firstname\": \"Updated\"}")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (upstream.isRunning()) {
+            upstream.stop();
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5009")
+    @DisplayName("Record upstream traffic and replay it with recorded latency")
+    @Description("Proxy requests to upstream while recording, save mappings and verify replay serves them as recorded")
+    @AllureId("50071")
+    public void recordAndReplayTest() throws IOException {
+        Path mappingsFile = Files.createTempFile("recorded-mappings", ".json");
+
+        step("Record requests proxied to upstream");
+        try (TrafficRecording recording = TrafficRecording.startRecording(0, upstream.baseUrl(), Set.of())) {
+            IntStream.range(0, 3).forEach(i -> sendRequest(recording.getLocalUrl()));
+            recording.save(mappingsFile);
+        }
+        Assertions.assertTrue(Files.readString(mappingsFile).contains("recordedLatenciesMillis"));
+
+        step("Stop upstream and replay recorded mappings");
+        upstream.stop();
+        try (TrafficRecording replay = TrafficRecording.startReplay(0, mappingsFile)) {
+            Response response = sendRequest(replay.getLocalUrl());
+
+            step("Verify recorded response is served with recorded latency");
+            Assertions.assertEquals(200, response.getStatusCode());
+            Assertions.assertEquals("Recorded", response.jsonPath().getString("firstname"));
+            Assertions.assertTrue(response.getTime() >= UPSTREAM_DELAY_MILLIS);
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5009")
+    @DisplayName("Replay recorded requests with fresh values of volatile fields")
+    @Description("Record GET and PUT requests to one URL, replay PUT with a new value of a volatile body field " +
+            "and verify it matches and every method keeps its own recorded latency")
+    @AllureId("50072")
+    public void volatileFieldsReplayTest() throws IOException {
+        Path mappingsFile = Files.createTempFile("recorded-mappings", ".json");
+
+        step("Record GET and PUT requests to one URL");
+        try (TrafficRecording recording = TrafficRecording.startRecording(0, upstream.baseUrl(),
+                Set.of(VOLATILE_FIELD))) {
+            sendRequest(recording.getLocalUrl());
+            sendUpdateRequest(recording.getLocalUrl(), "Recorded");
+            recording.save(mappingsFile);
+        }
+
+        step("Stop upstream and replay PUT with a new value of the volatile field");
+        upstream.stop();
+        try (TrafficRecording replay = TrafficRecording.startReplay(0, mappingsFile)) {
+            Response response = sendUpdateRequest(replay.getLocalUrl(), "Replayed");
+
+            step("Verify PUT matches its stub and keeps its own latency apart from GET");
+            Assertions.assertEquals("Updated", response.jsonPath().getString("firstname"));
+            Assertions.assertTrue(response.getTime() < UPSTREAM_DELAY_MILLIS);
+            Assertions.assertTrue(sendRequest(replay.getLocalUrl()).getTime() >= UPSTREAM_DELAY_MILLIS);
+        }
+    }
+
+    private static Response sendUpdateRequest(String baseUrl, String firstname) {
+        return given()
+                .contentType("application/json")
+                .body("{\"" + VOLATILE_FIELD + "\": \"" + firstname + "\", \"totalprice\": 100}")
+                .when()
+                .put(baseUrl + "/booking/1")
+                .then()
+                .statusCode(200)
+                .extract()
+                .response();
+    }
+
+    private static Response sendRequest(String baseUrl) {
+        return given()
+                .when()
+                .get(baseUrl + "/booking/1")
+                .then()
+                .statusCode(200)
+                .extract()
+                .response();
+    }
+}
@@ -0,0 +1,195 @@
+package tests.mock;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import static io.restassured.RestAssured.given;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import mock.AdminRequestJournal;
+import mock.MockServerProfile;
+import mock.StubSet;
+import mock.StubTemplate;
+import mock.WireMockClient;
+import mock.WireMockDaemon;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static utils.JsonMessageTestUtils.objectMapper;
+
+@Tag("Mock")
+public class WireMockDaemonTests {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(60);
+    private static final int PARALLEL_CLIENTS = 8;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @JiraIssue("XXXX-5014")
+    @DisplayName("Share WireMock daemon between clients")
+    @Description("Attach two clients to the daemon, verify they share one WireMock, detaching removes " +
+            "only own stubs, and the daemon stops itself once idle")
+    @AllureId("50111")
+    public void sharedDaemonTest() throws IOException {
+        Path registryFile = tempDir.resolve("registry.json");
+
+        step("Launch daemon with the first client and attach the second one");
+        WireMockDaemon first = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+        WireMockDaemon second = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+        Assertions.assertEquals(first.getPort(), second.getPort());
+        Assertions.assertNotEquals(first.getOwner(), second.getOwner());
+        final long daemonPid = readPid(registryFile);
+
+        step("Import own stubs of both clients");
+        importStubs(first, "/first");
+        importStubs(second, "/second");
+        sendRequest(first.getPort(), "/first", 200);
+        sendRequest(first.getPort(), "/second", 200);
+
+        step("Detach the first client and verify only its stubs are removed");
+        first.detach();
+        sendRequest(second.getPort(), "/first", 404);
+        sendRequest(second.getPort(), "/second", 200);
+
+        step("Detach the second client and verify the daemon stops once idle");
+        second.detach();
+        Awaitility.await().atMost(SHUTDOWN_TIMEOUT)
+                .until(() -> ProcessHandle.of(daemonPid).map(process -> !process.isAlive()).orElse(true));
+        Assertions.assertFalse(registryFile.toFile().exists());
+    }
+
+    @Test
+    @JiraIssue("XXXX-5014")
+    @DisplayName("Scope journal queries of daemon clients to their owner")
+    @Description("Attach two clients to the daemon, send requests to stubs of both and verify the journal " +
+            "of every client only sees requests matched by its own stubs")
+    @AllureId("50112")
+    public void ownerJournalTest() {
+        Path registryFile = tempDir.resolve("registry.json");
+
+        step("Attach two clients and import their own stubs");
+        WireMockDaemon first = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+        WireMockDaemon second = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+        try {
+            importStubs(first, "/first");
+            importStubs(second, "/second");
+            sendRequest(first.getPort(), "/first", 200);
+            sendRequest(first.getPort(), "/second", 200);
+            sendRequest(first.getPort(), "/unknown", 404);
+
+            step("Verify the journal of every client only sees requests to its own stubs");
+            WireMockClient wireMockClient = new WireMockClient("http://localhost:" + first.getPort());
+            AdminRequestJournal firstJournal = new AdminRequestJournal(wireMockClient, first.getOwner());
+            AdminRequestJournal secondJournal = new AdminRequestJournal(wireMockClient, second.getOwner());
+            Assertions.assertEquals(1, firstJournal.getAllEvents().size());
+            Assertions.assertEquals(1, firstJournal.countEvents("/first"));
+            Assertions.assertEquals(0, firstJournal.countEvents("/second"));
+            Assertions.assertEquals(1, secondJournal.awaitEvents("/second", 1, Duration.ofSeconds(5)).size());
+            Assertions.assertEquals(1, secondJournal.getStubStatistics().size());
+            Assertions.assertEquals(3, new AdminRequestJournal(wireMockClient).getAllEvents().size());
+        } finally {
+            first.detach();
+            second.detach();
+        }
+    }
+
+    @Test
+    @JiraIssue("XXXX-5014")
+    @DisplayName("Launch a new daemon for another profile or build")
+    @Description("Attach a client with another profile than the registered daemon, and one with a registry " +
+            "of another build, and verify both launch a new daemon instead of attaching to the stale one")
+    @AllureId("50113")
+    public void staleDaemonRelaunchTest() throws IOException {
+        Path registryFile = tempDir.resolve("registry.json");
+
+        step("Launch daemon with the default profile");
+        WireMockDaemon first = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+        long firstPid = readPid(registryFile);
+
+        step("Attach with another profile and verify a new daemon is launched");
+        WireMockDaemon second = WireMockDaemon.attach(registryFile, MockServerProfile.HIGH_THROUGHPUT, IDLE_TIMEOUT);
+        long secondPid = readPid(registryFile);
+        Assertions.assertNotEquals(firstPid, secondPid);
+        Assertions.assertNotEquals(first.getPort(), second.getPort());
+
+        step("Register another build and verify a new daemon is launched");
+        ObjectNode registration = (ObjectNode) objectMapper.readTree(registryFile.toFile());
+        registration.put("fingerprint", "another-build");
+        objectMapper.writeValue(registryFile.toFile(), registration);
+        WireMockDaemon third = WireMockDaemon.attach(registryFile, MockServerProfile.HIGH_THROUGHPUT, IDLE_TIMEOUT);
+        Assertions.assertNotEquals(secondPid, readPid(registryFile));
+
+        step("Verify the same profile and build attach to the registered daemon");
+        WireMockDaemon fourth = WireMockDaemon.attach(registryFile, MockServerProfile.HIGH_THROUGHPUT, IDLE_TIMEOUT);
+        Assertions.assertEquals(third.getPort(), fourth.getPort());
+        List.of(first, second, third, fourth).forEach(WireMockDaemon::detach);
+    }
+
+    @Test
+    @JiraIssue("XXXX-5014")
+    @DisplayName("Attach and detach daemon clients from parallel threads of one JVM")
+    @Description("Attach and detach clients of one registry from parallel threads, as parallel test classes do, " +
+            "and verify none fails on the registry lock and all of them are unregistered")
+    @AllureId("50114")
+    public void parallelClientsTest() throws IOException {
+        Path registryFile = tempDir.resolve("registry.json");
+
+        step("Launch daemon with the first client");
+        WireMockDaemon first = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT, IDLE_TIMEOUT);
+
+        step("Attach and detach " + PARALLEL_CLIENTS + " clients from parallel threads");
+        List<CompletableFuture<Integer>> clients = IntStream.range(0, PARALLEL_CLIENTS)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    WireMockDaemon client = WireMockDaemon.attach(registryFile, MockServerProfile.DEFAULT,
+                            IDLE_TIMEOUT);
+                    client.detach();
+                    return client.getPort();
+                }))
+                .collect(Collectors.toList());
+        for (CompletableFuture<Integer> client : clients) {
+            Assertions.assertEquals(first.getPort(), client.join());
+        }
+
+        step("Verify only the first client is still registered");
+        JsonNode clientPids = objectMapper.readTree(registryFile.toFile()).get("clients");
+        Assertions.assertEquals(1, clientPids.size(), clientPids.toString());
+        Assertions.assertEquals(ProcessHandle.current().pid(), clientPids.get(0).asLong());
+        first.detach();
+    }
+
+    private static long readPid(Path registryFile) throws IOException {
+        return ((Number) objectMapper.readValue(registryFile.toFile(), Map.class).get("pid")).longValue();
+    }
+
+    private static void importStubs(WireMockDaemon client, String endpoint) {
+        StubSet stubSet = new StubSet()
+                .add(StubTemplate.GET_JSON_OK.create(endpoint, "{}"))
+                .withMetadata(WireMockDaemon.OWNER_METADATA, client.getOwner());
+        new WireMockClient("http://localhost:" + client.getPort()).sendImportStubsRequest(stubSet.toImportJson())
+                .then()
+                .statusCode(200);
+    }
+
+    private static void sendRequest(int port, String endpoint, int statusCode) {
+        given()
+                .when()
+                .get("http://localhost:" + port + endpoint)
+                .then()
+                .statusCode(statusCode);
+    }
+}
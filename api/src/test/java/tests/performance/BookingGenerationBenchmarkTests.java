@@ -0,0 +1,119 @@
+package tests.performance;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import builders.BookingGenerator;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import models.booking.Booking;
+import models.booking.BookingDates;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * A JMH benchmark of random Booking generation creating a Faker per Booking, as
+ * {@code BookingBuilder.createRandomBooking} did before {@link BookingGenerator}, and with the generator
+ * one by one and in parallel batches. Throughput is measured in Bookings per second in the test JVM,
+ * as a forked one would not get the test classpath from Gradle
+ */
+
+@Tag("Performance")
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookingGenerationBenchmarkTests {
+    private static final int BATCH_SIZE = 10_000;
+    private static final double MIN_SPEEDUP = 5;
+
+    private final BookingGenerator generator = new BookingGenerator(42);
+    private long batchIndex;
+
+    @Test
+    @JiraIssue("XXXX-5022")
+    @DisplayName("Throughput of random Booking generation with a Faker per Booking and with generator")
+    @Description("Benchmark random Booking generation with JMH, and verify the generator is at least " +
+            "several times faster than creating a Faker per Booking and gives the same Bookings for the same seed")
+    @AllureId("50191")
+    public void bookingGenerationThroughputTest() throws RunnerException {
+        step("Verify the generator repeats Bookings of the same seed, sequentially and in parallel");
+        LocalDate today = LocalDate.now();
+        List<Booking> sequential = new BookingGenerator(7, today).bookings(0, 1000).collect(Collectors.toList());
+        Assertions.assertEquals(sequential, List.of(new BookingGenerator(7, today).batch(0, 1000)));
+        Assertions.assertNotEquals(sequential, List.of(new BookingGenerator(8, today).batch(0, 1000)));
+
+        step("Benchmark Booking generation");
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(BookingGenerationBenchmarkTests.class.getName() + ".")
+                .forks(0)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(2))
+                .build()).run();
+        Map<String, Double> bookingsPerSecond = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                result -> result.getPrimaryResult().getScore()));
+        bookingsPerSecond.forEach((benchmark, score) -> step(String.format(
+                "%s: %,.0f Bookings/s, %,.1f million Bookings/min", benchmark, score, score * 60 / 1_000_000)));
+        log.info("Booking generation throughput, Bookings/s: {}", bookingsPerSecond);
+
+        Assertions.assertTrue(bookingsPerSecond.get("generator") >
+                        MIN_SPEEDUP * bookingsPerSecond.get("fakerPerBooking"),
+                "Generator must be at least " + MIN_SPEEDUP + " times faster: " + bookingsPerSecond);
+    }
+
+    @Benchmark
+    public Booking fakerPerBooking() {
+        Faker faker = new Faker();
+        LocalDate checkIn = LocalDate.now().minusDays(faker.random().nextLong(0, 365));
+
+        return Booking.builder()
+                .firstname(faker.name().firstName())
+                .lastname(faker.name().lastName())
+                .totalprice(faker.random().nextInt(50, 5000))
+                .depositpaid(faker.random().nextBoolean())
+                .bookingdates(
+                        new BookingDates(
+                                checkIn.toString(),
+                                checkIn.plusDays(faker.random().nextLong(1, 30)).toString()
+                        )
+                )
+                .additionalneeds(faker.food().dish())
+                .build();
+    }
+
+    @Benchmark
+    public Booking generator() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Booking[] generatorParallelBatch() {
+        batchIndex += BATCH_SIZE;
+        return generator.batch(batchIndex, BATCH_SIZE);
+    }
+}
@@ -1,6 +1,7 @@
 package tests.performance;
 
 import static allure.AllureAttachmentUtil.addZipAttachment;
+import io.qameta.allure.Allure;
 //import com.github.tomakehurst.wiremock.WireMockServer;
 //import com.github.tomakehurst.wiremock.client.WireMock;
 //import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
@@ -9,11 +10,15 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
+import mock.LatencyBreakdown;
+import mock.LatencyDecomposition;
 import mock.MockServer;
 import org.apache.http.entity.ContentType;
 import org.junit.jupiter.api.AfterAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import static properties.PrivateProperties.MOCK_CAPACITY_CHECK;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.autoStop;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.htmlReporter;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
@@ -146,6 +151,9 @@ public class DraftPerformanceTests {
 
     @Test
     public void rpsTest() throws IOException {
+        if (Boolean.parseBoolean(MOCK_CAPACITY_CHECK)) {
+            assertTrue(mockServer.checkCapacity() > RPS * 10, "Mock is saturated below the target load");
+        }
         testPlan(
                 rpsThreadGroup()
                         .maxThreads(MAX_THREADS)
@@ -242,4 +250,21 @@ public class DraftPerformanceTests {
         );
         System.out.println("teamcity[buildStatisticValue key='errors' value='" + stats.overall().errorsCount() + "']");
     }
+
+    @Test
+    public void latencyDecompositionTest() throws IOException {
+        LatencyDecomposition decomposition = new LatencyDecomposition();
+        mockServer.cleanAllEvents();
+        testPlan(
+                threadGroup(THREADS, ITERATIONS,
+                        httpSampler(mockServer.getPublicUrl() + "/default")
+                                .post("{}", ContentType.APPLICATION_JSON)
+                                .children(decomposition.correlate())
+                )
+        ).run();
+
+        LatencyBreakdown breakdown = decomposition.decompose(mockServer.getAllEvents());
+        log.info("Latency breakdown:\n{}", breakdown.format());
+        Allure.addAttachment("LatencyBreakdown", breakdown.format());
+    }
 }
@@ -0,0 +1,108 @@
+package tests.performance;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import mock.StubSet;
+import mock.StubTemplate;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.stats.StatsSummary;
+
+/**
+ * A benchmark of local WireMock throughput serving the same JSON body from a static stub
+ * and from a stub going through Handlebars response templating, configured the same way MockServer does
+ */
+
+@Tag("Performance")
+@Slf4j
+public class MockTemplatingBenchmarkTests {
+    private static final int THREADS = 20;
+    private static final int ITERATIONS = 500;
+    private static final String BODY = """
+            {
+              "default": true,
+              "success": true,
+              "path": "/benchmark"
+            }
+            """;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeAll
+    public void setUp() {
+        wireMockServer = new WireMockServer(
+                WireMockConfiguration.wireMockConfig()
+                        .dynamicPort()
+                        .templatingEnabled(true)
+                        .globalTemplating(false)
+                        .disableRequestJournal()
+        );
+        wireMockServer.start();
+        wireMockServer.importStubs(new StubSet()
+                .add(StubTemplate.POST_JSON_OK.create("/benchmark/static", BODY))
+                .add(StubTemplate.POST_JSON_OK.templated().create("/benchmark/templated", BODY))
+                .toStubImport());
+    }
+
+    @AfterAll
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @JiraIssue("XXXX-5006")
+    @DisplayName("Mock throughput with and without response templating")
+    @Description("Send the same load to a static and a templated stub and compare mock throughput")
+    @AllureId("50041")
+    public void templatingThroughputTest() throws IOException {
+        step("Warm up WireMock");
+        runLoad("/benchmark/static");
+        runLoad("/benchmark/templated");
+
+        step("Send load to static stub");
+        StatsSummary staticStats = runLoad("/benchmark/static");
+
+        step("Send load to templated stub");
+        StatsSummary templatedStats = runLoad("/benchmark/templated");
+
+        step("Static stub: " + throughputOf(staticStats) + " rps, p99 " +
+                staticStats.sampleTimePercentile99().toMillis() + " ms");
+        step("Templated stub: " + throughputOf(templatedStats) + " rps, p99 " +
+                templatedStats.sampleTimePercentile99().toMillis() + " ms");
+        log.info("Mock throughput, static: {} rps, templated: {} rps",
+                throughputOf(staticStats), throughputOf(templatedStats));
+        assertEquals(0, staticStats.errorsCount());
+        assertEquals(0, templatedStats.errorsCount());
+    }
+
+    private StatsSummary runLoad(String endpoint) throws IOException {
+        TestPlanStats stats = testPlan(
+                threadGroup(THREADS, ITERATIONS,
+                        httpSampler(wireMockServer.baseUrl() + endpoint)
+                                .post("{}", ContentType.APPLICATION_JSON)
+                )
+        ).run();
+        return stats.overall();
+    }
+
+    private static long throughputOf(StatsSummary stats) {
+        long durationMillis = Math.max(1, Duration.between(stats.firstTime(), stats.endTime()).toMillis());
+        return stats.samplesCount() * 1000 / durationMillis;
+    }
+}
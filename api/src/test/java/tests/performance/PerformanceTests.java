@@ -4,17 +4,23 @@ import static allure.AllureAttachmentUtil.addZipAttachment;
 import static allure.AllureUtils.step;
 import allure.annotations.JiraIssue;
 import builders.BookingBuilder;
-import static builders.BookingBuilder.createRandomBooking;
 import io.qameta.allure.AllureId;
 import io.qameta.allure.Description;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import load.BookingPayloads;
+import load.BookingPropagation;
+import load.BookingScenario;
+import load.HdrLatencyListener;
+import static load.HdrLatencyListener.hdrLatencyListener;
+import load.LoadProfile;
+import load.PerfHistory;
+import load.PerfRun;
+import load.Slo;
 import models.booking.Booking;
 import models.booking.BookingSuccessResponse;
-import org.apache.http.entity.ContentType;
-import org.apache.jmeter.protocol.http.util.HTTPConstants;
-import org.apache.jmeter.samplers.SampleResult;
 import org.junit.jupiter.api.AfterAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -22,38 +28,31 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static properties.PrivateProperties.LOAD_PAYLOADS;
+import static properties.PrivateProperties.LOAD_PROFILE;
+import static properties.PrivateProperties.LOAD_PROPAGATION_ENDPOINT;
+import static properties.PrivateProperties.LOAD_SCENARIO;
+import static properties.PrivateProperties.PERF_BASELINE_RUNS;
+import static properties.PrivateProperties.PERF_HISTORY_FILE;
+import static properties.PrivateProperties.PERF_REGRESSION;
 import static properties.PublicProperties.BOOKER_URL;
 import tests.BaseTest;
 import static tests.integration.BookingIntegrationTests.createBooking;
 import static tests.integration.BookingIntegrationTests.getBooking;
 import static tests.integration.BookingIntegrationTests.removeBooking;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.htmlReporter;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonAssertion;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonExtractor;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PostProcessor;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223Sampler;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.resultsTreeVisualizer;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.rpsThreadGroup;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
-import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
 import us.abstracta.jmeter.javadsl.core.TestPlanStats;
 import static us.abstracta.jmeter.javadsl.dashboard.DashboardVisualizer.dashboardVisualizer;
-import static utils.JsonMessageTestUtils.toJson;
 
 public class PerformanceTests extends BaseTest {
 
-    private static final int THREADS = 5;
-    private static final int ITERATIONS = 10;
-
-    // If the system's average response time is known, calculate MAX_THREADS with a small safety margin
-    private static final double RPS = 10.0;
-    private static final int MAX_THREADS = 100; // MAX_THREADS = RPS * avgResponseTime
-    private static final int RAMP_DURATION = 5;
-    private static final int HOLD_DURATION = 10;
-
     private static final String REPORT_IDENTIFIER = "report-" + LocalDateTime.now();
     private static final String AUTH_HEADER = "Basic " + getToken(BOOKER_URL);
+    private static final String PAYLOADS_DIRECTORY = ".load-payloads";
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofMinutes(1);
 
     @BeforeAll
     public static void setSpecification() {
@@ -71,47 +70,7 @@ public class PerformanceTests extends BaseTest {
     @Description("Send create, retrieve, and delete Booking requests, and validate performance statistics")
     @AllureId("40001")
     public void bookingStressTest() throws IOException {
-        step("Send Booking messages in " + THREADS + " threads with " + ITERATIONS + " iterations");
-        TestPlanStats stats = testPlan(
-                threadGroup(THREADS, ITERATIONS,
-
-                        httpSampler(BOOKER_URL + "/booking")
-                                .method(HTTPConstants.POST)
-                                .header("Accept", "application/json")
-                                .header("Authorization", AUTH_HEADER)
-                                .contentType(ContentType.APPLICATION_JSON)
-                                .post(s -> toJson(createRandomBooking()), ContentType.APPLICATION_JSON)
-                                .children(jsonExtractor("bookingidVariable", "bookingid"))
-                                .children(jsonAssertion("booking")),
-
-                        httpSampler(BOOKER_URL + "/booking/${bookingidVariable}")
-                                .method(HTTPConstants.GET)
-                                .header("Accept", "application/json")
-                                .header("Authorization", AUTH_HEADER)
-                                .contentType(ContentType.APPLICATION_JSON)
-                                .children(jsonAssertion("firstname")),
-
-                        httpSampler(BOOKER_URL + "/booking/${bookingidVariable}")
-                                .method(HTTPConstants.DELETE)
-                                .header("Accept", "application/json")
-                                .header("Authorization", AUTH_HEADER)
-                                .contentType(ContentType.APPLICATION_JSON)
-                                .children(
-                                        jsr223PostProcessor(s ->
-                                                s.prev.setSuccessful(
-                                                        s.prev.getResponseCode().equals("201")
-                                                )
-                                        )
-                                )
-
-                ), htmlReporter(".jmeter-reports", REPORT_IDENTIFIER),
-                resultsTreeVisualizer(),
-                dashboardVisualizer()
-        ).run();
-
-        step("Check performance statistic");
-        assertEquals(0, stats.overall().errorsCount());
-        assertTrue(stats.overall().sampleTimePercentile99().compareTo(Duration.ofSeconds(5)) < 0);
+        runScenario(BookingScenario.CREATE_READ_DELETE, LoadProfile.STRESS);
         addZipAttachment(REPORT_IDENTIFIER);
     }
 
@@ -121,51 +80,17 @@ public class PerformanceTests extends BaseTest {
     @Description("Send create, retrieve, and delete Booking requests, and validate performance statistics")
     @AllureId("40002")
     public void bookingLoadTest() throws IOException {
-        step("Send Booking messages in up to " + MAX_THREADS + " threads at " + RPS + " rps, with a " +
-                RAMP_DURATION + "-seconds ramp-up and " + HOLD_DURATION + "-seconds hold");
-        TestPlanStats stats = testPlan(
-                rpsThreadGroup()
-                        .maxThreads(MAX_THREADS)
-                        .rampToAndHold(RPS, Duration.ofSeconds(RAMP_DURATION), Duration.ofSeconds(HOLD_DURATION))
-                        .children(
-
-                                httpSampler(BOOKER_URL + "/booking")
-                                        .method(HTTPConstants.POST)
-                                        .header("Accept", "application/json")
-                                        .header("Authorization", AUTH_HEADER)
-                                        .contentType(ContentType.APPLICATION_JSON)
-                                        .post(s -> toJson(createRandomBooking()), ContentType.APPLICATION_JSON)
-                                        .children(jsonExtractor("bookingidVariable", "bookingid"))
-                                        .children(jsonAssertion("booking")),
-
-                                httpSampler(BOOKER_URL + "/booking/${bookingidVariable}")
-                                        .method(HTTPConstants.GET)
-                                        .header("Accept", "application/json")
-                                        .header("Authorization", AUTH_HEADER)
-                                        .contentType(ContentType.APPLICATION_JSON)
-                                        .children(jsonAssertion("firstname")),
-
-                                httpSampler(BOOKER_URL + "/booking/${bookingidVariable}")
-                                        .method(HTTPConstants.DELETE)
-                                        .header("Accept", "application/json")
-                                        .header("Authorization", AUTH_HEADER)
-                                        .contentType(ContentType.APPLICATION_JSON)
-                                        .children(
-                                                jsr223PostProcessor(s ->
-                                                        s.prev.setSuccessful(
-                                                                s.prev.getResponseCode().equals("201")
-                                                        )
-                                                )
-                                        )
-
-                        ), htmlReporter(".jmeter-reports", REPORT_IDENTIFIER),
-                resultsTreeVisualizer(),
-                dashboardVisualizer()
-        ).run();
+        runScenario(BookingScenario.CREATE_READ_DELETE, LoadProfile.LOAD);
+    }
 
-        step("Check performance statistic");
-        assertEquals(0, stats.overall().errorsCount());
-        assertTrue(stats.overall().sampleTimePercentile99().compareTo(Duration.ofSeconds(5)) < 0);
+    @Test
+    @JiraIssue("XXXX-4001")
+    @DisplayName("Booking scenario under load profile")
+    @Description("Send Booking requests of the scenario chosen by loadScenario property under the load profile " +
+            "chosen by loadProfile property, and validate performance statistics")
+    @AllureId("40004")
+    public void bookingScenarioTest() throws IOException {
+        runScenario(BookingScenario.valueOf(LOAD_SCENARIO), LoadProfile.valueOf(LOAD_PROFILE));
     }
 
     @Test
@@ -174,37 +99,32 @@ public class PerformanceTests extends BaseTest {
     @Description("Send create, retrieve, and delete Booking requests, and validate performance statistics")
     @AllureId("40003")
     public void bookingLoadJsrTest() throws IOException {
-        step("Send Booking messages in up to " + MAX_THREADS + " threads at " + RPS + " rps, with a " +
-                RAMP_DURATION + "-seconds ramp-up and " + HOLD_DURATION + "-seconds hold");
+        step("Send Booking messages under " + LoadProfile.LOAD.describe());
         TestPlanStats stats = testPlan(
-                rpsThreadGroup()
-                        .maxThreads(MAX_THREADS)
-                        .rampToAndHold(RPS, Duration.ofSeconds(RAMP_DURATION), Duration.ofSeconds(HOLD_DURATION))
-                        .children(
+                LoadProfile.LOAD.threadGroup(
 
-                                jsr223Sampler(sampler -> {
+                        jsr223Sampler(sampler -> {
 
-                                    step("Prepare random Booking message");
-                                    Booking booking = BookingBuilder.createRandomBooking();
+                            step("Prepare random Booking message");
+                            Booking booking = BookingBuilder.createRandomBooking();
 
-                                    step("Send creating Booking message");
-                                    BookingSuccessResponse bookingSuccessResponse = createBooking(booking);
+                            step("Send creating Booking message");
+                            BookingSuccessResponse bookingSuccessResponse = createBooking(booking);
 
-                                    step("Send deleting Booking message");
-                                    removeBooking(bookingSuccessResponse.getBookingid().getBookingid());
+                            step("Send deleting Booking message");
+                            removeBooking(bookingSuccessResponse.getBookingid().getBookingid());
 
-                                    step("Send getting Booking message to make sure it has been removed");
-                                    AssertionError error = assertThrows(AssertionError.class, () ->
-                                            getBooking(bookingSuccessResponse.getBookingid().getBookingid()));
+                            step("Send getting Booking message to make sure it has been removed");
+                            AssertionError error = assertThrows(AssertionError.class, () ->
+                                    getBooking(bookingSuccessResponse.getBookingid().getBookingid()));
 
-                                    boolean isSuccessful = error.getMessage()
-                                            .contains("Expected status code (<200> or <201>) but was <404>");
-                                    SampleResult result = sampler.sampleResult;
-                                    result.setSuccessful(isSuccessful);
+                            boolean isSuccessful = error.getMessage()
+                                    .contains("Expected status code (<200> or <201>) but was <404>");
+                            sampler.sampleResult.setSuccessful(isSuccessful);
 
-                                })
+                        })
 
-                        ), htmlReporter(".jmeter-reports", REPORT_IDENTIFIER),
+                ), htmlReporter(".jmeter-reports", REPORT_IDENTIFIER),
                 resultsTreeVisualizer(),
                 dashboardVisualizer()
         ).run();
@@ -213,4 +133,47 @@ public class PerformanceTests extends BaseTest {
         assertEquals(0, stats.overall().errorsCount());
         assertTrue(stats.overall().sampleTimePercentile99().compareTo(Duration.ofSeconds(5)) < 0);
     }
+
+    /**
+     * Runs the scenario, measuring how long created Bookings take to reach the downstream mock
+     * when loadPropagationEndpoint property is set
+     */
+    private static void runScenario(BookingScenario scenario, LoadProfile profile) throws IOException {
+        try (BookingPropagation propagation = BookingPropagation.start(LOAD_PROPAGATION_ENDPOINT)) {
+            step("Send Booking messages of " + scenario + " scenario under " + profile.describe());
+            HdrLatencyListener latency = hdrLatencyListener(".jmeter-reports/" + REPORT_IDENTIFIER + "-hdr")
+                    .expectedRate(profile::getScheduledRps);
+            TestPlanStats stats = testPlan(
+                    profile.threadGroup(scenario.samplers(BOOKER_URL, AUTH_HEADER,
+                            BookingPayloads.supplier(Path.of(PAYLOADS_DIRECTORY), Integer.parseInt(LOAD_PAYLOADS)),
+                            propagation.stampOnCreate())),
+                    htmlReporter(".jmeter-reports", REPORT_IDENTIFIER),
+                    latency,
+                    resultsTreeVisualizer(),
+                    dashboardVisualizer()
+            ).run();
+            latency.attach();
+
+            step("Compare performance statistic with previous runs");
+            new PerfHistory(Path.of(PERF_HISTORY_FILE)).compareAndAppend(
+                    PerfRun.of(scenario + " under " + profile, stats), Integer.parseInt(PERF_BASELINE_RUNS),
+                    "fail".equalsIgnoreCase(PERF_REGRESSION), () -> {
+                        step("Check performance statistic of every request against SLO");
+                        bookingSlo(scenario).evaluate(stats).attach().assertMet();
+
+                        step("Check created Bookings have reached the downstream mock");
+                        propagation.await(PROPAGATION_TIMEOUT).attach().assertArrived();
+                    });
+        }
+    }
+
+    /**
+     * Returns objectives of every request of the scenario, reads being expected faster than writes
+     */
+    private static Slo bookingSlo(BookingScenario scenario) {
+        return Slo.spec()
+                .overall().maxErrorRate(0).p99(Duration.ofSeconds(5))
+                .labels(scenario.getLabels()).maxErrorRate(0).p95(Duration.ofSeconds(2)).p99(Duration.ofSeconds(3))
+                .label(BookingScenario.GET_BOOKING).p95(Duration.ofSeconds(1)).p99(Duration.ofSeconds(2));
+    }
 }
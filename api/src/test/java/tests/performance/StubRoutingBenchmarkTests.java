@@ -0,0 +1,130 @@
+package tests.performance;
+
+import static allure.AllureUtils.step;
+import allure.annotations.JiraIssue;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.ImmutableRequest;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.store.InMemoryStubMappingStore;
+import com.github.tomakehurst.wiremock.store.StubMappingStore;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import io.qameta.allure.AllureId;
+import io.qameta.allure.Description;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import mock.IndexedStubMappingStore;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * A benchmark of WireMock stub match latency with the default linear stub store and with
+ * the indexed one, at growing stub counts. Matching is measured in-process, without HTTP,
+ * on exact URL stubs mixed with a few URL pattern stubs
+ */
+
+@Tag("Performance")
+@Slf4j
+public class StubRoutingBenchmarkTests {
+    private static final int PATTERN_STUBS = 10;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int MEASURED_REQUESTS = 200;
+    private static final List<RequestMethod> METHODS = List.of(RequestMethod.GET, RequestMethod.POST);
+
+    @ParameterizedTest(name = "{0} stubs")
+    @ValueSource(ints = {10, 1_000, 100_000})
+    @JiraIssue("XXXX-5015")
+    @DisplayName("Stub match latency of linear and indexed stub stores")
+    @Description("Match the same random requests against linear and indexed stores of the same stubs, " +
+            "verify both pick the same stubs and compare match latency percentiles")
+    @AllureId("50122")
+    public void stubMatchLatencyTest(int stubCount) {
+        step("Register " + stubCount + " stubs in linear and indexed stores");
+        StubMappingStore linear = new InMemoryStubMappingStore();
+        StubMappingStore indexed = new IndexedStubMappingStore();
+        for (int i = 0; i < stubCount; i++) {
+            StubMapping stub = WireMock.request(METHODS.get(i % METHODS.size()).value(),
+                    WireMock.urlEqualTo("/bookings/" + i)).willReturn(WireMock.ok()).build();
+            linear.add(stub);
+            indexed.add(StubMapping.buildFrom(StubMapping.buildJsonStringFor(stub)));
+        }
+        for (int i = 0; i < PATTERN_STUBS; i++) {
+            StubMapping stub = WireMock.any(WireMock.urlMatching("/search/" + i + "/.*"))
+                    .willReturn(WireMock.ok()).build();
+            linear.add(stub);
+            indexed.add(StubMapping.buildFrom(StubMapping.buildJsonStringFor(stub)));
+        }
+
+        Random random = new Random(stubCount);
+        List<Request> requests = IntStream.range(0, WARMUP_REQUESTS + MEASURED_REQUESTS)
+                .mapToObj(i -> createRequest(random, stubCount))
+                .collect(Collectors.toList());
+
+        step("Match requests against the linear store");
+        List<UUID> linearMatches = new ArrayList<>();
+        Histogram linearLatencies = match(linear, requests, linearMatches);
+
+        step("Match requests against the indexed store");
+        List<UUID> indexedMatches = new ArrayList<>();
+        Histogram indexedLatencies = match(indexed, requests, indexedMatches);
+
+        step("Linear: " + describe(linearLatencies));
+        step("Indexed: " + describe(indexedLatencies));
+        log.info("Stub match latency at {} stubs, linear: {}, indexed: {}",
+                stubCount, describe(linearLatencies), describe(indexedLatencies));
+        Assertions.assertEquals(linearMatches, indexedMatches);
+        if (stubCount >= 100_000) {
+            Assertions.assertTrue(
+                    indexedLatencies.getValueAtPercentile(50) < linearLatencies.getValueAtPercentile(50),
+                    "Indexed store must match faster than the linear one at " + stubCount + " stubs");
+        }
+    }
+
+    private static Request createRequest(Random random, int stubCount) {
+        int i = random.nextInt(stubCount);
+        String url = random.nextInt(10) == 0 ? "/search/" + random.nextInt(PATTERN_STUBS) + "/q" : "/bookings/" + i;
+        return ImmutableRequest.create()
+                .withAbsoluteUrl("http://localhost" + url)
+                .withMethod(METHODS.get(i % METHODS.size()))
+                .build();
+    }
+
+    private static Histogram match(StubMappingStore store, List<Request> requests, List<UUID> matches) {
+        Histogram latencies = new Histogram(3);
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            long startNanos = System.nanoTime();
+            StubMapping stub = store.findAllMatchingRequest(request, Map.of(), subEvent -> { })
+                    .findFirst()
+                    .orElseThrow();
+            long matchNanos = System.nanoTime() - startNanos;
+            if (i >= WARMUP_REQUESTS) {
+                latencies.recordValue(matchNanos);
+            }
+            matches.add(stub.getUuid());
+        }
+        return latencies;
+    }
+
+    private static String describe(Histogram latencies) {
+        return String.format("p50 %.1f us, p99 %.1f us, max %.1f us",
+                toMicros(latencies.getValueAtPercentile(50)),
+                toMicros(latencies.getValueAtPercentile(99)),
+                toMicros(latencies.getMaxValue()));
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
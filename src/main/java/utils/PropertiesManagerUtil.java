@@ -81,7 +81,7 @@ public class PropertiesManagerUtil {
         return properties;
     }
 
-    private static String getEnvironment() {
+    public static String getEnvironment() {
         String envFromOsVar = System.getenv(ENV_ENV_VARIABLE);
         if (envFromOsVar == null || envFromOsVar.isBlank()) {
             envFromOsVar = DEFAULT_ENV;